@@ -4,11 +4,13 @@ import java.time.Duration;
 import site.ycsb.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 import com.datastax.oss.driver.api.core.*;
 import com.datastax.oss.driver.api.core.cql.*;
 
-public class CassandraClient extends DB {
+public class CassandraClient extends AsyncDB {
 
   // --- Properties keys ---
   private static final String PROP_HOSTS = "cassandra.hosts";
@@ -22,12 +24,17 @@ public class CassandraClient extends DB {
   private static final String PROP_REPL      = "cassandra.replication";
   private static final String PROP_AUTO_SCHEMA = "cassandra.auto_create_schema";
   private static final String PROP_USE_BATCH = "cassandra.use_batch";
+  // Requests a client thread keeps in flight; 0 pipelines without a limit.
+  private static final String PROP_MAX_IN_FLIGHT = "cassandra.maxinflight";
+  private static final String PROP_MAX_IN_FLIGHT_DEFAULT = "1";
 
   private CqlSession session;
   private String keyspace;
   private String table;
   private ConsistencyLevel readCl, writeCl;
   private boolean useBatch;
+  // Bounds the requests in flight, or null if they are not bounded
+  private Semaphore inFlight;
 
   // Prepared statements
   private PreparedStatement psReadAll;
@@ -54,6 +61,11 @@ public class CassandraClient extends DB {
     String repl    = p.getProperty(PROP_REPL, "{\'class\':\'SimpleStrategy\',\'replication_factor\':\'2\'}");
     boolean autoCreateSchema = Boolean.parseBoolean(p.getProperty(PROP_AUTO_SCHEMA, "true"));
     this.useBatch  = Boolean.parseBoolean(p.getProperty(PROP_USE_BATCH, "false"));
+    int maxInFlight = Integer.parseInt(p.getProperty(PROP_MAX_IN_FLIGHT, PROP_MAX_IN_FLIGHT_DEFAULT).trim());
+    if (maxInFlight < 0) {
+      throw new DBException("unknown " + PROP_MAX_IN_FLIGHT + "=" + maxInFlight);
+    }
+    this.inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
 
     this.readCl = ConsistencyLevel.ALL;
     this.writeCl = ConsistencyLevel.ALL;
@@ -113,51 +125,55 @@ public class CassandraClient extends DB {
   }
 
   @Override
-  public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result, long ist, long st) {
+  public CompletableFuture<Status> readAsync(String table, String key, Set<String> fields,
+                                             Map<String, ByteIterator> result) {
     try {
-      Row row;
+      Statement<?> stmt;
       if (readAllFields || fields == null) {
-        row = session.execute(psReadAll.bind(key).setConsistencyLevel(readCl)).one();
+        stmt = psReadAll.bind(key).setConsistencyLevel(readCl);
       } else {
         // Build a projected SELECT for requested fields + key
         String cols = "ycsb_key," + String.join(",", fields);
-        SimpleStatement stmt = SimpleStatement.newInstance(
+        stmt = SimpleStatement.newInstance(
                 String.format("SELECT %s FROM %s.%s WHERE ycsb_key=?", cols,
                     CqlIdentifier.fromCql(keyspace).asCql(true), CqlIdentifier.fromCql(this.table).asCql(true)), key)
             .setConsistencyLevel(readCl);
-        row = session.execute(stmt).one();
-      }
-      if (row == null) {
-        return Status.NOT_FOUND;
       }
-
-      // populate result map
-      if (readAllFields || fields == null) {
-        for (int i = 0; i < fieldCount; i++) {
-          String col = "field" + i;
-          String v = row.getString(col);
-          if (v != null) result.put(col, new StringByteIterator(v));
+      return execute(stmt).thenApply(rs -> {
+        Row row = rs.one();
+        if (row == null) {
+          return Status.NOT_FOUND;
         }
-      } else {
-        for (String col : fields) {
-          String v = row.getString(col);
-          if (v != null) result.put(col, new StringByteIterator(v));
+
+        // populate result map
+        if (readAllFields || fields == null) {
+          for (int i = 0; i < fieldCount; i++) {
+            String col = "field" + i;
+            String v = row.getString(col);
+            if (v != null) result.put(col, new StringByteIterator(v));
+          }
+        } else {
+          for (String col : fields) {
+            String v = row.getString(col);
+            if (v != null) result.put(col, new StringByteIterator(v));
+          }
         }
-      }
-      return Status.OK;
+        return Status.OK;
+      }).exceptionally(e -> Status.ERROR);
     } catch (Exception e) {
-      return Status.ERROR;
+      return CompletableFuture.completedFuture(Status.ERROR);
     }
   }
 
   @Override
-  public Status scan(final String table, final String startkey, final int recordcount, final Set<String> fields,
-      final Vector<HashMap<String, ByteIterator>> result, long ist, long st) {
-    return Status.NOT_IMPLEMENTED;
+  public CompletableFuture<Status> scanAsync(final String table, final String startkey, final int recordcount,
+      final Set<String> fields, final Vector<HashMap<String, ByteIterator>> result) {
+    return CompletableFuture.completedFuture(Status.NOT_IMPLEMENTED);
   }
 
   @Override
-  public Status insert(final String table, final String key, final Map<String, ByteIterator> values, long ist, long st) {
+  public CompletableFuture<Status> insertAsync(final String table, final String key,
+                                               final Map<String, ByteIterator> values) {
     try {
       BoundStatementBuilder b = psInsert.boundStatementBuilder().setConsistencyLevel(writeCl);
       b = b.setString(0, key);
@@ -166,20 +182,16 @@ public class CassandraClient extends DB {
         String val = values.containsKey(col) ? values.get(col).toString() : null;
         b = b.setString(i + 1, val);
       }
-      if (useBatch) {
-        BatchStatement batch = BatchStatement.builder(DefaultBatchType.UNLOGGED).addStatement(b.build()).build();
-        session.execute(batch);
-      } else {
-        session.executeAsync(b.setTimeout(Duration.ofSeconds(60)).build());
-      }
-      return Status.OK;
+      return executeWrite(b.setTimeout(Duration.ofSeconds(60)).build()).thenApply(rs -> Status.OK)
+          .exceptionally(e -> Status.ERROR);
     } catch (Exception e) {
-      return Status.ERROR;
+      return CompletableFuture.completedFuture(Status.ERROR);
     }
   }
 
   @Override
-  public Status update(final String table, final String key, final Map<String, ByteIterator> values, long ist, long st) {
+  public CompletableFuture<Status> updateAsync(final String table, final String key,
+                                               final Map<String, ByteIterator> values) {
     try {
       BoundStatementBuilder b = psUpdate.boundStatementBuilder().setConsistencyLevel(writeCl);
       for (int i = 0; i < fieldCount; i++) {
@@ -188,21 +200,43 @@ public class CassandraClient extends DB {
         b = b.setString(i, val); // fields first
       }
       b = b.setString(fieldCount, key); // WHERE ycsb_key=?
-      if (useBatch) {
-        BatchStatement batch = BatchStatement.builder(DefaultBatchType.UNLOGGED).addStatement(b.build()).build();
-        session.execute(batch);
-      } else {
-        session.execute(b.build());
-      }
-      return Status.OK;
+      return executeWrite(b.build()).thenApply(rs -> Status.OK)
+          .exceptionally(e -> Status.ERROR);
     } catch (Exception e) {
-      return Status.ERROR;
+      return CompletableFuture.completedFuture(Status.ERROR);
     }
   }
 
   @Override
-  public Status delete(final String table, final String key, long ist, long st) {
-    return Status.NOT_IMPLEMENTED;
+  public CompletableFuture<Status> deleteAsync(final String table, final String key) {
+    return CompletableFuture.completedFuture(Status.NOT_IMPLEMENTED);
+  }
+
+  private CompletableFuture<AsyncResultSet> executeWrite(BoundStatement stmt) {
+    if (useBatch) {
+      return execute(BatchStatement.builder(DefaultBatchType.UNLOGGED).addStatement(stmt).build());
+    }
+    return execute(stmt);
+  }
+
+  /**
+   * Runs a statement without waiting for its response; the driver completes the future from its I/O threads.
+   * Blocks while cassandra.maxinflight requests of this thread are outstanding.
+   */
+  private CompletableFuture<AsyncResultSet> execute(Statement<?> stmt) {
+    if (inFlight == null) {
+      return session.executeAsync(stmt).toCompletableFuture();
+    }
+    inFlight.acquireUninterruptibly();
+    CompletableFuture<AsyncResultSet> future;
+    try {
+      future = session.executeAsync(stmt).toCompletableFuture();
+    } catch (RuntimeException e) {
+      inFlight.release();
+      throw e;
+    }
+    // the permit is free again before anything waiting on the response runs
+    return future.whenComplete((rs, e) -> inFlight.release());
   }
 
   private static void createSchemaIfNeeded(CqlSession session, String keyspace, String table, String replJson) {
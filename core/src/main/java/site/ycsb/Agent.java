@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.workloads.CoreWorkload;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Runs the client as one of several agents of a {@link Coordinator}.
+ * <p>
+ * The agent connects to the coordinator at agent.coordinator before it loads the workload, and takes the
+ * share of its index of the key range from insertstart to insertstart + insertcount, of the target throughput,
+ * the per-operation targets, the operation count and the users. The keys it inserts during the run come from
+ * a range of its own above recordcount, as large as its share of the operation count. Its client threads
+ * initialize, then wait until the coordinator starts all agents together. At the end of every status interval
+ * the agent sends the latencies of the interval to the coordinator, and when the coordinator stops the run, it
+ * stops the workload.
+ */
+public class Agent implements Measurements.IntervalListener {
+  /** The host:port of the coordinator to run for. */
+  public static final String COORDINATOR_PROPERTY = "agent.coordinator";
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private final int index;
+  private final int count;
+  private List<ClientThread> clients;
+  private volatile boolean finished;
+
+  Agent(Socket socket) throws IOException {
+    this.socket = socket;
+    in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    out.writeByte(Coordinator.HELLO);
+    out.flush();
+    if (in.readByte() != Coordinator.ASSIGN) {
+      throw new IOException("unexpected message from the coordinator");
+    }
+    index = (int) in.readLong();
+    count = (int) in.readLong();
+  }
+
+  public static boolean isEnabled(Properties props) {
+    return props.getProperty(COORDINATOR_PROPERTY) != null;
+  }
+
+  /**
+   * Connect to the coordinator and narrow the properties to the share of this agent.
+   */
+  public static Agent connect(Properties props) throws IOException {
+    String address = props.getProperty(COORDINATOR_PROPERTY);
+    int colon = address.lastIndexOf(':');
+    if (colon < 0) {
+      throw new IllegalArgumentException("unknown " + COORDINATOR_PROPERTY + "=" + address);
+    }
+    Agent agent = new Agent(new Socket(address.substring(0, colon),
+        Integer.parseInt(address.substring(colon + 1))));
+    partition(props, agent.index, agent.count);
+    System.err.println("Running as agent " + agent.index + " of " + agent.count + ", keys from "
+        + props.getProperty(Workload.INSERT_START_PROPERTY) + ", "
+        + props.getProperty(Client.INSERT_COUNT_PROPERTY) + " keys");
+    return agent;
+  }
+
+  /**
+   * Narrow the key range, the targets, the operation count and the users to the share of one agent. The
+   * shares of all agents add up to the totals.
+   *
+   * @throws IllegalArgumentException if the properties ask for load that cannot be split between agents
+   */
+  static void partition(Properties props, int index, int count) {
+    for (String name : props.stringPropertyNames()) {
+      if (name.startsWith(RateSchedule.SCHEDULE_PROPERTY)) {
+        throw new IllegalArgumentException("the agents cannot share a " + RateSchedule.SCHEDULE_PROPERTY);
+      }
+    }
+    if ("mmpp".equals(props.getProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY))) {
+      // the bursts of independent agents would not add up to the bursts of one process
+      throw new IllegalArgumentException("the agents cannot share "
+          + ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY + "=mmpp");
+    }
+
+    long recordcount = Long.parseLong(props.getProperty(Client.RECORD_COUNT_PROPERTY,
+        Client.DEFAULT_RECORD_COUNT));
+    long insertstart = Long.parseLong(props.getProperty(Workload.INSERT_START_PROPERTY,
+        Workload.INSERT_START_PROPERTY_DEFAULT));
+    long insertcount = Long.parseLong(props.getProperty(Client.INSERT_COUNT_PROPERTY,
+        String.valueOf(recordcount - insertstart)));
+    props.setProperty(Workload.INSERT_START_PROPERTY,
+        String.valueOf(insertstart + offset(insertcount, index, count)));
+    props.setProperty(Client.INSERT_COUNT_PROPERTY, String.valueOf(share(insertcount, index, count)));
+
+    long operationcount = Long.parseLong(props.getProperty(Client.OPERATION_COUNT_PROPERTY, "0"));
+    if (operationcount > 0) {
+      props.setProperty(Client.OPERATION_COUNT_PROPERTY, String.valueOf(share(operationcount, index, count)));
+      // an agent inserts at most as many keys as it does operations
+      props.setProperty(CoreWorkload.TRANSACTION_INSERT_START_PROPERTY,
+          String.valueOf(recordcount + offset(operationcount, index, count)));
+    } else if (Boolean.parseBoolean(props.getProperty(Client.DO_TRANSACTIONS_PROPERTY, String.valueOf(true)))
+        && Double.parseDouble(props.getProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY,
+        CoreWorkload.INSERT_PROPORTION_PROPERTY_DEFAULT)) > 0) {
+      throw new IllegalArgumentException("the agents need an " + Client.OPERATION_COUNT_PROPERTY
+          + " to give each its own range of keys to insert");
+    }
+    int target = Integer.parseInt(props.getProperty(Client.TARGET_PROPERTY, "0"));
+    if (target > 0) {
+      // an agent with no share of the target would run unthrottled
+      props.setProperty(Client.TARGET_PROPERTY, String.valueOf(Math.max(1, share(target, index, count))));
+    }
+    for (String op : new String[] {"READ", "UPDATE", "INSERT", "SCAN", "READMODIFYWRITE"}) {
+      String name = OperationRates.TARGET_PROPERTY_PREFIX + op.toLowerCase(Locale.ROOT);
+      String rate = props.getProperty(name);
+      if (rate != null) {
+        props.setProperty(name, String.valueOf(Double.parseDouble(rate) / count));
+      }
+    }
+    int users = Integer.parseInt(props.getProperty(UserModel.USERS_PROPERTY, UserModel.USERS_PROPERTY_DEFAULT));
+    if (users > 0) {
+      if (users < count) {
+        // an agent without users would run one closed loop per thread
+        throw new IllegalArgumentException("the agents need at least one of the " + UserModel.USERS_PROPERTY
+            + " each");
+      }
+      props.setProperty(UserModel.USERS_PROPERTY, String.valueOf(share(users, index, count)));
+    }
+  }
+
+  private static long offset(long total, int index, int count) {
+    return total / count * index + total % count * index / count;
+  }
+
+  private static long share(long total, int index, int count) {
+    return offset(total, index + 1, count) - offset(total, index, count);
+  }
+
+  /**
+   * Tell the coordinator the client threads have initialized, and wait until the coordinator starts the run.
+   */
+  public void awaitStart(final Workload workload, List<ClientThread> clientThreads)
+      throws IOException, InterruptedException {
+    clients = clientThreads;
+    synchronized (out) {
+      out.writeByte(Coordinator.READY);
+      out.flush();
+    }
+    if (in.readByte() != Coordinator.START) {
+      throw new IOException("unexpected message from the coordinator");
+    }
+    long startMs = in.readLong();
+    long waitMs = startMs - System.currentTimeMillis();
+    if (waitMs > 0) {
+      Thread.sleep(waitMs);
+    }
+    Measurements.getMeasurements().addIntervalListener(this);
+
+    Thread listener = new Thread("AgentListener") {
+      @Override
+      public void run() {
+        try {
+          if (in.readByte() == Coordinator.STOP) {
+            System.err.println("Stopped by the coordinator");
+            workload.requestStop();
+          }
+        } catch (IOException e) {
+          if (!finished) {
+            System.err.println("Lost the coordinator, stopping: " + e.getMessage());
+            workload.requestStop();
+          }
+        }
+      }
+    };
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  @Override
+  public void intervalEnded(Histogram latencies) {
+    long opsDone = 0;
+    for (ClientThread client : clients) {
+      opsDone += client.getOpsDone();
+    }
+    Map<String, Histogram> intervals = Measurements.getMeasurements().getLastIntervalHistograms();
+    try {
+      synchronized (out) {
+        out.writeByte(Coordinator.INTERVAL);
+        out.writeLong(opsDone);
+        out.writeInt(intervals.size());
+        for (Map.Entry<String, Histogram> interval : intervals.entrySet()) {
+          byte[] encoded = Coordinator.encode(interval.getValue());
+          out.writeUTF(interval.getKey());
+          out.writeInt(encoded.length);
+          out.write(encoded);
+        }
+        out.flush();
+      }
+    } catch (IOException e) {
+      System.err.println("Could not report to the coordinator, error: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Send the latencies recorded since the last status interval and the totals of the run to the coordinator.
+   */
+  public void finish(long opsDone, long runtimeMs) throws IOException {
+    // a last interval reports what the status thread did not
+    Measurements.getMeasurements().getSummary();
+    finished = true;
+    synchronized (out) {
+      out.writeByte(Coordinator.DONE);
+      out.writeLong(opsDone);
+      out.writeLong(runtimeMs);
+      out.flush();
+    }
+    socket.close();
+  }
+}
@@ -0,0 +1,431 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.generator.ExponentialGenerator;
+import site.ycsb.generator.HistogramGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformDoubleGenerator;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes the intended start time of successive operations for a throttled stream.
+ * <p>
+ * The spacing between operations is the mean inter-arrival time for the current rate multiplied by a
+ * sample from the configured distribution, normalized to a mean of one. The distribution therefore only
+ * shapes the arrivals; the rate alone determines the offered load. Supported distributions:
+ * <UL>
+ * <LI><b>constant</b>: perfectly periodic arrivals (default)
+ * <LI><b>exponential</b> (or <b>poisson</b>): exponentially distributed gaps, i.e. Poisson arrivals
+ * <LI><b>uniform</b>: gaps drawn uniformly from mean * [1 - arrival.jitter, 1 + arrival.jitter]
+ * <LI><b>histogram</b>: gaps drawn from the histogram file given by arrival.histogramfile, in the
+ * format read by {@link HistogramGenerator}
+ * <LI><b>mmpp</b>: bursty Poisson arrivals whose rate is modulated by a two state Markov chain, see
+ * {@link MmppArrivalProcess}
+ * </UL>
+ * The base rate is either fixed or follows a {@link RateSchedule} given by the targetschedule property.
+ * While the rate varies, a gap is spread over the rates it spans rather than drawn from the rate at the
+ * previous arrival, so the first arrival of a ramp from zero comes as soon as the ramp has built up one
+ * operation. Periods at rate zero are skipped; a stream whose rate stays at zero has no next arrival.
+ * A process describes the aggregate offered load; {@link #share(double)} derives the streams of the
+ * individual client threads, which follow any change of the aggregate rate.
+ */
+public class ArrivalProcess {
+  /**
+   * The name of the property for the inter-arrival time distribution.
+   */
+  public static final String ARRIVAL_DISTRIBUTION_PROPERTY = "arrivaldistribution";
+
+  /**
+   * The default inter-arrival time distribution.
+   */
+  public static final String ARRIVAL_DISTRIBUTION_PROPERTY_DEFAULT = "constant";
+
+  /**
+   * The name of the property for the relative jitter of the uniform distribution.
+   */
+  public static final String ARRIVAL_JITTER_PROPERTY = "arrival.jitter";
+
+  /**
+   * The default relative jitter of the uniform distribution.
+   */
+  public static final String ARRIVAL_JITTER_PROPERTY_DEFAULT = "0.5";
+
+  /**
+   * The name of the property for the histogram file of the histogram distribution.
+   */
+  public static final String ARRIVAL_HISTOGRAM_FILE_PROPERTY = "arrival.histogramfile";
+
+  /**
+   * The default histogram file of the histogram distribution.
+   */
+  public static final String ARRIVAL_HISTOGRAM_FILE_PROPERTY_DEFAULT = "arrivalhist.txt";
+
+  /**
+   * The name of the property for how client threads pace a closed-loop run: "shared" threads claim
+   * intended start times from one stream for the aggregate rate, "perthread" threads each follow an even
+   * share of the rate.
+   */
+  public static final String PACING_PROPERTY = "pacing";
+
+  /**
+   * The default pacing of client threads.
+   */
+  public static final String PACING_PROPERTY_DEFAULT = "shared";
+
+  /**
+   * The intended start time of an arrival that never comes, because the rate stays at zero.
+   */
+  public static final long NEVER = Long.MAX_VALUE;
+
+  /** How long a varying rate is taken to be constant while spreading a gap over it. */
+  private static final long RATE_STEP_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private static final long UNCLAIMED = Long.MIN_VALUE;
+
+  private final NumberGenerator gaps;
+  private final double gapScale;
+  private final ArrivalProcess parent;
+  private final double fraction;
+  private volatile double opsPerSec;
+  private volatile RateSchedule schedule;
+  private volatile long scheduleStartNs = Long.MAX_VALUE;
+  private volatile long skipToNs = Long.MIN_VALUE;
+  private final AtomicLong nextSlotNs = new AtomicLong(UNCLAIMED);
+
+  /**
+   * @param gaps      the inter-arrival time distribution, or null for constant spacing
+   * @param opsPerSec the initial rate of the stream
+   */
+  public ArrivalProcess(NumberGenerator gaps, double opsPerSec) {
+    this.gaps = gaps;
+    this.gapScale = gaps == null ? 1.0 : 1.0 / gaps.mean();
+    this.parent = null;
+    this.fraction = 1.0;
+    this.opsPerSec = opsPerSec;
+  }
+
+  private ArrivalProcess(ArrivalProcess parent, double fraction) {
+    this.gaps = parent.gaps;
+    this.gapScale = parent.gapScale;
+    this.parent = parent;
+    this.fraction = fraction;
+  }
+
+  /**
+   * Create the arrival process configured by the properties.
+   *
+   * @param p         the properties of the run
+   * @param opsPerSec the initial rate of the stream
+   * @throws IllegalArgumentException if the distribution is unknown or cannot be loaded
+   */
+  public static ArrivalProcess create(Properties p, double opsPerSec) {
+    ArrivalProcess process;
+    if ("mmpp".equals(p.getProperty(ARRIVAL_DISTRIBUTION_PROPERTY))) {
+      process = new MmppArrivalProcess(p, opsPerSec);
+    } else {
+      process = new ArrivalProcess(createGapGenerator(p), opsPerSec);
+    }
+    RateSchedule rateSchedule = RateSchedule.create(p, opsPerSec);
+    if (rateSchedule != null) {
+      process.setSchedule(rateSchedule);
+      Measurements.getMeasurements().addMeasurement(process.new TargetMeasurement());
+    }
+    return process;
+  }
+
+  /**
+   * @return whether client threads claim intended start times from the aggregate stream.
+   * @throws IllegalArgumentException if the pacing is unknown
+   */
+  public static boolean isSharedPacing(Properties p) {
+    String pacing = p.getProperty(PACING_PROPERTY, PACING_PROPERTY_DEFAULT);
+    switch (pacing) {
+    case "shared":
+      return true;
+    case "perthread":
+      return false;
+    default:
+      throw new IllegalArgumentException("unknown " + PACING_PROPERTY + "=" + pacing);
+    }
+  }
+
+  /**
+   * Derive a stream that carries a fraction of this process's rate, e.g. the share of one client thread.
+   * The derived stream follows the rate of this process as it changes.
+   *
+   * @param share the fraction of the rate, between 0 and 1
+   */
+  public ArrivalProcess share(double share) {
+    return new ArrivalProcess(this, share);
+  }
+
+  /**
+   * @return the configured inter-arrival time distribution, or null for constant spacing.
+   */
+  static NumberGenerator createGapGenerator(Properties p) {
+    String distribution = p.getProperty(ARRIVAL_DISTRIBUTION_PROPERTY, ARRIVAL_DISTRIBUTION_PROPERTY_DEFAULT);
+    switch (distribution) {
+    case "constant":
+      return null;
+    case "exponential":
+    case "poisson":
+      return new ExponentialGenerator(1.0);
+    case "uniform":
+      double jitter = Double.parseDouble(p.getProperty(ARRIVAL_JITTER_PROPERTY, ARRIVAL_JITTER_PROPERTY_DEFAULT));
+      if (jitter < 0 || jitter > 1) {
+        throw new IllegalArgumentException(ARRIVAL_JITTER_PROPERTY + " must be between 0 and 1");
+      }
+      return new UniformDoubleGenerator(1.0 - jitter, 1.0 + jitter);
+    case "histogram":
+      String file = p.getProperty(ARRIVAL_HISTOGRAM_FILE_PROPERTY, ARRIVAL_HISTOGRAM_FILE_PROPERTY_DEFAULT);
+      try {
+        HistogramGenerator histogram = new HistogramGenerator(file);
+        if (!(histogram.mean() > 0)) {
+          throw new IllegalArgumentException("The arrival histogram file " + file + " has no gaps above zero");
+        }
+        return histogram;
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Couldn't read arrival histogram file: " + file, e);
+      }
+    default:
+      throw new IllegalArgumentException("unknown " + ARRIVAL_DISTRIBUTION_PROPERTY + "=" + distribution);
+    }
+  }
+
+  /**
+   * Compute the intended start time of the operation following one intended to start at the given time.
+   *
+   * @param previousNs the intended start time of the previous operation, or {@link #NEVER} to start from now
+   * @return the intended start time of the next operation, or {@link #NEVER} if the rate stays at zero
+   */
+  public long nextIntendedStartNs(long previousNs) {
+    if (previousNs == NEVER) {
+      previousNs = System.nanoTime();
+    }
+    long floor = parent != null ? parent.skipToNs : skipToNs;
+    long t = Math.max(previousNs, floor);
+    // the gap in units of the mean gap, used up at the rate in effect as time passes
+    double units = gaps == null ? 1.0 : gaps.nextValue().doubleValue() * gapScale;
+    boolean variable = isVariable();
+    while (true) {
+      double rate = rateAt(t);
+      if (rate <= 0) {
+        long active = nextActiveNs(t);
+        if (active == NEVER) {
+          return NEVER;
+        }
+        t = active > t ? active : t + RATE_STEP_NS;
+        continue;
+      }
+      double gapNs = units * TimeUnit.SECONDS.toNanos(1) / rate;
+      if (!variable || gapNs <= RATE_STEP_NS) {
+        return t + (long) gapNs;
+      }
+      units -= rate * RATE_STEP_NS / TimeUnit.SECONDS.toNanos(1);
+      t += RATE_STEP_NS;
+    }
+  }
+
+  /**
+   * @return whether the rate may change between arrivals, so that a gap must be spread over the rates it
+   * spans. Subclasses whose rate varies over the run override this.
+   */
+  protected boolean isVariable() {
+    return parent != null ? parent.isVariable() : schedule != null;
+  }
+
+  /**
+   * Find when a rate of zero may end. Subclasses whose rate varies over the run override this.
+   *
+   * @param nowNs a time at which the rate is zero
+   * @return the earliest time the rate may be above zero, at or after the given time, or {@link #NEVER}
+   */
+  protected long nextActiveNs(long nowNs) {
+    if (parent != null) {
+      return fraction > 0 ? parent.nextActiveNs(nowNs) : NEVER;
+    }
+    RateSchedule s = schedule;
+    if (s == null) {
+      return opsPerSec > 0 ? nowNs : NEVER;
+    }
+    long start = scheduleStartNs;
+    double elapsedSec = Math.max(0, nowNs - start) / (double) TimeUnit.SECONDS.toNanos(1);
+    double activeNs = start + Math.ceil(s.nextActiveSec(elapsedSec) * TimeUnit.SECONDS.toNanos(1));
+    if (activeNs >= NEVER) {
+      return NEVER;
+    }
+    return Math.max(nowNs, (long) activeNs);
+  }
+
+  /**
+   * Claim the next intended start time of the aggregate stream, for whichever thread is free to issue it.
+   * Slots are handed out in order without locking, so the aggregate rate holds even when some threads are
+   * slowed down by slow requests. The first claim starts the stream at the current time. A stream derived
+   * with {@link #share(double)} claims from the stream of its parent.
+   *
+   * @return the intended start time of the claimed operation, or {@link #NEVER} if the rate stays at zero
+   * until it is changed
+   */
+  public long claimIntendedStartNs() {
+    if (parent != null) {
+      return parent.claimIntendedStartNs();
+    }
+    while (true) {
+      long slot = nextSlotNs.get();
+      if (slot == NEVER) {
+        return NEVER;
+      }
+      if (slot == UNCLAIMED || slot < skipToNs) {
+        nextSlotNs.compareAndSet(slot, Math.max(System.nanoTime(), skipToNs));
+        continue;
+      }
+      if (nextSlotNs.compareAndSet(slot, nextIntendedStartNs(slot))) {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * Start the aggregate stream at the given time, unless a claim has already started it.
+   */
+  void startAt(long startNs) {
+    if (parent != null) {
+      parent.startAt(startNs);
+    } else {
+      nextSlotNs.compareAndSet(UNCLAIMED, startNs);
+    }
+  }
+
+  /**
+   * @return the intended start time the next claim would get, or Long.MIN_VALUE if the stream has not
+   * started yet.
+   */
+  long peekIntendedStartNs() {
+    if (parent != null) {
+      return parent.peekIntendedStartNs();
+    }
+    long slot = nextSlotNs.get();
+    return slot == UNCLAIMED ? Long.MIN_VALUE : Math.max(slot, skipToNs);
+  }
+
+  /**
+   * The rate in effect at the given time. Subclasses override this for rates that vary over the run.
+   *
+   * @param nowNs the time in nanoseconds
+   * @return operations per second
+   */
+  protected double rateAt(long nowNs) {
+    if (parent != null) {
+      return parent.rateAt(nowNs) * fraction;
+    }
+    RateSchedule s = schedule;
+    if (s != null) {
+      long start = scheduleStartNs;
+      if (start == Long.MAX_VALUE) {
+        start = startSchedule(nowNs);
+      }
+      // a lagging thread may ask for a time before the schedule started
+      return s.rateAt(Math.max(0, nowNs - start) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+    return opsPerSec;
+  }
+
+  private synchronized long startSchedule(long nowNs) {
+    if (scheduleStartNs == Long.MAX_VALUE) {
+      scheduleStartNs = nowNs;
+    }
+    return scheduleStartNs;
+  }
+
+  /**
+   * @return the base rate of the stream in operations per second, i.e. the current rate of a schedule.
+   */
+  public double getRate() {
+    if (parent != null) {
+      return parent.getRate() * fraction;
+    }
+    RateSchedule s = schedule;
+    if (s != null) {
+      long start = scheduleStartNs;
+      return start == Long.MAX_VALUE ? s.rateAt(0) : rateAt(System.nanoTime());
+    }
+    return opsPerSec;
+  }
+
+  /**
+   * Change the base rate of the process; takes effect from the next arrival and replaces any schedule.
+   * Has no effect on a stream derived with {@link #share(double)}, whose rate follows its parent.
+   */
+  public void setRate(double rate) {
+    this.opsPerSec = rate;
+    this.schedule = null;
+    nextSlotNs.compareAndSet(NEVER, UNCLAIMED);
+  }
+
+  /**
+   * Drop the arrivals of every stream that were intended to start before the given time, e.g. the backlog
+   * of an overloaded client that should not spill into a later measurement. Has no effect on a stream
+   * derived with {@link #share(double)}.
+   */
+  public void skipTo(long nowNs) {
+    skipToNs = nowNs;
+    nextSlotNs.compareAndSet(NEVER, UNCLAIMED);
+  }
+
+  /**
+   * Let the base rate follow a schedule, starting at the first arrival computed from now on. Has no
+   * effect on a stream derived with {@link #share(double)}, whose rate follows its parent.
+   */
+  public synchronized void setSchedule(RateSchedule rateSchedule) {
+    this.scheduleStartNs = Long.MAX_VALUE;
+    this.schedule = rateSchedule;
+    nextSlotNs.compareAndSet(NEVER, UNCLAIMED);
+  }
+
+  /**
+   * Reports the scheduled target rate alongside the achieved throughput.
+   */
+  private final class TargetMeasurement extends OneMeasurement {
+    TargetMeasurement() {
+      super("TARGET");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the target is tracked by the arrival process
+    }
+
+    @Override
+    public String getSummary() {
+      return String.format("[TARGET: %.1f ops/sec]", getRate());
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      exporter.write(getName(), "FinalTarget(ops/sec)", getRate());
+    }
+  }
+}
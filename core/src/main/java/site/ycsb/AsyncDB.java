@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A database layer whose operations complete asynchronously.
+ * <p>
+ * Each operation returns as soon as the request has been handed to the database and yields a future
+ * that completes with the operation's {@link Status} once the response arrives. {@link DBWrapper}
+ * measures the latency when the future completes, so bindings can keep many requests in flight per
+ * client thread and still report correct service and intended latencies. Bindings should complete the
+ * future with {@link Status#ERROR} rather than exceptionally; an exceptional completion is recorded
+ * as {@link Status#ERROR} as well.
+ * <p>
+ * The blocking {@link DB} methods wait for the future, so an AsyncDB can still be driven directly.
+ */
+public abstract class AsyncDB extends DB {
+
+  /**
+   * Read a record from the database. Each field/value pair from the result will be stored in a HashMap
+   * before the returned future completes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A HashMap of field/value pairs for the result
+   * @return A future for the result of the operation.
+   */
+  public abstract CompletableFuture<Status> readAsync(String table, String key, Set<String> fields,
+                                                      Map<String, ByteIterator> result);
+
+  /**
+   * Perform a range scan for a set of records in the database. Each field/value pair from the result will be
+   * stored in a HashMap before the returned future completes.
+   *
+   * @param table The name of the table
+   * @param startkey The record key of the first record to read.
+   * @param recordcount The number of records to read
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return A future for the result of the operation.
+   */
+  public abstract CompletableFuture<Status> scanAsync(String table, String startkey, int recordcount,
+                                                      Set<String> fields,
+                                                      Vector<HashMap<String, ByteIterator>> result);
+
+  /**
+   * Update a record in the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param values A HashMap of field/value pairs to update in the record
+   * @return A future for the result of the operation.
+   */
+  public abstract CompletableFuture<Status> updateAsync(String table, String key, Map<String, ByteIterator> values);
+
+  /**
+   * Insert a record in the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to insert.
+   * @param values A HashMap of field/value pairs to insert in the record
+   * @return A future for the result of the operation.
+   */
+  public abstract CompletableFuture<Status> insertAsync(String table, String key, Map<String, ByteIterator> values);
+
+  /**
+   * Delete a record from the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to delete.
+   * @return A future for the result of the operation.
+   */
+  public abstract CompletableFuture<Status> deleteAsync(String table, String key);
+
+  @Override
+  public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result,
+                     long ist, long st) {
+    return await(readAsync(table, key, fields, result));
+  }
+
+  @Override
+  public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                     Vector<HashMap<String, ByteIterator>> result, long ist, long st) {
+    return await(scanAsync(table, startkey, recordcount, fields, result));
+  }
+
+  @Override
+  public Status update(String table, String key, Map<String, ByteIterator> values, long ist, long st) {
+    return await(updateAsync(table, key, values));
+  }
+
+  @Override
+  public Status insert(String table, String key, Map<String, ByteIterator> values, long ist, long st) {
+    return await(insertAsync(table, key, values));
+  }
+
+  @Override
+  public Status delete(String table, String key, long ist, long st) {
+    return await(deleteAsync(table, key));
+  }
+
+  private static Status await(CompletableFuture<Status> future) {
+    try {
+      return future.join();
+    } catch (RuntimeException e) {
+      return Status.ERROR;
+    }
+  }
+}
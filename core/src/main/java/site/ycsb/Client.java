@@ -205,37 +205,46 @@ public final class Client {
   }
 
 
+  /**
+   * Create the exporter loaded from conf, writing to either sysout or a file.
+   */
+  static MeasurementsExporter newExporter(Properties props) throws IOException {
+    // if no destination file is provided the results will be written to stdout
+    OutputStream out;
+    String exportFile = props.getProperty(EXPORT_FILE_PROPERTY);
+    if (exportFile == null) {
+      out = System.out;
+    } else {
+      out = new FileOutputStream(exportFile);
+    }
+
+    // if no exporter is provided the default text one will be used
+    MeasurementsExporter exporter;
+    String exporterStr = props.getProperty(EXPORTER_PROPERTY,
+        "site.ycsb.measurements.exporter.TextMeasurementsExporter");
+    try {
+      exporter = (MeasurementsExporter) Class.forName(exporterStr).getConstructor(OutputStream.class)
+          .newInstance(out);
+    } catch (Exception e) {
+      System.err.println("Could not find exporter " + exporterStr
+          + ", will use default text reporter.");
+      e.printStackTrace();
+      exporter = new TextMeasurementsExporter(out);
+    }
+    return exporter;
+  }
+
   /**
    * Exports the measurements to either sysout or a file using the exporter
    * loaded from conf.
    *
    * @throws IOException Either failed to write to output stream or failed to close it.
    */
-  private static void exportMeasurements(Properties props, int opcount, long runtime)
+  private static void exportMeasurements(Properties props, long opcount, long runtime, List<Tenant> tenants)
       throws IOException {
     MeasurementsExporter exporter = null;
     try {
-      // if no destination file is provided the results will be written to stdout
-      OutputStream out;
-      String exportFile = props.getProperty(EXPORT_FILE_PROPERTY);
-      if (exportFile == null) {
-        out = System.out;
-      } else {
-        out = new FileOutputStream(exportFile);
-      }
-
-      // if no exporter is provided the default text one will be used
-      String exporterStr = props.getProperty(EXPORTER_PROPERTY,
-          "site.ycsb.measurements.exporter.TextMeasurementsExporter");
-      try {
-        exporter = (MeasurementsExporter) Class.forName(exporterStr).getConstructor(OutputStream.class)
-            .newInstance(out);
-      } catch (Exception e) {
-        System.err.println("Could not find exporter " + exporterStr
-            + ", will use default text reporter.");
-        e.printStackTrace();
-        exporter = new TextMeasurementsExporter(out);
-      }
+      exporter = newExporter(props);
 
       exporter.write("OVERALL", "RunTime(ms)", runtime);
       double throughput = 1000.0 * (opcount) / (runtime);
@@ -266,6 +275,58 @@ public final class Client {
         exporter.write("MIN_SYS_LOAD_AVG", "Load", statusthread.getMinLoadAvg());
       }
 
+      List<ClientThread> clients = new ArrayList<>();
+      double target = 0;
+      boolean throttled = false;
+      for (Tenant tenant : tenants) {
+        clients.addAll(tenant.getClients());
+        target += tenant.getTargetRate();
+        throttled |= tenant.isThrottled();
+      }
+      if (throttled) {
+        exporter.write("PACING", "TargetThroughput(ops/sec)", target);
+        for (Tenant tenant : tenants) {
+          OperationRates rates = tenant.getRates();
+          if (rates != null) {
+            String prefix = tenant.getName() == null ? "" : tenant.getName() + "-";
+            for (String op : rates.getOperations()) {
+              exporter.write("PACING", "Target-" + prefix + op + "(ops/sec)", rates.getStream(op).getRate());
+            }
+          }
+        }
+        exporter.write("PACING", "AchievedThroughput(ops/sec)", throughput);
+        exportThreadThroughput(exporter, clients, runtime);
+      }
+
+      for (Tenant tenant : tenants) {
+        OpenLoopScheduler scheduler = tenant.getScheduler();
+        if (scheduler != null) {
+          String section = tenant.getName() == null ? "OPEN_LOOP" : "OPEN_LOOP-" + tenant.getName();
+          exporter.write(section, "Issued", scheduler.getIssued());
+          exporter.write(section, "MaxBacklog", scheduler.getMaxBacklog());
+        }
+      }
+
+      for (Tenant tenant : tenants) {
+        UserModel users = tenant.getUsers();
+        if (users != null) {
+          exportUserThroughput(exporter, tenant.getName() == null ? "USERS" : "USERS-" + tenant.getName(),
+              users, runtime);
+        }
+      }
+
+      if (tenants.size() > 1) {
+        for (Tenant tenant : tenants) {
+          String section = "TENANT-" + tenant.getName();
+          exporter.write(section, "Threads", tenant.getClients().size());
+          exporter.write(section, "Operations", tenant.getOpsDone());
+          exporter.write(section, "Throughput(ops/sec)", 1000.0 * tenant.getOpsDone() / runtime);
+          if (tenant.isThrottled()) {
+            exporter.write(section, "TargetThroughput(ops/sec)", tenant.getTargetRate());
+          }
+        }
+      }
+
       Measurements.getMeasurements().exportMeasurements(exporter);
     } finally {
       if (exporter != null) {
@@ -274,112 +335,464 @@ public final class Client {
     }
   }
 
+  /**
+   * Export how evenly the client threads shared the load.
+   */
+  private static void exportThreadThroughput(MeasurementsExporter exporter, List<ClientThread> clients,
+                                             long runtime) throws IOException {
+    if (clients.isEmpty() || runtime <= 0) {
+      return;
+    }
+    double min = Double.MAX_VALUE;
+    double max = 0;
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (ClientThread client : clients) {
+      double throughput = 1000.0 * client.getOpsDone() / runtime;
+      min = Math.min(min, throughput);
+      max = Math.max(max, throughput);
+      sum += throughput;
+      sumOfSquares += throughput * throughput;
+    }
+    double mean = sum / clients.size();
+    exporter.write("PACING", "MinThreadThroughput(ops/sec)", min);
+    exporter.write("PACING", "AverageThreadThroughput(ops/sec)", mean);
+    exporter.write("PACING", "MaxThreadThroughput(ops/sec)", max);
+    exporter.write("PACING", "ThreadThroughputStdDev(ops/sec)",
+        Math.sqrt(Math.max(0, sumOfSquares / clients.size() - mean * mean)));
+  }
+
+  /**
+   * Export how evenly the simulated users were served.
+   */
+  private static void exportUserThroughput(MeasurementsExporter exporter, String section, UserModel users,
+                                           long runtime) throws IOException {
+    long[] ops = users.getUserOps();
+    long min = Long.MAX_VALUE;
+    long max = 0;
+    long sum = 0;
+    for (long n : ops) {
+      min = Math.min(min, n);
+      max = Math.max(max, n);
+      sum += n;
+    }
+    exporter.write(section, "Users", ops.length);
+    exporter.write(section, "MeanThinkTime(ms)", users.getMeanThinkTimeMs());
+    if (runtime > 0) {
+      exporter.write(section, "MinUserThroughput(ops/sec)", 1000.0 * min / runtime);
+      exporter.write(section, "AverageUserThroughput(ops/sec)", 1000.0 * sum / ops.length / runtime);
+      exporter.write(section, "MaxUserThroughput(ops/sec)", 1000.0 * max / runtime);
+    }
+    exporter.write(section, "JainFairnessIndex", UserModel.fairness(ops));
+  }
+
   @SuppressWarnings("unchecked")
   public static void main(String[] args) {
     Properties props = parseArguments(args);
 
+    // the coordinator runs no load itself, it merges what its agents measure
+    if (Coordinator.isEnabled(props)) {
+      runCoordinator(props);
+    }
+    // an agent takes its share of the run before the workload is loaded
+    Agent agent = Agent.isEnabled(props) ? connectAgent(props) : null;
+
     boolean status = Boolean.valueOf(props.getProperty(STATUS_PROPERTY, String.valueOf(false)));
     String label = props.getProperty(LABEL_PROPERTY, "");
 
     long maxExecutionTime = Integer.parseInt(props.getProperty(MAX_EXECUTION_TIME, "0"));
 
-    //get number of threads, target and db
-    int threadcount = Integer.parseInt(props.getProperty(THREAD_COUNT_PROPERTY, "1"));
-    String dbname = props.getProperty(DB_PROPERTY, "site.ycsb.BasicDB");
-    int target = Integer.parseInt(props.getProperty(TARGET_PROPERTY, "0"));
-
-    //compute the target throughput
-    double targetperthreadperms = -1;
-    if (target > 0) {
-      double targetperthread = ((double) target) / ((double) threadcount);
-      targetperthreadperms = targetperthread / 1000.0;
+    List<Tenant> tenants = Tenant.create(props);
+    boolean search = Boolean.parseBoolean(props.getProperty(ThroughputSearch.SEARCH_PROPERTY,
+        ThroughputSearch.SEARCH_PROPERTY_DEFAULT));
+    boolean ratecontrol = RateController.isEnabled(props);
+    boolean sweep = ThroughputSweep.isEnabled(props);
+    boolean control = ControlPlane.isEnabled(props);
+    checkModes(tenants, agent != null, search, ratecontrol, sweep, control);
+    // the controller adapts the rate at the end of every status interval, and the agent reports to the
+    // coordinator at the end of every status interval
+    status |= ratecontrol || agent != null;
+
+    boolean virtualthreads = Boolean.parseBoolean(props.getProperty(Threads.VIRTUAL_THREADS_PROPERTY,
+        Threads.VIRTUAL_THREADS_PROPERTY_DEFAULT));
+    if (virtualthreads && !Threads.isVirtualAvailable()) {
+      System.out.println("The " + Threads.VIRTUAL_THREADS_PROPERTY + " mode requires Java 21 or later.");
+      System.exit(0);
     }
+    Threads.setVirtual(virtualthreads);
 
     Thread warningthread = setupWarningThread();
     warningthread.start();
 
     Measurements.setProperties(props);
+    PacingTimer.configure(props);
 
-    Workload workload = getWorkload(props);
+    for (Tenant tenant : tenants) {
+      initPacing(tenant);
+      tenant.setWorkload(getWorkload(tenant.getProperties()));
+    }
+    Tenant first = tenants.get(0);
 
-    final Tracer tracer = getTracer(props, workload);
+    final Tracer tracer = getTracer(props, first.getWorkload());
 
-    initWorkload(props, warningthread, workload, tracer);
+    for (Tenant tenant : tenants) {
+      initWorkload(tenant.getProperties(), warningthread, tenant.getWorkload(), tracer);
+    }
 
 //    System.err.println("Starting test.");
+    int threadcount = 0;
+    for (Tenant tenant : tenants) {
+      threadcount += getMaxThreads(tenant.getProperties());
+    }
     final CountDownLatch completeLatch = new CountDownLatch(threadcount);
 
-    final List<ClientThread> clients = initDb(dbname, props, threadcount, targetperthreadperms,
-        workload, tracer, completeLatch);
-
-    if (status) {
-      boolean standardstatus = false;
-      if (props.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "").compareTo("timeseries") == 0) {
-        standardstatus = true;
+    final List<ClientThread> clients = new ArrayList<>(threadcount);
+    final List<Workload> workloads = new ArrayList<>(tenants.size());
+    ThreadGate gate = null;
+    for (Tenant tenant : tenants) {
+      ThreadGate tenantgate = initClients(tenant, tracer, completeLatch, control || sweep);
+      if (tenantgate != null) {
+        gate = tenantgate;
       }
-      int statusIntervalSeconds = Integer.parseInt(props.getProperty("status.interval", "10"));
-      boolean trackJVMStats = props.getProperty(Measurements.MEASUREMENT_TRACK_JVM_PROPERTY,
-          Measurements.MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT).equals("true");
-      statusthread = new StatusThread(completeLatch, clients, label, standardstatus, statusIntervalSeconds,
-          trackJVMStats);
-      statusthread.start();
+      clients.addAll(tenant.getClients());
+      workloads.add(tenant.getWorkload());
     }
 
+    ThroughputSearch throughputSearch = search
+        ? new ThroughputSearch(props, first.getArrivals(), first.getWorkload()) : null;
+    ThroughputSweep throughputSweep = sweep
+        ? new ThroughputSweep(props, first.getArrivals(), gate, first.getWorkload()) : null;
+    if (throughputSearch != null) {
+      throughputSearch.setScheduler(first.getScheduler());
+    }
+    if (throughputSweep != null) {
+      throughputSweep.setScheduler(first.getScheduler());
+    }
+    RateController rateController = ratecontrol ? new RateController(props, first.getArrivals()) : null;
+    ControlPlane controlPlane = control ? new ControlPlane(first.getArrivals(), first.getWorkload(), gate) : null;
+
     Thread terminator = null;
     long st;
     long en;
-    int opsDone;
+    long opsDone;
 
     try (final TraceScope span = tracer.newScope(CLIENT_WORKLOAD_SPAN)) {
 
-      final Map<Thread, ClientThread> threads = new HashMap<>(threadcount);
-      for (ClientThread client : clients) {
-        threads.put(new Thread(tracer.wrap(client, "ClientThread")), client);
+      final Map<Thread, ClientThread> threads = newThreads(tenants, tracer, threadcount);
+
+      st = startClients(props, threads.keySet(), clients, agent, first.getWorkload());
+
+      // the measured run starts at the release
+      if (rateController != null) {
+        rateController.start();
+      }
+      if (controlPlane != null) {
+        try {
+          controlPlane.start(props);
+        } catch (IOException e) {
+          System.err.println("Could not start the control plane, error: " + e.getMessage());
+          System.exit(-1);
+        }
       }
 
-      st = System.currentTimeMillis();
+      if (status) {
+        startStatusThread(props, completeLatch, clients, label);
+      }
 
-      for (Thread t : threads.keySet()) {
-        t.start();
+      for (Tenant tenant : tenants) {
+        if (tenant.getScheduler() != null) {
+          tenant.getScheduler().start();
+        }
       }
 
       if (maxExecutionTime > 0) {
-        terminator = new TerminatorThread(maxExecutionTime, threads.keySet(), workload);
+        terminator = new TerminatorThread(maxExecutionTime, threads.keySet(), workloads);
         terminator.start();
       }
 
-      opsDone = 0;
+      if (throughputSearch != null || throughputSweep != null) {
+        runSearchOrSweep(throughputSearch, throughputSweep);
+        first.getWorkload().requestStop();
+      }
+
+      opsDone = joinThreads(threads);
+
+      en = getIssueEndMs(clients);
+    }
+
+    try (final TraceScope span = tracer.newScope(CLIENT_CLEANUP_SPAN)) {
+      cleanup(terminator, controlPlane, status, workloads);
+    }
+
+    long warmupDuration = Long.parseLong(props.getProperty("warmup", "0"));
+    warmupDuration = warmupDuration * 1000;
+    try (final TraceScope span = tracer.newScope(CLIENT_EXPORT_MEASUREMENTS_SPAN)) {
+      report(props, agent, opsDone, en - st - warmupDuration, tenants);
+    }
+
+    System.exit(0);
+  }
 
-      for (Map.Entry<Thread, ClientThread> entry : threads.entrySet()) {
+  /**
+   * Run as the coordinator of the agents and exit.
+   */
+  private static void runCoordinator(Properties props) {
+    try {
+      new Coordinator(props).run();
+    } catch (IOException | InterruptedException e) {
+      System.err.println("The coordinator failed, error: " + e.getMessage());
+      System.exit(-1);
+    }
+    System.exit(0);
+  }
+
+  /**
+   * @return the connection of this agent to the coordinator; exits if there is none.
+   */
+  private static Agent connectAgent(Properties props) {
+    try {
+      return Agent.connect(props);
+    } catch (IOException e) {
+      System.err.println("Could not connect to the coordinator, error: " + e.getMessage());
+      System.exit(-1);
+    } catch (IllegalArgumentException e) {
+      System.out.println("The agent mode cannot run this workload: " + e.getMessage() + ".");
+      System.exit(0);
+    }
+    return null;
+  }
+
+  /**
+   * Check that the modes of the run fit together, exiting if they do not.
+   */
+  private static void checkModes(List<Tenant> tenants, boolean agent, boolean search, boolean ratecontrol,
+                                 boolean sweep, boolean control) {
+    if (search && tenants.size() > 1) {
+      System.out.println("The " + ThroughputSearch.SEARCH_PROPERTY + " mode cannot be combined with "
+          + Tenant.TENANTS_PROPERTY + ".");
+      System.exit(0);
+    }
+    if (ratecontrol && tenants.size() > 1) {
+      System.out.println("The " + RateController.RATE_CONTROL_PROPERTY + " mode cannot be combined with "
+          + Tenant.TENANTS_PROPERTY + ".");
+      System.exit(0);
+    }
+    if (sweep && tenants.size() > 1) {
+      System.out.println("The sweep mode cannot be combined with " + Tenant.TENANTS_PROPERTY + ".");
+      System.exit(0);
+    }
+    if (control && tenants.size() > 1) {
+      System.out.println("The " + ControlPlane.CONTROL_PROPERTY + " mode cannot be combined with "
+          + Tenant.TENANTS_PROPERTY + ".");
+      System.exit(0);
+    }
+    if (agent && (tenants.size() > 1 || search || ratecontrol || sweep || control)) {
+      System.out.println("The agent mode cannot be combined with " + Tenant.TENANTS_PROPERTY + ", "
+          + ThroughputSearch.SEARCH_PROPERTY + ", " + RateController.RATE_CONTROL_PROPERTY + ", "
+          + ThroughputSweep.TARGETS_PROPERTY + ", " + ThroughputSweep.THREADS_PROPERTY + " or "
+          + ControlPlane.CONTROL_PROPERTY + ".");
+      System.exit(0);
+    }
+    for (Tenant tenant : tenants) {
+      checkPacing(tenant.getProperties());
+    }
+  }
+
+  /**
+   * Create the arrival process and the operation streams of a tenant's target throughput.
+   */
+  private static void initPacing(Tenant tenant) {
+    Properties tenantprops = tenant.getProperties();
+    int target = Integer.parseInt(tenantprops.getProperty(TARGET_PROPERTY, "0"));
+    //the arrival process of the aggregate target throughput
+    if (target > 0 || tenantprops.getProperty(RateSchedule.SCHEDULE_PROPERTY) != null) {
+      tenant.setArrivals(ArrivalProcess.create(tenantprops, target));
+    }
+    //the streams of operation types with their own target throughput
+    tenant.setRates(OperationRates.create(tenantprops));
+  }
+
+  /**
+   * Create the client threads of a tenant and let them pace its operations.
+   *
+   * @param adjustable whether the control plane or a sweep may change the number of running threads
+   * @return the gate of the threads if their number is adjustable, else null.
+   */
+  private static ThreadGate initClients(Tenant tenant, Tracer tracer, CountDownLatch completeLatch,
+                                        boolean adjustable) {
+    Properties tenantprops = tenant.getProperties();
+    boolean openloop = Boolean.parseBoolean(tenantprops.getProperty(OpenLoopScheduler.OPEN_LOOP_PROPERTY,
+        OpenLoopScheduler.OPEN_LOOP_PROPERTY_DEFAULT));
+    String dbname = tenantprops.getProperty(DB_PROPERTY, "site.ycsb.BasicDB");
+    int activethreads = Integer.parseInt(tenantprops.getProperty(THREAD_COUNT_PROPERTY, "1"));
+    // the control plane or a sweep may run more threads than at the start
+    int tenantthreads = getMaxThreads(tenantprops);
+    List<ClientThread> tenantclients = initDb(dbname, tenantprops, tenantthreads,
+        openloop ? null : tenant.getArrivals(), tenant.getWorkload(), tracer, completeLatch);
+    ThreadGate gate = null;
+    if (adjustable && isThreadCountAdjustable(tenantprops)) {
+      gate = new ThreadGate(activethreads, tenantclients.size());
+      for (ClientThread client : tenantclients) {
+        client.setGate(gate);
+      }
+    }
+    // a group capped by its operation count does not start every thread
+    for (int i = tenantclients.size(); i < tenantthreads; i++) {
+      completeLatch.countDown();
+    }
+
+    if (openloop) {
+      OpenLoopScheduler scheduler = new OpenLoopScheduler(tenant.getWorkload(), getOperationCount(tenantprops),
+          tenant.getArrivals(), tenant.getRates(), Integer.parseInt(tenantprops.getProperty(
+          OpenLoopScheduler.BACKLOG_PROPERTY, OpenLoopScheduler.BACKLOG_PROPERTY_DEFAULT)));
+      for (ClientThread client : tenantclients) {
+        client.setScheduler(scheduler);
+      }
+      tenant.setScheduler(scheduler);
+    } else if (tenant.getRates() != null) {
+      for (ClientThread client : tenantclients) {
+        client.setOperationRates(tenant.getRates());
+      }
+    } else {
+      UserModel users = UserModel.create(tenantprops, tenantclients.size());
+      if (users != null) {
+        for (int i = 0; i < tenantclients.size(); i++) {
+          tenantclients.get(i).setUsers(users.getCarrier(i));
+        }
+        tenant.setUsers(users);
+      }
+    }
+    tenant.setClients(tenantclients);
+    return gate;
+  }
+
+  /**
+   * @return the threads running the clients of all tenants, named after their tenant.
+   */
+  private static Map<Thread, ClientThread> newThreads(List<Tenant> tenants, Tracer tracer, int threadcount) {
+    final Map<Thread, ClientThread> threads = new LinkedHashMap<>(threadcount);
+    for (Tenant tenant : tenants) {
+      String prefix = tenant.getName() == null ? "" : tenant.getName() + "-";
+      int id = 0;
+      for (ClientThread client : tenant.getClients()) {
+        threads.put(Threads.newThread(tracer.wrap(client, "ClientThread"), prefix + "ClientThread-" + id++),
+            client);
+      }
+    }
+    return threads;
+  }
+
+  /**
+   * Start the client threads and release them once they have initialized.
+   *
+   * @param agent the connection to the coordinator, to start together with the other agents, or null
+   * @return the time in milliseconds at which the threads were released.
+   */
+  private static long startClients(Properties props, Collection<Thread> threads, List<ClientThread> clients,
+                                   Agent agent, Workload workload) {
+    // the bindings of all threads initialize in parallel, and the thread groups of all tenants start together
+    StartBarrier startBarrier = new StartBarrier(clients.size(), Integer.parseInt(props.getProperty(
+        StartBarrier.INIT_PARALLELISM_PROPERTY, StartBarrier.INIT_PARALLELISM_PROPERTY_DEFAULT)));
+    for (ClientThread client : clients) {
+      client.setStartBarrier(startBarrier);
+    }
+    for (Thread t : threads) {
+      t.start();
+    }
+    try {
+      if (agent != null) {
+        // the agents start together once all of them have initialized
+        startBarrier.awaitInitialized();
         try {
-          entry.getKey().join();
-          opsDone += entry.getValue().getOpsDone();
-        } catch (InterruptedException ignored) {
-          // ignored
+          agent.awaitStart(workload, clients);
+        } catch (IOException e) {
+          System.err.println("Lost the coordinator before the start, error: " + e.getMessage());
+          System.exit(-1);
         }
       }
+      return startBarrier.release();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return System.currentTimeMillis();
+    }
+  }
 
-      en = System.currentTimeMillis();
+  private static void startStatusThread(Properties props, CountDownLatch completeLatch, List<ClientThread> clients,
+                                        String label) {
+    boolean standardstatus = false;
+    if (props.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "").compareTo("timeseries") == 0) {
+      standardstatus = true;
     }
+    int statusIntervalSeconds = Integer.parseInt(props.getProperty("status.interval", "10"));
+    boolean trackJVMStats = props.getProperty(Measurements.MEASUREMENT_TRACK_JVM_PROPERTY,
+        Measurements.MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT).equals("true");
+    statusthread = new StatusThread(completeLatch, clients, label, standardstatus, statusIntervalSeconds,
+        trackJVMStats);
+    statusthread.start();
+  }
 
+  /**
+   * Run the throughput search or the sweep, whichever is enabled, to its end.
+   */
+  private static void runSearchOrSweep(ThroughputSearch throughputSearch, ThroughputSweep throughputSweep) {
     try {
-      try (final TraceScope span = tracer.newScope(CLIENT_CLEANUP_SPAN)) {
+      if (throughputSearch != null) {
+        double best = throughputSearch.run();
+        System.err.println("Highest throughput meeting the SLO: " + best + " ops/sec");
+      } else {
+        throughputSweep.run();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      System.err.println("Could not write the sweep results, error: " + e.getMessage());
+    }
+  }
 
-        if (terminator != null && !terminator.isInterrupted()) {
-          terminator.interrupt();
-        }
+  /**
+   * Wait for the client threads to finish.
+   *
+   * @return the number of operations they did.
+   */
+  private static long joinThreads(Map<Thread, ClientThread> threads) {
+    long opsDone = 0;
+    for (Map.Entry<Thread, ClientThread> entry : threads.entrySet()) {
+      try {
+        entry.getKey().join();
+        opsDone += entry.getValue().getOpsDone();
+      } catch (InterruptedException ignored) {
+        // ignored
+      }
+    }
+    return opsDone;
+  }
 
-        if (status) {
-          // wake up status thread if it's asleep
-          statusthread.interrupt();
-          // at this point we assume all the monitored threads are already gone as per above join loop.
-          try {
-            statusthread.join();
-          } catch (InterruptedException ignored) {
-            // ignored
-          }
-        }
+  /**
+   * Stop the threads watching the run and clean up the workloads.
+   */
+  private static void cleanup(Thread terminator, ControlPlane controlPlane, boolean status,
+                              List<Workload> workloads) {
+    if (terminator != null && !terminator.isInterrupted()) {
+      terminator.interrupt();
+    }
+
+    if (controlPlane != null) {
+      controlPlane.stop();
+    }
+
+    if (status) {
+      // wake up status thread if it's asleep
+      statusthread.interrupt();
+      // at this point we assume all the monitored threads are already gone as per above join loop.
+      try {
+        statusthread.join();
+      } catch (InterruptedException ignored) {
+        // ignored
+      }
+    }
 
+    try {
+      for (Workload workload : workloads) {
         workload.cleanup();
       }
     } catch (WorkloadException e) {
@@ -387,44 +800,170 @@ public final class Client {
       e.printStackTrace(System.out);
       System.exit(0);
     }
+  }
 
-    long warmupDuration = Long.parseLong(props.getProperty("warmup", "0"));
-    warmupDuration = warmupDuration * 1000;
-    try {
-      try (final TraceScope span = tracer.newScope(CLIENT_EXPORT_MEASUREMENTS_SPAN)) {
-        exportMeasurements(props, opsDone, en - st - warmupDuration);
+  /**
+   * @return the time in milliseconds at which the last client stopped issuing operations. The run ends then,
+   * not when its outstanding operations drained.
+   */
+  private static long getIssueEndMs(List<ClientThread> clients) {
+    long en = 0;
+    for (ClientThread client : clients) {
+      en = Math.max(en, client.getIssueEndMs());
+    }
+    return en == 0 ? System.currentTimeMillis() : en;
+  }
+
+  /**
+   * Report the run to the coordinator, if this is an agent, and export the measurements.
+   */
+  private static void report(Properties props, Agent agent, long opsDone, long runtime, List<Tenant> tenants) {
+    if (agent != null) {
+      try {
+        agent.finish(opsDone, runtime);
+      } catch (IOException e) {
+        System.err.println("Could not report to the coordinator, error: " + e.getMessage());
       }
+    }
+    try {
+      exportMeasurements(props, opsDone, runtime, tenants);
     } catch (IOException e) {
       System.err.println("Could not export measurements, error: " + e.getMessage());
       e.printStackTrace();
       System.exit(-1);
     }
+  }
 
-    System.exit(0);
+  /**
+   * Check that the pacing options of a tenant fit together, exiting if they do not.
+   */
+  private static void checkPacing(Properties props) {
+    if (ThroughputSweep.isEnabled(props)) {
+      checkSweep(props);
+    }
+    int target = Integer.parseInt(props.getProperty(TARGET_PROPERTY, "0"));
+    boolean scheduled = props.getProperty(RateSchedule.SCHEDULE_PROPERTY) != null;
+    boolean perop = OperationRates.isConfigured(props);
+
+    boolean openloop = Boolean.parseBoolean(props.getProperty(OpenLoopScheduler.OPEN_LOOP_PROPERTY,
+        OpenLoopScheduler.OPEN_LOOP_PROPERTY_DEFAULT));
+    if (openloop && target <= 0 && !scheduled && !perop) {
+      System.out.println("The " + OpenLoopScheduler.OPEN_LOOP_PROPERTY + " mode requires a " + TARGET_PROPERTY
+          + ", a " + RateSchedule.SCHEDULE_PROPERTY + " or per-operation targets.");
+      System.exit(0);
+    }
+    boolean search = Boolean.parseBoolean(props.getProperty(ThroughputSearch.SEARCH_PROPERTY,
+        ThroughputSearch.SEARCH_PROPERTY_DEFAULT));
+    if (perop && (target > 0 || scheduled || search
+        || !Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true))))) {
+      System.out.println("The " + OperationRates.TARGET_PROPERTY_PREFIX + "<op> properties replace the "
+          + TARGET_PROPERTY + ", only apply to the transaction phase and cannot be combined with "
+          + RateSchedule.SCHEDULE_PROPERTY + " or " + ThroughputSearch.SEARCH_PROPERTY + ".");
+      System.exit(0);
+    }
+    int users = Integer.parseInt(props.getProperty(UserModel.USERS_PROPERTY, UserModel.USERS_PROPERTY_DEFAULT));
+    if (users > 0 && (target > 0 || scheduled || perop || openloop || search)) {
+      System.out.println("The " + UserModel.USERS_PROPERTY + " are paced by their think times and cannot be "
+          + "combined with a " + TARGET_PROPERTY + ", " + RateSchedule.SCHEDULE_PROPERTY + ", per-operation "
+          + "targets, " + OpenLoopScheduler.OPEN_LOOP_PROPERTY + " or " + ThroughputSearch.SEARCH_PROPERTY + ".");
+      System.exit(0);
+    }
+    if (RateController.isEnabled(props) && (target <= 0 || scheduled || perop || users > 0 || search)) {
+      System.out.println("The " + RateController.RATE_CONTROL_PROPERTY + " mode requires a " + TARGET_PROPERTY
+          + " as the initial rate and cannot be combined with " + RateSchedule.SCHEDULE_PROPERTY
+          + ", per-operation targets, " + UserModel.USERS_PROPERTY + " or " + ThroughputSearch.SEARCH_PROPERTY + ".");
+      System.exit(0);
+    }
+    if (ControlPlane.isEnabled(props)) {
+      if (search || RateController.isEnabled(props)) {
+        System.out.println("The " + ControlPlane.CONTROL_PROPERTY + " mode cannot be combined with "
+            + ThroughputSearch.SEARCH_PROPERTY + " or " + RateController.RATE_CONTROL_PROPERTY
+            + ", which set the target themselves.");
+        System.exit(0);
+      }
+      int threads = Integer.parseInt(props.getProperty(THREAD_COUNT_PROPERTY, "1"));
+      int maxthreads = ControlPlane.getMaxThreads(props, threads);
+      if (maxthreads < threads || (maxthreads > threads && !isThreadCountAdjustable(props))) {
+        System.out.println("The " + ControlPlane.MAX_THREADS_PROPERTY + " must be at least the "
+            + THREAD_COUNT_PROPERTY + ", and can only exceed it in transaction runs without an "
+            + OPERATION_COUNT_PROPERTY + ", with shared " + ArrivalProcess.PACING_PROPERTY + " and without "
+            + UserModel.USERS_PROPERTY + ".");
+        System.exit(0);
+      }
+    }
+    if (search) {
+      if (target <= 0 || !Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)))) {
+        System.out.println("The " + ThroughputSearch.SEARCH_PROPERTY + " mode requires the transaction phase "
+            + "and a " + TARGET_PROPERTY + " as the highest rate to try.");
+        System.exit(0);
+      }
+      // the search decides when the run ends
+      props.setProperty(OPERATION_COUNT_PROPERTY, "0");
+    }
+  }
+
+  /**
+   * Check that a sweep fits the other options, exiting if it does not. A sweep over rates starts at its first
+   * rate if no target is given, and the sweep decides when the run ends.
+   */
+  private static void checkSweep(Properties props) {
+    if (props.getProperty(TARGET_PROPERTY) == null && ThroughputSweep.getFirstTarget(props) > 0) {
+      props.setProperty(TARGET_PROPERTY, String.valueOf((int) Math.ceil(ThroughputSweep.getFirstTarget(props))));
+    }
+    props.setProperty(OPERATION_COUNT_PROPERTY, "0");
+    boolean search = Boolean.parseBoolean(props.getProperty(ThroughputSearch.SEARCH_PROPERTY,
+        ThroughputSearch.SEARCH_PROPERTY_DEFAULT));
+    int users = Integer.parseInt(props.getProperty(UserModel.USERS_PROPERTY, UserModel.USERS_PROPERTY_DEFAULT));
+    if (search || RateController.isEnabled(props) || ControlPlane.isEnabled(props) || users > 0
+        || props.getProperty(RateSchedule.SCHEDULE_PROPERTY) != null || OperationRates.isConfigured(props)
+        || !Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)))
+        || (props.getProperty(ThroughputSweep.THREADS_PROPERTY) != null && !isThreadCountAdjustable(props))) {
+      System.out.println("The " + ThroughputSweep.TARGETS_PROPERTY + " and " + ThroughputSweep.THREADS_PROPERTY
+          + " sweeps only apply to the transaction phase, cannot be combined with "
+          + ThroughputSearch.SEARCH_PROPERTY + ", " + RateController.RATE_CONTROL_PROPERTY + ", "
+          + ControlPlane.CONTROL_PROPERTY + ", " + UserModel.USERS_PROPERTY + ", "
+          + RateSchedule.SCHEDULE_PROPERTY + " or per-operation targets, and thread counts can only be swept "
+          + "with shared " + ArrivalProcess.PACING_PROPERTY + ".");
+      System.exit(0);
+    }
+  }
+
+  /**
+   * @return the number of client threads to create: enough for the control plane or a sweep to run more
+   * threads than at the start.
+   */
+  private static int getMaxThreads(Properties props) {
+    int threads = Integer.parseInt(props.getProperty(THREAD_COUNT_PROPERTY, "1"));
+    return ThroughputSweep.getMaxThreads(props, ControlPlane.getMaxThreads(props, threads));
+  }
+
+  /**
+   * @return whether the control plane can change the number of running threads: the threads must not
+   * divide an operation count, a rate or users between them.
+   */
+  private static boolean isThreadCountAdjustable(Properties props) {
+    return Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)))
+        && getOperationCount(props) == 0 && ArrivalProcess.isSharedPacing(props)
+        && Integer.parseInt(props.getProperty(UserModel.USERS_PROPERTY, UserModel.USERS_PROPERTY_DEFAULT)) == 0;
   }
 
   private static List<ClientThread> initDb(String dbname, Properties props, int threadcount,
-                                           double targetperthreadperms, Workload workload, Tracer tracer,
+                                           ArrivalProcess arrivals, Workload workload, Tracer tracer,
                                            CountDownLatch completeLatch) {
     boolean initFailed = false;
     boolean dotransactions = Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)));
 
     final List<ClientThread> clients = new ArrayList<>(threadcount);
     try (final TraceScope span = tracer.newScope(CLIENT_INIT_SPAN)) {
-      int opcount;
-      if (dotransactions) {
-        opcount = Integer.parseInt(props.getProperty(OPERATION_COUNT_PROPERTY, "0"));
-      } else {
-        if (props.containsKey(INSERT_COUNT_PROPERTY)) {
-          opcount = Integer.parseInt(props.getProperty(INSERT_COUNT_PROPERTY, "0"));
-        } else {
-          opcount = Integer.parseInt(props.getProperty(RECORD_COUNT_PROPERTY, DEFAULT_RECORD_COUNT));
-        }
-      }
+      long opcount = getOperationCount(props);
       if (threadcount > opcount && opcount > 0){
-        threadcount = opcount;
+        threadcount = (int) opcount;
         System.out.println("Warning: the threadcount is bigger than recordcount, the threadcount will be recordcount!");
       }
+      // the threads claim their operations in chunks, so fast threads are not left idle by a fixed split
+      WorkPool pool = opcount > 0 ? new WorkPool(opcount,
+          Long.parseLong(props.getProperty(WorkPool.CHUNK_PROPERTY, WorkPool.CHUNK_PROPERTY_DEFAULT)),
+          threadcount) : null;
       for (int threadid = 0; threadid < threadcount; threadid++) {
         DB db;
         try {
@@ -435,15 +974,10 @@ public final class Client {
           break;
         }
 
-        int threadopcount = opcount / threadcount;
-
-        // ensure correct number of operations, in case opcount is not a multiple of threadcount
-        if (threadid < opcount % threadcount) {
-          ++threadopcount;
-        }
-
-        ClientThread t = new ClientThread(db, dotransactions, workload, props, threadopcount, targetperthreadperms,
-            completeLatch);
+        // each thread carries an even share of the target throughput, or claims from the whole with shared pacing
+        ArrivalProcess threadarrivals = arrivals == null ? null : arrivals.share(1.0 / threadcount);
+        ClientThread t = new ClientThread(db, dotransactions, workload, props, 0, threadarrivals, completeLatch);
+        t.setWorkPool(pool);
         t.setThreadId(threadid);
         t.setThreadCount(threadcount);
         clients.add(t);
@@ -457,6 +991,21 @@ public final class Client {
     return clients;
   }
 
+  /**
+   * The number of operations for the whole run: operationcount for the transaction phase, insertcount
+   * or recordcount for the load phase.
+   */
+  private static long getOperationCount(Properties props) {
+    boolean dotransactions = Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)));
+    if (dotransactions) {
+      return Long.parseLong(props.getProperty(OPERATION_COUNT_PROPERTY, "0"));
+    }
+    if (props.containsKey(INSERT_COUNT_PROPERTY)) {
+      return Long.parseLong(props.getProperty(INSERT_COUNT_PROPERTY, "0"));
+    }
+    return Long.parseLong(props.getProperty(RECORD_COUNT_PROPERTY, DEFAULT_RECORD_COUNT));
+  }
+
   private static Tracer getTracer(Properties props, Workload workload) {
     return new Tracer.Builder("YCSB " + workload.getClass().getSimpleName())
         .conf(getHTraceConfiguration(props))
@@ -21,29 +21,46 @@ import site.ycsb.measurements.Measurements;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.locks.LockSupport;
 
 /**
  * A thread for executing transactions or data inserts to the database.
  */
 public class ClientThread implements Runnable {
+  /** Contexts are released as soon as an operation has been issued, so a thread needs only a few. */
+  private static final int CONTEXT_POOL_SIZE = 4;
+
   // Counts down each of the clients completing.
   private final CountDownLatch completeLatch;
 
-  private static boolean spinSleep;
   private DB db;
   private boolean dotransactions;
   private Workload workload;
-  private int opcount;
+  private long opcount;
   private double targetOpsPerMs;
 
-  private int opsdone;
+  /** Written only by this thread, read by the client and the status thread. */
+  private volatile long opsdone;
+  private WorkPool pool;
+  /** Written only by this thread, read by the status thread. */
+  private volatile long claimedops;
   private int threadid;
   private int threadcount;
   private Object workloadstate;
   private Properties props;
   private long targetOpsTickNs;
   private final Measurements measurements;
+  private OpenLoopScheduler scheduler;
+  private ArrivalProcess arrivals;
+  private OperationRates rates;
+  private UserModel.Carrier users;
+  private ThreadGate gate;
+  private StartBarrier startBarrier;
+  private OperationContext claimed;
+  private long deadline;
+  private final boolean sharedPacing;
+  private long intended;
+  private volatile long issueEndMs;
+  private final OperationContext.Pool contexts = new OperationContext.Pool(CONTEXT_POOL_SIZE);
 
   /**
    * Constructor.
@@ -52,24 +69,28 @@ public class ClientThread implements Runnable {
    * @param dotransactions       true to do transactions, false to insert data
    * @param workload             the workload to use
    * @param props                the properties defining the experiment
-   * @param opcount              the number of operations (transactions or inserts) to do
-   * @param targetperthreadperms target number of operations per thread per ms
+   * @param opcount              the number of operations (transactions or inserts) to do, 0 for unlimited
+   *                             or when the thread claims them from a work pool
+   * @param arrivals             the share of the arrival process for this thread, or null to run
+   *                             unthrottled; with shared pacing the thread claims from the whole process
    * @param completeLatch        The latch tracking the completion of all clients.
    */
-  public ClientThread(DB db, boolean dotransactions, Workload workload, Properties props, int opcount,
-                      double targetperthreadperms, CountDownLatch completeLatch) {
+  public ClientThread(DB db, boolean dotransactions, Workload workload, Properties props, long opcount,
+                      ArrivalProcess arrivals, CountDownLatch completeLatch) {
     this.db = db;
     this.dotransactions = dotransactions;
     this.workload = workload;
     this.opcount = opcount;
     opsdone = 0;
-    if (targetperthreadperms > 0) {
-      targetOpsPerMs = targetperthreadperms;
+    this.arrivals = arrivals;
+    // a schedule may start at a rate of zero
+    if (arrivals != null && arrivals.getRate() > 0) {
+      targetOpsPerMs = arrivals.getRate() / 1000.0;
       targetOpsTickNs = (long) (1000000 / targetOpsPerMs);
     }
     this.props = props;
+    sharedPacing = ArrivalProcess.isSharedPacing(props);
     measurements = Measurements.getMeasurements();
-    spinSleep = Boolean.valueOf(this.props.getProperty("spin.sleep", "false"));
     this.completeLatch = completeLatch;
   }
 
@@ -81,25 +102,61 @@ public class ClientThread implements Runnable {
     threadcount = threadCount;
   }
 
-  public int getOpsDone() {
+  /**
+   * Take intended start times from an open-loop scheduler instead of throttling locally.
+   */
+  public void setScheduler(final OpenLoopScheduler openLoopScheduler) {
+    this.scheduler = openLoopScheduler;
+  }
+
+  /**
+   * Claim operations from the streams of operation types with their own target instead of following
+   * the arrival process.
+   */
+  public void setOperationRates(final OperationRates operationRates) {
+    this.rates = operationRates;
+  }
+
+  /**
+   * Issue the operations of simulated users as their think times pass instead of one closed loop.
+   */
+  public void setUsers(final UserModel.Carrier carrier) {
+    this.users = carrier;
+  }
+
+  /**
+   * Run only while the control plane runs at least threadid + 1 threads.
+   */
+  void setGate(final ThreadGate threadGate) {
+    this.gate = threadGate;
+  }
+
+  /**
+   * Initialize in turn with the other threads and wait for all of them before issuing load.
+   */
+  void setStartBarrier(final StartBarrier barrier) {
+    this.startBarrier = barrier;
+  }
+
+  /**
+   * Claim operations from a pool shared with the other threads instead of doing a fixed count.
+   */
+  void setWorkPool(final WorkPool workPool) {
+    this.pool = workPool;
+  }
+
+  public long getOpsDone() {
     return opsdone;
   }
 
   @Override
   public void run() {
-    try {
-      db.init();
-    } catch (DBException e) {
-      e.printStackTrace();
-      e.printStackTrace(System.out);
-      return;
+    boolean initialized = initialize();
+    if (startBarrier != null) {
+      // no thread issues load before every thread has connected
+      startBarrier.awaitRelease();
     }
-
-    try {
-      workloadstate = workload.initThread(props, threadid, threadcount);
-    } catch (WorkloadException e) {
-      e.printStackTrace();
-      e.printStackTrace(System.out);
+    if (!initialized) {
       return;
     }
 
@@ -111,44 +168,53 @@ public class ClientThread implements Runnable {
     // and the sleep() doesn't make sense for granularities < 1 ms anyway
     if ((targetOpsPerMs > 0) && (targetOpsPerMs <= 1.0)) {
       long randomMinorDelay = ThreadLocalRandom.current().nextInt((int) targetOpsTickNs);
-      sleepUntil(System.nanoTime() + randomMinorDelay);
+      PacingTimer.pause(randomMinorDelay, workload);
     }
     try {
-      if (dotransactions) {
-        long startTimeNanos = System.nanoTime();
+      if (scheduler != null) {
+        runOpenLoop();
+      } else if (users != null) {
+        runUsers();
+      } else if (dotransactions) {
+        deadline = System.nanoTime();
         boolean isStarted = false;
+        if (rates != null && measurements.isWarmupFinished()) {
+          // without a warmup, the first operation is claimed from the streams like the others
+          isStarted = true;
+          throttleNanos();
+        }
 
-        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested()) {
+        while (hasWork() && !workload.isStopRequested()) {
 
-          if (!workload.doTransaction(db, workloadstate)) {
+          if (!awaitActive() || !issue(intended)) {
             break;
           }
 
           if (!isStarted && measurements.isWarmupFinished()) {
             isStarted = true;
-            startTimeNanos = System.nanoTime();
+            deadline = System.nanoTime();
           }
 
           if (isStarted) {
-            opsdone++;
-            throttleNanos(startTimeNanos);
+            done();
+            throttleNanos();
           }
 
         }
       } else {
-        long startTimeNanos = System.nanoTime();
+        deadline = System.nanoTime();
 
-        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested()) {
+        while (hasWork() && !workload.isStopRequested()) {
 
-          if (!workload.doInsert(db, workloadstate)) {
+          if (!issue(intended)) {
             break;
           }
 
           if (measurements.isWarmupFinished()) {
-            opsdone++;
+            done();
           }
 
-          throttleNanos(startTimeNanos);
+          throttleNanos();
         }
       }
     } catch (Exception e) {
@@ -156,9 +222,15 @@ public class ClientThread implements Runnable {
       e.printStackTrace(System.out);
       System.exit(0);
     }
+    // draining the outstanding operations is not part of the measured run
+    issueEndMs = System.currentTimeMillis();
+    if (claimed != null) {
+      // claimed for an operation the thread stopped before issuing
+      claimed.release();
+      claimed = null;
+    }
 
     try {
-      measurements.setIntendedStartTimeNs(0);
       db.cleanup();
     } catch (DBException e) {
       e.printStackTrace();
@@ -168,29 +240,199 @@ public class ClientThread implements Runnable {
     }
   }
 
-  private static void sleepUntil(long deadline) {
-    while (System.nanoTime() < deadline) {
-      if (!spinSleep) {
-        LockSupport.parkNanos(deadline - System.nanoTime());
+  /**
+   * Initialize the binding and the workload state of the thread, in turn with the other threads if they
+   * start together.
+   *
+   * @return false if the initialization failed.
+   */
+  private boolean initialize() {
+    if (startBarrier != null) {
+      startBarrier.beginInit();
+    }
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      db.init();
+      workloadstate = workload.initThread(props, threadid, threadcount);
+      success = true;
+    } catch (DBException | WorkloadException e) {
+      e.printStackTrace();
+      e.printStackTrace(System.out);
+    } finally {
+      if (startBarrier != null) {
+        startBarrier.endInit(System.nanoTime() - start, success);
+      }
+    }
+    return success;
+  }
+
+  /**
+   * Execute operations as the scheduler releases them. The operation count is enforced by the
+   * scheduler, so any free thread picks up the next due operation.
+   */
+  private void runOpenLoop() {
+    while (awaitActive()) {
+      OperationContext next = scheduler.nextOperation();
+      if (next == null || !issue(next)) {
+        break;
+      }
+      if (measurements.isWarmupFinished()) {
+        done();
+      }
+    }
+  }
+
+  /**
+   * Execute the operations of the users of this thread, each when its think time has passed. The thread
+   * does not wait for the operations to complete, so it can carry many users.
+   */
+  private void runUsers() {
+    while (hasWork() && !workload.isStopRequested()) {
+      UserModel.User user = users.next();
+      if (user == null) {
+        continue;
+      }
+      OperationContext context = contexts.acquire(user.getDueNs());
+      context.setListener(user);
+      user.begin();
+      boolean more;
+      try {
+        more = issue(context);
+      } catch (RuntimeException e) {
+        // the user thinks and tries again, rather than being lost with the thread
+        e.printStackTrace();
+        more = true;
+      } finally {
+        user.issued(measurements.isWarmupFinished());
+      }
+      if (!more) {
+        break;
+      }
+      if (measurements.isWarmupFinished()) {
+        done();
+      }
+    }
+  }
+
+  /**
+   * Wait while the control plane has parked this thread. An arrival claimed before the thread was parked
+   * is dropped for a fresh one, so the time parked does not count as latency.
+   *
+   * @return false if the workload stopped while the thread was parked.
+   */
+  private boolean awaitActive() {
+    if (gate == null || gate.isActive(threadid)) {
+      return true;
+    }
+    if (!gate.await(threadid, workload)) {
+      return false;
+    }
+    if (claimed != null) {
+      claimed.release();
+      claimed = null;
+    }
+    throttleNanos();
+    return !workload.isStopRequested();
+  }
+
+  /**
+   * @return whether the thread has operations left to do, claiming the next chunk from the pool if needed.
+   */
+  private boolean hasWork() {
+    if (pool != null) {
+      if (claimedops == 0) {
+        claimedops = pool.claim();
       }
+      return claimedops > 0;
+    }
+    return opcount == 0 || opsdone < opcount;
+  }
+
+  /**
+   * Count a measured operation against the budget.
+   */
+  private void done() {
+    opsdone++;
+    if (pool != null) {
+      claimedops--;
     }
   }
 
-  private void throttleNanos(long startTimeNanos) {
+  private void throttleNanos() {
     //throttle the operations
-    if (targetOpsPerMs > 0) {
-      // delay until next tick
-      long deadline = startTimeNanos + opsdone * targetOpsTickNs;
-      sleepUntil(deadline);
-      measurements.setIntendedStartTimeNs(deadline);
+    if (rates == null && arrivals == null) {
+      return;
+    }
+    deadline = nextDeadline();
+    while (deadline == ArrivalProcess.NEVER) {
+      // the rate stays at zero unless it is changed, so check back now and then
+      if (!PacingTimer.pause(PacingTimer.STOP_POLL_NS, workload)) {
+        return;
+      }
+      deadline = nextDeadline();
+    }
+    PacingTimer.sleepUntil(deadline, workload);
+    intended = deadline;
+  }
+
+  /**
+   * @return the intended start time of the next operation, or {@link ArrivalProcess#NEVER}.
+   */
+  private long nextDeadline() {
+    if (rates != null) {
+      // the type of the next operation is decided by the stream it is claimed from
+      if (claimed == null) {
+        claimed = contexts.acquire(0);
+      }
+      return rates.claim(claimed);
     }
+    // delay until the next arrival
+    return sharedPacing ? arrivals.claimIntendedStartNs() : arrivals.nextIntendedStartNs(deadline);
+  }
+
+  /**
+   * Run one operation of the workload.
+   *
+   * @param intendedStartNs the time the operation should start, 0 if it is not throttled
+   * @return false if the workload is done for this thread.
+   */
+  private boolean issue(long intendedStartNs) {
+    OperationContext context = claimed;
+    claimed = null;
+    return issue(context != null ? context : contexts.acquire(intendedStartNs));
+  }
+
+  /**
+   * Run one operation of the workload with the given context, and release the context.
+   *
+   * @return false if the workload is done for this thread.
+   */
+  private boolean issue(OperationContext context) {
+    try {
+      return dotransactions ? workload.doTransaction(db, workloadstate, context)
+          : workload.doInsert(db, workloadstate, context);
+    } finally {
+      context.release();
+    }
+  }
+
+  /**
+   * @return the time in milliseconds at which the thread stopped issuing operations, 0 if it has not yet.
+   */
+  long getIssueEndMs() {
+    return issueEndMs;
   }
 
   /**
    * The total amount of work this thread is still expected to do.
    */
-  int getOpsTodo() {
-    int todo = opcount - opsdone;
+  long getOpsTodo() {
+    if (pool != null) {
+      // the unclaimed operations are reported by one thread of the pool
+      return claimedops + (threadid == 0 ? pool.getRemaining() : 0);
+    }
+    long todo = opcount - opsdone;
     return todo < 0 ? 0 : todo;
   }
 }
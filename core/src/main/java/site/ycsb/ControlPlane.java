@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+import site.ycsb.workloads.CoreWorkload;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changes the target rate, the operation mix and the number of client threads of a running benchmark, so
+ * the load can be nudged interactively without restarting the JVM and losing its warmup or the state of
+ * the server caches.
+ * <p>
+ * The control plane is registered as the MBean site.ycsb:type=ControlPlane and, with control.http.port,
+ * also answers on http://localhost:port/control, where a POST of parameters such as target=5000&amp;threads=8
+ * or readproportion=0.5&amp;updateproportion=0.5, in the query or as a form, applies the changes, all of them
+ * or none, and every request returns the current settings. Every change is recorded as an event: it is printed
+ * when made, shown by the status thread and exported as a time series, e.g. [CONTROL-TARGET], keyed by the
+ * milliseconds since the start of the run.
+ */
+public class ControlPlane implements ControlPlaneMBean {
+  /** Whether to accept changes during the run. */
+  public static final String CONTROL_PROPERTY = "control";
+  public static final String CONTROL_PROPERTY_DEFAULT = "false";
+
+  /** The port of the HTTP endpoint on localhost, 0 for none. */
+  public static final String HTTP_PORT_PROPERTY = "control.http.port";
+  public static final String HTTP_PORT_PROPERTY_DEFAULT = "0";
+
+  /** The number of client threads to create, of which threadcount run at the start. */
+  public static final String MAX_THREADS_PROPERTY = "control.maxthreads";
+
+  public static final String OBJECT_NAME = "site.ycsb:type=ControlPlane";
+
+  private final ArrivalProcess arrivals;
+  private final Workload workload;
+  private final ThreadGate gate;
+  private final List<Event> events = new CopyOnWriteArrayList<>();
+  private long startNs;
+  private HttpServer server;
+
+  /**
+   * A change made during the run.
+   */
+  private static final class Event {
+    private final long elapsedMs;
+    private final String name;
+    private final double value;
+
+    Event(long elapsedMs, String name, double value) {
+      this.elapsedMs = elapsedMs;
+      this.name = name;
+      this.value = value;
+    }
+  }
+
+  /**
+   * @return whether the properties ask for a control plane.
+   */
+  public static boolean isEnabled(Properties p) {
+    return Boolean.parseBoolean(p.getProperty(CONTROL_PROPERTY, CONTROL_PROPERTY_DEFAULT));
+  }
+
+  /**
+   * @return the number of client threads to create for the given thread count.
+   */
+  public static int getMaxThreads(Properties p, int threadcount) {
+    return isEnabled(p) ? Integer.parseInt(p.getProperty(MAX_THREADS_PROPERTY, String.valueOf(threadcount)))
+        : threadcount;
+  }
+
+  /**
+   * @param arrivals the arrival process of the aggregate offered load, or null if the run is not throttled
+   * @param workload the workload, whose mix can change if it is a {@link CoreWorkload}
+   * @param gate     the gate of the client threads, or null if the thread count cannot change
+   */
+  ControlPlane(ArrivalProcess arrivals, Workload workload, ThreadGate gate) {
+    this.arrivals = arrivals;
+    this.workload = workload;
+    this.gate = gate;
+    startNs = System.nanoTime();
+  }
+
+  /**
+   * Register the MBean and start the HTTP endpoint if it has a port.
+   *
+   * @throws IOException if the endpoint cannot be started
+   */
+  public void start(Properties p) throws IOException {
+    startNs = System.nanoTime();
+    Measurements.getMeasurements().addMeasurement(new ControlMeasurement());
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      throw new IOException("Could not register " + OBJECT_NAME, e);
+    }
+    int port = Integer.parseInt(p.getProperty(HTTP_PORT_PROPERTY, HTTP_PORT_PROPERTY_DEFAULT));
+    if (port > 0) {
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+      server.createContext("/control", this::handle);
+      server.start();
+      System.err.println("Control plane listening on http://localhost:" + port + "/control");
+    }
+  }
+
+  /**
+   * Stop the HTTP endpoint and unregister the MBean.
+   */
+  public void stop() {
+    if (server != null) {
+      server.stop(0);
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      // not registered
+    }
+  }
+
+  @Override
+  public double getTargetThroughput() {
+    return arrivals == null ? 0 : arrivals.getRate();
+  }
+
+  @Override
+  public void setTargetThroughput(double opsPerSec) {
+    checkTarget(opsPerSec);
+    if (opsPerSec < arrivals.getRate()) {
+      // do not catch up on the arrivals the higher rate fell behind on
+      arrivals.skipTo(System.nanoTime());
+    }
+    arrivals.setRate(opsPerSec);
+    record("TARGET", opsPerSec);
+  }
+
+  private void checkTarget(double opsPerSec) {
+    if (arrivals == null) {
+      throw new IllegalArgumentException("the target can only change in runs started with a target");
+    }
+    if (opsPerSec <= 0) {
+      throw new IllegalArgumentException("the target must be positive");
+    }
+  }
+
+  @Override
+  public int getThreads() {
+    return gate == null ? 0 : gate.getActive();
+  }
+
+  @Override
+  public void setThreads(int threads) {
+    checkThreads(threads);
+    gate.setActive(threads);
+    record("THREADS", threads);
+  }
+
+  private void checkThreads(int threads) {
+    if (gate == null) {
+      throw new IllegalArgumentException("the thread count can only change in transaction runs without an "
+          + "operationcount, with shared pacing and without users");
+    }
+    if (threads < 1 || threads > gate.getMaxThreads()) {
+      throw new IllegalArgumentException("the thread count must be between 1 and " + gate.getMaxThreads());
+    }
+  }
+
+  @Override
+  public String getMix() {
+    if (!(workload instanceof CoreWorkload)) {
+      return "";
+    }
+    Properties mix = ((CoreWorkload) workload).getProportions();
+    StringBuilder sb = new StringBuilder();
+    for (String name : mix.stringPropertyNames()) {
+      sb.append(sb.length() == 0 ? "" : ",").append(name).append('=').append(mix.getProperty(name));
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public void setMix(String mix) {
+    Properties changes = new Properties();
+    for (String entry : mix.split(",")) {
+      String[] pair = entry.split("=", 2);
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("unknown mix " + mix);
+      }
+      changes.setProperty(pair[0].trim(), pair[1].trim());
+    }
+    setMix(changes);
+  }
+
+  private void setMix(Properties changes) {
+    if (!(workload instanceof CoreWorkload)) {
+      throw new IllegalArgumentException("the mix can only change with the CoreWorkload");
+    }
+    ((CoreWorkload) workload).setProportions(changes);
+    for (String name : changes.stringPropertyNames()) {
+      record(name.toUpperCase(Locale.ROOT), Double.parseDouble(changes.getProperty(name)));
+    }
+  }
+
+  private void record(String name, double value) {
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+    events.add(new Event(elapsedMs, name, value));
+    System.err.println(String.format("Control: %s set to %s after %d ms", name, value, elapsedMs));
+  }
+
+  /**
+   * Apply a set of changes, all of them or, if one is not valid, none.
+   *
+   * @param changes the changes by name: target, threads or the name of a proportion
+   * @throws IllegalArgumentException if a change is not valid
+   */
+  void apply(Properties changes) {
+    double target = 0;
+    int threads = 0;
+    Properties mix = new Properties();
+    for (String name : changes.stringPropertyNames()) {
+      String value = changes.getProperty(name);
+      if (name.equals("target")) {
+        target = Double.parseDouble(value);
+        checkTarget(target);
+      } else if (name.equals("threads")) {
+        threads = Integer.parseInt(value);
+        checkThreads(threads);
+      } else {
+        mix.setProperty(name, value);
+      }
+    }
+    // the mix is checked as a whole as it is set, so it goes first and the checked changes cannot fail after it
+    if (!mix.isEmpty()) {
+      setMix(mix);
+    }
+    if (target > 0) {
+      setTargetThroughput(target);
+    }
+    if (threads > 0) {
+      setThreads(threads);
+    }
+  }
+
+  /**
+   * Apply the changes POSTed in the query or the form of a request and answer with the current settings.
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    int code = 200;
+    String body;
+    try {
+      Properties changes = new Properties();
+      parseParameters(exchange.getRequestURI().getRawQuery(), changes);
+      parseParameters(read(exchange.getRequestBody()), changes);
+      if (!changes.isEmpty() && !exchange.getRequestMethod().equals("POST")) {
+        code = 405;
+        exchange.getResponseHeaders().set("Allow", "GET, POST");
+        body = "changes must be POSTed\n";
+      } else {
+        apply(changes);
+        body = "target=" + getTargetThroughput() + "\nthreads=" + getThreads() + "\n"
+            + getMix().replace(',', '\n') + "\n";
+      }
+    } catch (IllegalArgumentException e) {
+      code = 400;
+      body = e.getMessage() + "\n";
+    } catch (RuntimeException e) {
+      // answer rather than leave the request hanging, the server only logs what escapes a handler
+      e.printStackTrace();
+      code = 500;
+      body = e + "\n";
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(code, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static void parseParameters(String encoded, Properties into) throws IOException {
+    if (encoded == null || encoded.isEmpty()) {
+      return;
+    }
+    for (String parameter : encoded.trim().split("&")) {
+      String[] pair = parameter.split("=", 2);
+      String name = URLDecoder.decode(pair[0], StandardCharsets.UTF_8.name());
+      String value = pair.length == 2 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8.name()) : "";
+      into.setProperty(name, value);
+    }
+  }
+
+  private static String read(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int n;
+    while ((n = in.read(buffer)) > 0) {
+      out.write(buffer, 0, n);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Reports the current settings and exports the changes.
+   */
+  private final class ControlMeasurement extends OneMeasurement {
+    ControlMeasurement() {
+      super("CONTROL");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the changes are tracked by the control plane
+    }
+
+    @Override
+    public String getSummary() {
+      return String.format("[CONTROL: Target=%.1f ops/sec, Threads=%d, Changes=%d]", getTargetThroughput(),
+          getThreads(), events.size());
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      exporter.write(getName(), "Changes", events.size());
+      for (Event event : events) {
+        exporter.write(getName() + "-" + event.name, Long.toString(event.elapsedMs), event.value);
+      }
+    }
+  }
+}
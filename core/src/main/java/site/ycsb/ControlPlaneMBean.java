@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+/**
+ * The attributes of a run that can be changed over JMX while it runs.
+ */
+public interface ControlPlaneMBean {
+  /**
+   * @return the target rate in operations per second.
+   */
+  double getTargetThroughput();
+
+  /**
+   * Change the target rate; replaces any schedule.
+   */
+  void setTargetThroughput(double opsPerSec);
+
+  /**
+   * @return the number of client threads running.
+   */
+  int getThreads();
+
+  /**
+   * Run the given number of client threads, at most control.maxthreads.
+   */
+  void setThreads(int threads);
+
+  /**
+   * @return the proportions of the operation types, e.g. "readproportion=0.95,updateproportion=0.05".
+   */
+  String getMix();
+
+  /**
+   * Change the proportions of the given operation types, e.g. "readproportion=0.5,updateproportion=0.5".
+   */
+  void setMix(String mix);
+}
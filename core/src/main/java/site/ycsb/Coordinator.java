@@ -0,0 +1,347 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+/**
+ * Coordinates a benchmark run by several client processes, the agents, so the load is not limited by what one
+ * JVM can generate.
+ * <p>
+ * The coordinator waits for coordinator.agents agents to connect, assigns each its index, from which the
+ * agent takes its share of the key range, the target throughput and the operation count, and starts all of
+ * them at the same time once every agent has initialized its client threads. It stops all of them when the
+ * maxexecutiontime of the coordinator has passed or an agent is lost, and counts an agent as lost if it does
+ * not finish within coordinator.stoptimeout.ms of that.
+ * <p>
+ * Every status interval the agents send the latencies of the interval as HdrHistograms, which the coordinator
+ * adds to one histogram per measurement. Histograms merge without loss, so the percentiles of the run are
+ * those of all operations of all agents, not an average of the percentiles of each agent. The coordinator
+ * reports the merged intervals as the status of the run and exports the merged measurements in the format of
+ * a single client, with a section per agent.
+ */
+public class Coordinator {
+  /** The number of agents to run, 0 to run as a single client. */
+  public static final String AGENTS_PROPERTY = "coordinator.agents";
+  public static final String AGENTS_PROPERTY_DEFAULT = "0";
+
+  /** The port the coordinator accepts the agents on. */
+  public static final String PORT_PROPERTY = "coordinator.port";
+  public static final String PORT_PROPERTY_DEFAULT = "7070";
+
+  /** The address the coordinator accepts the agents on, by default the loopback address. */
+  public static final String HOST_PROPERTY = "coordinator.host";
+
+  /** The time in milliseconds from the start message to the start of the run, to reach every agent. */
+  public static final String START_DELAY_PROPERTY = "coordinator.startdelay.ms";
+  public static final String START_DELAY_PROPERTY_DEFAULT = "500";
+
+  /** The time in milliseconds the agents have to finish once they are told to stop. */
+  public static final String STOP_TIMEOUT_PROPERTY = "coordinator.stoptimeout.ms";
+  public static final String STOP_TIMEOUT_PROPERTY_DEFAULT = "60000";
+
+  // messages from the agents
+  static final byte HELLO = 1;
+  static final byte READY = 2;
+  static final byte INTERVAL = 3;
+  static final byte DONE = 4;
+
+  // messages to the agents
+  static final byte ASSIGN = 11;
+  static final byte START = 12;
+  static final byte STOP = 13;
+
+  private final Properties props;
+  private final int agentCount;
+  private final long startDelayMs;
+  private final long stopTimeoutMs;
+  private final long maxExecutionTimeMs;
+  private final int statusIntervalMs;
+  private final String label;
+  private final Measurements measurements;
+  private final List<AgentConnection> agents = new ArrayList<>();
+  private final CountDownLatch done;
+  private boolean stopped;
+  private volatile long stoppedMs;
+
+  /**
+   * The connection to one agent and what it reported.
+   */
+  private final class AgentConnection extends Thread {
+    private final int index;
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private volatile long opsDone;
+    private volatile long runtimeMs;
+    private volatile boolean finished;
+
+    AgentConnection(int index, Socket socket) throws IOException {
+      super("AgentConnection-" + index);
+      setDaemon(true);
+      this.index = index;
+      this.socket = socket;
+      in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    void expect(byte type) throws IOException {
+      byte received = in.readByte();
+      if (received != type) {
+        throw new IOException("unexpected message " + received + " from agent " + index);
+      }
+    }
+
+    synchronized void send(byte type, long... values) throws IOException {
+      out.writeByte(type);
+      for (long value : values) {
+        out.writeLong(value);
+      }
+      out.flush();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          byte type = in.readByte();
+          if (type == INTERVAL) {
+            opsDone = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+              String name = in.readUTF();
+              byte[] encoded = new byte[in.readInt()];
+              in.readFully(encoded);
+              merge(name, decode(encoded));
+            }
+          } else if (type == DONE) {
+            opsDone = in.readLong();
+            runtimeMs = in.readLong();
+            finished = true;
+            return;
+          } else {
+            throw new IOException("unexpected message " + type);
+          }
+        }
+      } catch (IOException | DataFormatException e) {
+        System.err.println("Lost agent " + index + ": " + (e instanceof EOFException ? "disconnected" : e));
+        // the run cannot be complete without the agent
+        stopAll();
+      } finally {
+        try {
+          socket.close();
+        } catch (IOException ignored) {
+          // ignored
+        }
+        done.countDown();
+      }
+    }
+  }
+
+  public Coordinator(Properties props) {
+    this.props = props;
+    agentCount = Integer.parseInt(props.getProperty(AGENTS_PROPERTY, AGENTS_PROPERTY_DEFAULT));
+    startDelayMs = Long.parseLong(props.getProperty(START_DELAY_PROPERTY, START_DELAY_PROPERTY_DEFAULT));
+    stopTimeoutMs = Long.parseLong(props.getProperty(STOP_TIMEOUT_PROPERTY, STOP_TIMEOUT_PROPERTY_DEFAULT));
+    maxExecutionTimeMs = Long.parseLong(props.getProperty(Client.MAX_EXECUTION_TIME, "0")) * 1000;
+    statusIntervalMs = Integer.parseInt(props.getProperty("status.interval", "10")) * 1000;
+    label = props.getProperty(Client.LABEL_PROPERTY, "");
+    Measurements.setProperties(props);
+    measurements = Measurements.getMeasurements();
+    done = new CountDownLatch(agentCount);
+  }
+
+  public static boolean isEnabled(Properties props) {
+    return Integer.parseInt(props.getProperty(AGENTS_PROPERTY, AGENTS_PROPERTY_DEFAULT)) > 0;
+  }
+
+  /**
+   * Run the benchmark on the agents and export the merged measurements.
+   */
+  public void run() throws IOException, InterruptedException {
+    int port = Integer.parseInt(props.getProperty(PORT_PROPERTY, PORT_PROPERTY_DEFAULT));
+    String host = props.getProperty(HOST_PROPERTY);
+    InetAddress address = host == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(host);
+    try (ServerSocket server = new ServerSocket(port, agentCount, address)) {
+      System.err.println("Waiting for " + agentCount + " agents on " + address.getHostAddress() + ":"
+          + server.getLocalPort());
+      for (int i = 0; i < agentCount; i++) {
+        AgentConnection agent = new AgentConnection(i, server.accept());
+        agent.expect(HELLO);
+        agent.send(ASSIGN, i, agentCount);
+        agents.add(agent);
+        System.err.println("Agent " + i + " connected from " + agent.socket.getRemoteSocketAddress());
+      }
+    }
+
+    // the agents are ready once their client threads have initialized
+    for (AgentConnection agent : agents) {
+      agent.expect(READY);
+    }
+    long startMs = System.currentTimeMillis() + startDelayMs;
+    for (AgentConnection agent : agents) {
+      agent.send(START, startMs);
+      agent.start();
+    }
+    System.err.println("Started " + agentCount + " agents");
+
+    long lastMs = startMs;
+    long lastOps = 0;
+    boolean running = true;
+    while (running) {
+      long nextMs = lastMs + statusIntervalMs;
+      if (maxExecutionTimeMs > 0) {
+        nextMs = Math.min(nextMs, startMs + maxExecutionTimeMs);
+      }
+      long stopMs = stoppedMs;
+      if (stopMs > 0) {
+        nextMs = Math.min(nextMs, stopMs + stopTimeoutMs);
+      }
+      running = !done.await(Math.max(0, nextMs - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+      if (running && maxExecutionTimeMs > 0 && System.currentTimeMillis() >= startMs + maxExecutionTimeMs) {
+        stopAll();
+      }
+      if (running && stopMs > 0 && System.currentTimeMillis() >= stopMs + stopTimeoutMs) {
+        System.err.println("Agents did not finish within " + stopTimeoutMs + " ms of the stop, giving up on them");
+        running = false;
+      }
+      long nowMs = System.currentTimeMillis();
+      if (nowMs - lastMs >= statusIntervalMs || !running) {
+        lastOps = printStatus(startMs, lastMs, nowMs, lastOps);
+        lastMs = nowMs;
+      }
+    }
+
+    exportMeasurements();
+  }
+
+  /**
+   * Add the latencies of an interval of an agent to the merged measurement of the same name.
+   */
+  private void merge(String name, Histogram interval) {
+    OneMeasurement measurement = measurements.addMeasurement(new OneMeasurementHdrHistogram(name, props));
+    ((OneMeasurementHdrHistogram) measurement).add(interval);
+  }
+
+  static byte[] encode(Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    byte[] encoded = new byte[length];
+    System.arraycopy(buffer.array(), 0, encoded, 0, length);
+    return encoded;
+  }
+
+  static Histogram decode(byte[] encoded) throws DataFormatException {
+    return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0);
+  }
+
+  /**
+   * Tell every agent still running to stop.
+   */
+  private synchronized void stopAll() {
+    if (stopped) {
+      return;
+    }
+    stopped = true;
+    stoppedMs = System.currentTimeMillis();
+    System.err.println("Stopping the agents");
+    for (AgentConnection agent : agents) {
+      if (!agent.finished) {
+        try {
+          agent.send(STOP);
+        } catch (IOException ignored) {
+          // the agent is gone already
+        }
+      }
+    }
+  }
+
+  private long printStatus(long startMs, long lastMs, long nowMs, long lastOps) {
+    long totalops = 0;
+    for (AgentConnection agent : agents) {
+      totalops += agent.opsDone;
+    }
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSS");
+    DecimalFormat d = new DecimalFormat("#.##");
+    StringBuilder msg = new StringBuilder(label).append(format.format(new Date())).append(" ")
+        .append((nowMs - startMs) / 1000).append(" sec: ").append(totalops).append(" operations; ");
+    if (totalops != 0 && nowMs > lastMs) {
+      msg.append(d.format(1000.0 * (totalops - lastOps) / (nowMs - lastMs))).append(" current ops/sec; ");
+    }
+    msg.append(measurements.getSummary());
+    System.err.println(msg);
+    return totalops;
+  }
+
+  private void exportMeasurements() throws IOException {
+    long opsDone = 0;
+    long runtime = 0;
+    for (AgentConnection agent : agents) {
+      opsDone += agent.opsDone;
+      runtime = Math.max(runtime, agent.runtimeMs);
+    }
+    MeasurementsExporter exporter = null;
+    try {
+      exporter = Client.newExporter(props);
+      exporter.write("OVERALL", "RunTime(ms)", runtime);
+      exporter.write("OVERALL", "Throughput(ops/sec)", runtime > 0 ? 1000.0 * opsDone / runtime : 0);
+      exporter.write("COORDINATOR", "Agents", agentCount);
+      int finished = 0;
+      for (AgentConnection agent : agents) {
+        finished += agent.finished ? 1 : 0;
+      }
+      exporter.write("COORDINATOR", "Lost", agentCount - finished);
+      for (AgentConnection agent : agents) {
+        String section = "AGENT-" + agent.index;
+        exporter.write(section, "RunTime(ms)", agent.runtimeMs);
+        exporter.write(section, "Operations", agent.opsDone);
+        exporter.write(section, "Throughput(ops/sec)",
+            agent.runtimeMs > 0 ? 1000.0 * agent.opsDone / agent.runtimeMs : 0);
+      }
+      measurements.exportMeasurements(exporter);
+    } finally {
+      if (exporter != null) {
+        exporter.close();
+      }
+    }
+  }
+}
@@ -133,4 +133,62 @@ public abstract class DB {
    * @return The result of the operation.
    */
   public abstract Status delete(String table, String key, long ist, long st);
+
+  /**
+   * Read a record from the database as part of the operation described by the context. By default this
+   * passes the intended start time and the send time of the context to
+   * {@link #read(String, String, Set, Map, long, long)}.
+   *
+   * @param context The timing of the operation
+   * @return The result of the operation.
+   */
+  public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result,
+                     OperationContext context) {
+    return read(table, key, fields, result, context.getIntendedStartNs(), context.getStartNs());
+  }
+
+  /**
+   * Perform a range scan as part of the operation described by the context. By default this passes the
+   * timing of the context to {@link #scan(String, String, int, Set, Vector, long, long)}.
+   *
+   * @param context The timing of the operation
+   * @return The result of the operation.
+   */
+  public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                     Vector<HashMap<String, ByteIterator>> result, OperationContext context) {
+    return scan(table, startkey, recordcount, fields, result, context.getIntendedStartNs(), context.getStartNs());
+  }
+
+  /**
+   * Update a record as part of the operation described by the context. By default this passes the timing
+   * of the context to {@link #update(String, String, Map, long, long)}.
+   *
+   * @param context The timing of the operation
+   * @return The result of the operation.
+   */
+  public Status update(String table, String key, Map<String, ByteIterator> values, OperationContext context) {
+    return update(table, key, values, context.getIntendedStartNs(), context.getStartNs());
+  }
+
+  /**
+   * Insert a record as part of the operation described by the context. By default this passes the timing
+   * of the context to {@link #insert(String, String, Map, long, long)}.
+   *
+   * @param context The timing of the operation
+   * @return The result of the operation.
+   */
+  public Status insert(String table, String key, Map<String, ByteIterator> values, OperationContext context) {
+    return insert(table, key, values, context.getIntendedStartNs(), context.getStartNs());
+  }
+
+  /**
+   * Delete a record as part of the operation described by the context. By default this passes the timing
+   * of the context to {@link #delete(String, String, long, long)}.
+   *
+   * @param context The timing of the operation
+   * @return The result of the operation.
+   */
+  public Status delete(String table, String key, OperationContext context) {
+    return delete(table, key, context.getIntendedStartNs(), context.getStartNs());
+  }
 }
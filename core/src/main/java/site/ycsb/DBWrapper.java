@@ -19,21 +19,43 @@ package site.ycsb;
 
 import java.util.Map;
 
+import site.ycsb.measurements.InFlightGauge;
 import site.ycsb.measurements.Measurements;
 import org.apache.htrace.core.TraceScope;
 import org.apache.htrace.core.Tracer;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 
 /**
  * Wrapper around a "real" DB that measures latencies and counts return codes.
  * Also reports latency separately between OK and failed operations.
+ * <p>
+ * The timing of each operation arrives with its {@link OperationContext}; calls without one are measured from
+ * the time they are sent. Synchronous bindings measure their own operations. For an {@link AsyncDB} the wrapper
+ * records the service time and the intended latency when the operation completes, not when the call returns.
+ * An asynchronous operation outstanding for longer than request.timeout.ms is recorded with the TIMEOUT status
+ * at its timeout value, so lost responses do not drop out of the latency distribution; a response arriving
+ * after that is counted under &lt;op&gt;-LATE. On cleanup the wrapper waits up to drain.deadline.ms for the
+ * outstanding operations; those still outstanding are then recorded as timed out after the time they have been
+ * waiting.
  */
 public class DBWrapper extends DB {
   private final DB db;
+  private final AsyncDB asyncDb;
   private final Measurements measurements;
+  private final InFlightGauge.Counter inFlight;
   private final Tracer tracer;
+  private final String measurementPrefix;
+  private final Set<Outstanding> outstanding = ConcurrentHashMap.newKeySet();
+  private long drainDeadlineNs;
+  private long requestTimeoutNs;
 
   private boolean reportLatencyForEachError = false;
   private Set<String> latencyTrackedErrors = new HashSet<String>();
@@ -43,6 +65,21 @@ public class DBWrapper extends DB {
 
   private static final String LATENCY_TRACKED_ERRORS_PROPERTY = "latencytrackederrors";
 
+  static final String DRAIN_DEADLINE_PROPERTY = "drain.deadline.ms";
+  static final String DRAIN_DEADLINE_PROPERTY_DEFAULT = "10000";
+
+  static final String REQUEST_TIMEOUT_PROPERTY = "request.timeout.ms";
+  static final String REQUEST_TIMEOUT_PROPERTY_DEFAULT = "0";
+
+  private static final int PENDING = 0;
+  private static final int COMPLETED = 1;
+  private static final int TIMED_OUT = 2;
+  private static final AtomicIntegerFieldUpdater<Outstanding> OUTSTANDING_STATE =
+      AtomicIntegerFieldUpdater.newUpdater(Outstanding.class, "state");
+
+  /** How often a drain checks for outstanding operations. */
+  private static final long DRAIN_POLL_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
   private static final AtomicBoolean LOG_REPORT_CONFIG = new AtomicBoolean(false);
 
   private final String scopeStringCleanup;
@@ -55,8 +92,12 @@ public class DBWrapper extends DB {
 
   public DBWrapper(final DB db, final Tracer tracer) {
     this.db = db;
+    this.asyncDb = db instanceof AsyncDB ? (AsyncDB) db : null;
     measurements = Measurements.getMeasurements();
+    inFlight = measurements.registerInFlight();
     this.tracer = tracer;
+    measurementPrefix = db.getProperties().getProperty(Measurements.MEASUREMENT_PREFIX_PROPERTY,
+        Measurements.MEASUREMENT_PREFIX_PROPERTY_DEFAULT);
     final String simple = db.getClass().getSimpleName();
     scopeStringCleanup = simple + "#cleanup";
     scopeStringDelete = simple + "#delete";
@@ -67,6 +108,16 @@ public class DBWrapper extends DB {
     scopeStringUpdate = simple + "#update";
   }
 
+  /**
+   * @return how long a request can stay outstanding before it is recorded: the request timeout if one is set,
+   * the drain deadline otherwise, in milliseconds.
+   */
+  static long getOutstandingBoundMs(Properties p) {
+    long timeout = Long.parseLong(p.getProperty(REQUEST_TIMEOUT_PROPERTY, REQUEST_TIMEOUT_PROPERTY_DEFAULT));
+    return timeout > 0 ? timeout : Long.parseLong(p.getProperty(DRAIN_DEADLINE_PROPERTY,
+        DRAIN_DEADLINE_PROPERTY_DEFAULT));
+  }
+
   /**
    * Set the properties for this DB.
    */
@@ -89,6 +140,12 @@ public class DBWrapper extends DB {
     try (final TraceScope span = tracer.newScope(scopeStringInit)) {
       db.init();
 
+      this.drainDeadlineNs = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(getProperties().
+          getProperty(DRAIN_DEADLINE_PROPERTY, DRAIN_DEADLINE_PROPERTY_DEFAULT)));
+
+      this.requestTimeoutNs = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(getProperties().
+          getProperty(REQUEST_TIMEOUT_PROPERTY, REQUEST_TIMEOUT_PROPERTY_DEFAULT)));
+
       this.reportLatencyForEachError = Boolean.parseBoolean(getProperties().
           getProperty(REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY,
               REPORT_LATENCY_FOR_EACH_ERROR_PROPERTY_DEFAULT));
@@ -115,11 +172,8 @@ public class DBWrapper extends DB {
    */
   public void cleanup() throws DBException {
     try (final TraceScope span = tracer.newScope(scopeStringCleanup)) {
-      long ist = measurements.getIntendedStartTimeNs();
-      long st = System.nanoTime();
+      drain();
       db.cleanup();
-      long en = System.nanoTime();
-//      measure("CLEANUP", Status.OK, ist, st, en);
     }
   }
 
@@ -135,11 +189,29 @@ public class DBWrapper extends DB {
    */
   public Status read(String table, String key, Set<String> fields,
                      Map<String, ByteIterator> result, long ist, long st) {
+    OperationContext context = legacyContext(ist);
+    return read(table, key, fields, result, context);
+  }
+
+  @Override
+  public Status read(String table, String key, Set<String> fields,
+                     Map<String, ByteIterator> result, OperationContext context) {
     try (final TraceScope span = tracer.newScope(scopeStringRead)) {
-      ist = measurements.getIntendedStartTimeNs();
-      st = System.nanoTime();
-      Status res = db.read(table, key, fields, result, ist, st);
-      return res;
+      start(context, "READ");
+      if (asyncDb != null) {
+        CompletableFuture<Status> future;
+        try {
+          future = asyncDb.readAsync(table, key, fields, result);
+        } catch (RuntimeException e) {
+          future = failed(e);
+        }
+        return measureOnCompletion(context, future);
+      }
+      try {
+        return db.read(table, key, fields, result, context);
+      } finally {
+        end(context);
+      }
     }
   }
 
@@ -156,11 +228,29 @@ public class DBWrapper extends DB {
    */
   public Status scan(String table, String startkey, int recordcount,
                      Set<String> fields, Vector<HashMap<String, ByteIterator>> result, long ist, long st) {
+    OperationContext context = legacyContext(ist);
+    return scan(table, startkey, recordcount, fields, result, context);
+  }
+
+  @Override
+  public Status scan(String table, String startkey, int recordcount,
+                     Set<String> fields, Vector<HashMap<String, ByteIterator>> result, OperationContext context) {
     try (final TraceScope span = tracer.newScope(scopeStringScan)) {
-      ist = measurements.getIntendedStartTimeNs();
-      st = System.nanoTime();
-      Status res = db.scan(table, startkey, recordcount, fields, result, ist, st);
-      return res;
+      start(context, "SCAN");
+      if (asyncDb != null) {
+        CompletableFuture<Status> future;
+        try {
+          future = asyncDb.scanAsync(table, startkey, recordcount, fields, result);
+        } catch (RuntimeException e) {
+          future = failed(e);
+        }
+        return measureOnCompletion(context, future);
+      }
+      try {
+        return db.scan(table, startkey, recordcount, fields, result, context);
+      } finally {
+        end(context);
+      }
     }
   }
 
@@ -175,11 +265,29 @@ public class DBWrapper extends DB {
    */
   public Status update(String table, String key,
                        Map<String, ByteIterator> values, long ist, long st) {
+    OperationContext context = legacyContext(ist);
+    return update(table, key, values, context);
+  }
+
+  @Override
+  public Status update(String table, String key,
+                       Map<String, ByteIterator> values, OperationContext context) {
     try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
-      ist = measurements.getIntendedStartTimeNs();
-      st = System.nanoTime();
-      Status res = db.update(table, key, values, ist, st);
-      return res;
+      start(context, "UPDATE");
+      if (asyncDb != null) {
+        CompletableFuture<Status> future;
+        try {
+          future = asyncDb.updateAsync(table, key, values);
+        } catch (RuntimeException e) {
+          future = failed(e);
+        }
+        return measureOnCompletion(context, future);
+      }
+      try {
+        return db.update(table, key, values, context);
+      } finally {
+        end(context);
+      }
     }
   }
 
@@ -195,11 +303,29 @@ public class DBWrapper extends DB {
    */
   public Status insert(String table, String key,
                        Map<String, ByteIterator> values, long ist, long st) {
+    OperationContext context = legacyContext(ist);
+    return insert(table, key, values, context);
+  }
+
+  @Override
+  public Status insert(String table, String key,
+                       Map<String, ByteIterator> values, OperationContext context) {
     try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
-      ist = measurements.getIntendedStartTimeNs();
-      st = System.nanoTime();
-      Status res = db.insert(table, key, values, ist, st);
-      return res;
+      start(context, "INSERT");
+      if (asyncDb != null) {
+        CompletableFuture<Status> future;
+        try {
+          future = asyncDb.insertAsync(table, key, values);
+        } catch (RuntimeException e) {
+          future = failed(e);
+        }
+        return measureOnCompletion(context, future);
+      }
+      try {
+        return db.insert(table, key, values, context);
+      } finally {
+        end(context);
+      }
     }
   }
 
@@ -211,11 +337,191 @@ public class DBWrapper extends DB {
    * @return The result of the operation.
    */
   public Status delete(String table, String key, long ist, long st) {
+    OperationContext context = legacyContext(ist);
+    return delete(table, key, context);
+  }
+
+  @Override
+  public Status delete(String table, String key, OperationContext context) {
     try (final TraceScope span = tracer.newScope(scopeStringDelete)) {
-      ist = measurements.getIntendedStartTimeNs();
-      st = System.nanoTime();
-      Status res = db.delete(table, key, ist, st);
-      return res;
+      start(context, "DELETE");
+      if (asyncDb != null) {
+        CompletableFuture<Status> future;
+        try {
+          future = asyncDb.deleteAsync(table, key);
+        } catch (RuntimeException e) {
+          future = failed(e);
+        }
+        return measureOnCompletion(context, future);
+      }
+      try {
+        return db.delete(table, key, context);
+      } finally {
+        end(context);
+      }
+    }
+  }
+
+  /**
+   * Build the context of a call made without one. A workload that predates {@link OperationContext} passes
+   * no intended start time, so take the one its thread left in {@link Measurements}, if any.
+   */
+  @SuppressWarnings("deprecation")
+  private OperationContext legacyContext(long ist) {
+    OperationContext context = new OperationContext();
+    context.setIntendedStartNs(ist != 0 ? ist : measurements.getIntendedStartTimeNs());
+    return context;
+  }
+
+  /**
+   * Mark the operation as sent. The first operation sent for a context reports how far it lags behind its
+   * intended start.
+   */
+  private void start(OperationContext context, String op) {
+    boolean first = context.getStartNs() == 0;
+    context.start(op);
+    if (first && context.hasIntendedStart()) {
+      measurements.measureSchedulerLag((int) ((context.getStartNs() - context.getIntendedStartNs()) / 1000));
+    }
+    inFlight.start();
+    measurements.requestSent(context.getIntendedStartNs());
+    if (context.getListener() != null) {
+      context.getListener().sent();
+    }
+  }
+
+  /**
+   * Mark a synchronous operation as completed.
+   */
+  private void end(OperationContext context) {
+    inFlight.end();
+    if (context.getListener() != null) {
+      context.getListener().completed();
+    }
+    measurements.requestCompleted(context.getIntendedStartNs());
+  }
+
+  /**
+   * @return a future failed with the exception an asynchronous call threw instead of returning a future.
+   */
+  private static CompletableFuture<Status> failed(RuntimeException e) {
+    CompletableFuture<Status> future = new CompletableFuture<>();
+    future.completeExceptionally(e);
+    return future;
+  }
+
+  /**
+   * Record the latency and return code of an asynchronous operation once it completes.
+   *
+   * @return the status if the operation already completed, {@link Status#BATCHED_OK} otherwise.
+   */
+  private Status measureOnCompletion(OperationContext context, CompletableFuture<Status> future) {
+    // the context is recycled before the operation completes
+    String op = context.getOperation();
+    Outstanding operation = new Outstanding(measurementPrefix.isEmpty() ? op : measurementPrefix + op,
+        context.getIntendedStartNs(), context.getStartNs(), context.getListener());
+    outstanding.add(operation);
+    if (requestTimeoutNs > 0) {
+      TimerWheel.shared().schedule(operation, operation.startTimeNanos + requestTimeoutNs);
+    }
+    future.whenComplete(operation);
+    if (!future.isDone()) {
+      return Status.BATCHED_OK;
+    }
+    try {
+      return future.join();
+    } catch (RuntimeException e) {
+      return Status.ERROR;
+    }
+  }
+
+  /**
+   * Wait for the outstanding asynchronous operations until the drain deadline, then record the remaining ones
+   * as timed out.
+   */
+  private void drain() {
+    long deadline = System.nanoTime() + drainDeadlineNs;
+    while (!outstanding.isEmpty() && System.nanoTime() < deadline) {
+      LockSupport.parkNanos(DRAIN_POLL_NS);
+    }
+    long now = System.nanoTime();
+    for (Outstanding operation : outstanding) {
+      operation.timeOut(now);
+    }
+  }
+
+  /**
+   * An asynchronous operation that has been sent and not yet measured. It is measured once, either when it
+   * completes or when it times out, whichever comes first; a response after the timeout is counted as late.
+   */
+  private final class Outstanding extends TimerWheel.Timeout implements BiConsumer<Status, Throwable> {
+    private final String op;
+    private final long intendedStartTimeNanos;
+    private final long startTimeNanos;
+    private final OperationContext.Listener listener;
+    // not private, the field updater of the enclosing class needs access to it on Java 8
+    protected volatile int state = PENDING;
+
+    Outstanding(String op, long intendedStartTimeNanos, long startTimeNanos, OperationContext.Listener listener) {
+      this.op = op;
+      this.intendedStartTimeNanos = intendedStartTimeNanos;
+      this.startTimeNanos = startTimeNanos;
+      this.listener = listener;
+    }
+
+    @Override
+    public void accept(Status status, Throwable error) {
+      long endTimeNanos = System.nanoTime();
+      if (OUTSTANDING_STATE.compareAndSet(this, PENDING, COMPLETED)) {
+        cancel();
+        finish(error != null || status == null ? Status.ERROR : status, endTimeNanos);
+      } else if (state == TIMED_OUT) {
+        measurements.measure(op + "-LATE", (int) ((endTimeNanos - startTimeNanos) / 1000));
+      }
+    }
+
+    /**
+     * The request timeout passed; the operation is recorded at its timeout value.
+     */
+    @Override
+    protected void expire() {
+      timeOut(getDeadlineNs());
+    }
+
+    void timeOut(long endTimeNanos) {
+      if (OUTSTANDING_STATE.compareAndSet(this, PENDING, TIMED_OUT)) {
+        cancel();
+        finish(Status.TIMEOUT, endTimeNanos);
+      }
+    }
+
+    private void finish(Status result, long endTimeNanos) {
+      outstanding.remove(this);
+      inFlight.end();
+      measure(op, result, intendedStartTimeNanos, startTimeNanos, endTimeNanos);
+      measurements.reportStatus(op, result);
+      if (listener != null) {
+        listener.completed();
+      }
+      measurements.requestCompleted(intendedStartTimeNanos);
+    }
+  }
+
+  private void measure(String op, Status result, long intendedStartTimeNanos,
+                       long startTimeNanos, long endTimeNanos) {
+    String measurementName = op;
+    if (result == null || !result.isOk()) {
+      // timeouts are always kept apart, they would skew the latencies of failures
+      if (result != null && (result == Status.TIMEOUT || this.reportLatencyForEachError ||
+          this.latencyTrackedErrors.contains(result.getName()))) {
+        measurementName = op + "-" + result.getName();
+      } else {
+        measurementName = op + "-FAILED";
+      }
     }
+    measurements.measure(measurementName,
+        (int) ((endTimeNanos - startTimeNanos) / 1000), intendedStartTimeNanos);
+    measurements.measureIntended(measurementName,
+        (int) ((endTimeNanos - intendedStartTimeNanos) / 1000), intendedStartTimeNanos);
   }
 }
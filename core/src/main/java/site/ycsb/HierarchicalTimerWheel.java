@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timer wheel for a large number of timers owned by one thread.
+ * <p>
+ * Each level has {@value #SLOTS} slots; a slot of level 0 covers one tick, a slot of each higher level covers a
+ * whole turn of the level below, so four levels cover {@code 64^4} ticks. A timer is placed on the lowest level
+ * whose turn reaches its deadline and moves down a level each time the wheel reaches its slot, so scheduling
+ * and expiring take constant time however many timers there are. Timers are linked into the slots directly,
+ * so the wheel does not allocate. It is not thread-safe: timers are scheduled and expired by the thread that
+ * advances the wheel.
+ */
+final class HierarchicalTimerWheel {
+  private static final int LEVEL_BITS = 6;
+  private static final int SLOTS = 1 << LEVEL_BITS;
+  private static final int MASK = SLOTS - 1;
+  private static final int LEVELS = 4;
+  /** The farthest a timer can be placed, in ticks; later ones are placed here and placed again on the way. */
+  private static final long SPAN = 1L << (LEVEL_BITS * LEVELS);
+
+  /**
+   * A timer of the wheel. A timer is in at most one wheel at a time.
+   */
+  abstract static class Timer {
+    private long tick;
+    private Timer next;
+    private boolean scheduled;
+
+    /**
+     * @return whether the timer is waiting in a wheel.
+     */
+    boolean isScheduled() {
+      return scheduled;
+    }
+  }
+
+  private final long tickNs;
+  private final long originNs;
+  private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+  /** The next tick to expire; timers of earlier ticks have all expired. */
+  private long currentTick;
+  private int size;
+
+  /**
+   * @param tickNs   the resolution of the wheel
+   * @param originNs the time of tick 0
+   */
+  HierarchicalTimerWheel(long tickNs, long originNs) {
+    this.tickNs = tickNs;
+    this.originNs = originNs;
+  }
+
+  /**
+   * Schedule a timer. A deadline that has passed expires on the next advance.
+   */
+  void schedule(Timer timer, long deadlineNs) {
+    if (timer.scheduled) {
+      throw new IllegalStateException("the timer is already scheduled");
+    }
+    long offset = deadlineNs - originNs;
+    // round up, so a timer never expires before its deadline
+    timer.tick = Math.max(currentTick, offset <= 0 ? 0 : (offset + tickNs - 1) / tickNs);
+    timer.scheduled = true;
+    place(timer);
+    size++;
+  }
+
+  private void place(Timer timer) {
+    long tick = Math.min(timer.tick, currentTick + SPAN - 1);
+    long delta = tick - currentTick;
+    int level = 0;
+    while (delta >= 1L << (LEVEL_BITS * (level + 1))) {
+      level++;
+    }
+    int slot = (int) (tick >>> (LEVEL_BITS * level)) & MASK;
+    timer.next = slots[level][slot];
+    slots[level][slot] = timer;
+  }
+
+  /**
+   * Expire the timers whose deadline is up to the given time, in the order of their ticks.
+   *
+   * @param expired told about each expired timer, which may schedule it again
+   */
+  void advance(long nowNs, Consumer<Timer> expired) {
+    long target = (nowNs - originNs) / tickNs;
+    while (currentTick <= target && size > 0) {
+      if ((currentTick & MASK) == 0) {
+        // move the timers of the coming turn down a level
+        for (int level = 1; level < LEVELS && (currentTick & ((1L << (LEVEL_BITS * level)) - 1)) == 0; level++) {
+          int slot = (int) (currentTick >>> (LEVEL_BITS * level)) & MASK;
+          Timer timer = slots[level][slot];
+          slots[level][slot] = null;
+          while (timer != null) {
+            Timer next = timer.next;
+            place(timer);
+            timer = next;
+          }
+        }
+      }
+      int slot = (int) currentTick & MASK;
+      Timer timer = slots[0][slot];
+      slots[0][slot] = null;
+      currentTick++;
+      while (timer != null) {
+        Timer next = timer.next;
+        timer.next = null;
+        if (timer.tick >= currentTick) {
+          // placed at the edge of the wheel, not yet due
+          place(timer);
+        } else {
+          timer.scheduled = false;
+          size--;
+          expired.accept(timer);
+        }
+        timer = next;
+      }
+    }
+    if (size == 0 && currentTick <= target) {
+      currentTick = target + 1;
+    }
+  }
+
+  /**
+   * @return a time by which the wheel should next be advanced: the deadline of the earliest timer on the
+   * current turn, otherwise the start of the next turn, or Long.MAX_VALUE if no timer is scheduled.
+   */
+  long nextDeadlineNs() {
+    if (size == 0) {
+      return Long.MAX_VALUE;
+    }
+    long tick = currentTick;
+    do {
+      if (slots[0][(int) tick & MASK] != null) {
+        break;
+      }
+      tick++;
+    } while ((tick & MASK) != 0);
+    return originNs + tick * tickNs;
+  }
+
+  /**
+   * @return the number of scheduled timers.
+   */
+  int size() {
+    return size;
+  }
+}
@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.generator.ExponentialGenerator;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursty arrivals following a Markov-modulated Poisson process.
+ * <p>
+ * A two state Markov chain alternates between a LOW and a HIGH state. The time spent in each state is
+ * exponentially distributed with a configurable mean, and while in a state operations arrive as a Poisson
+ * process at the base rate multiplied by the factor of that state. A low factor of zero gives an on-off
+ * source. The long-run average rate is the dwell-weighted average of the two factors times the base rate.
+ * <p>
+ * The state is shared by every stream derived from the process, so all client threads burst together.
+ * Latencies are additionally recorded per state the operation was intended to start in, e.g. as
+ * [READ-MMPP-HIGH], and the time spent in each state is exported as the [MMPP] measurement.
+ * <p>
+ * Properties:
+ * <UL>
+ * <LI><b>mmpp.lowfactor</b>: rate multiplier in the LOW state (default: 0.5)
+ * <LI><b>mmpp.highfactor</b>: rate multiplier in the HIGH state (default: 4)
+ * <LI><b>mmpp.lowdwellms</b>: mean time spent in the LOW state, in milliseconds (default: 1000)
+ * <LI><b>mmpp.highdwellms</b>: mean time spent in the HIGH state, in milliseconds (default: 100)
+ * </UL>
+ */
+public class MmppArrivalProcess extends ArrivalProcess implements Measurements.PhaseSource {
+  public static final String LOW_FACTOR_PROPERTY = "mmpp.lowfactor";
+  public static final String LOW_FACTOR_PROPERTY_DEFAULT = "0.5";
+
+  public static final String HIGH_FACTOR_PROPERTY = "mmpp.highfactor";
+  public static final String HIGH_FACTOR_PROPERTY_DEFAULT = "4";
+
+  public static final String LOW_DWELL_PROPERTY = "mmpp.lowdwellms";
+  public static final String LOW_DWELL_PROPERTY_DEFAULT = "1000";
+
+  public static final String HIGH_DWELL_PROPERTY = "mmpp.highdwellms";
+  public static final String HIGH_DWELL_PROPERTY_DEFAULT = "100";
+
+  private static final int LOW = 0;
+  private static final int HIGH = 1;
+  private static final String[] STATE_NAMES = {"MMPP-LOW", "MMPP-HIGH"};
+  /** How many states are kept to tag operations that complete after the chain moved on. */
+  private static final int RECENT_STATES = 16;
+
+  private final double[] factors = new double[2];
+  private final ExponentialGenerator[] dwells = new ExponentialGenerator[2];
+  private final long[] timeInStateNs = new long[2];
+  private final Measurements measurements;
+
+  private volatile int state = LOW;
+  private volatile long stateStartNs = Long.MAX_VALUE;
+  private volatile long stateEndNs = Long.MIN_VALUE;
+  private volatile long transitions;
+  private volatile Segment recent;
+
+  /**
+   * A state of the chain from its start time, linked to the states before it, newest first.
+   */
+  private static final class Segment {
+    private final long startNs;
+    private final int state;
+    private volatile Segment previous;
+
+    Segment(long startNs, int state, Segment previous) {
+      this.startNs = startNs;
+      this.state = state;
+      this.previous = previous;
+    }
+  }
+
+  /**
+   * @param p         the properties of the run
+   * @param opsPerSec the base rate of the process
+   */
+  public MmppArrivalProcess(Properties p, double opsPerSec) {
+    super(new ExponentialGenerator(1.0), opsPerSec);
+    factors[LOW] = Double.parseDouble(p.getProperty(LOW_FACTOR_PROPERTY, LOW_FACTOR_PROPERTY_DEFAULT));
+    factors[HIGH] = Double.parseDouble(p.getProperty(HIGH_FACTOR_PROPERTY, HIGH_FACTOR_PROPERTY_DEFAULT));
+    if (factors[LOW] < 0 || factors[HIGH] <= 0) {
+      throw new IllegalArgumentException(LOW_FACTOR_PROPERTY + " must not be negative and "
+          + HIGH_FACTOR_PROPERTY + " must be positive");
+    }
+    dwells[LOW] = new ExponentialGenerator((double) TimeUnit.MILLISECONDS.toNanos(
+        Long.parseLong(p.getProperty(LOW_DWELL_PROPERTY, LOW_DWELL_PROPERTY_DEFAULT))));
+    dwells[HIGH] = new ExponentialGenerator((double) TimeUnit.MILLISECONDS.toNanos(
+        Long.parseLong(p.getProperty(HIGH_DWELL_PROPERTY, HIGH_DWELL_PROPERTY_DEFAULT))));
+    measurements = Measurements.getMeasurements();
+    measurements.addMeasurement(new StateMeasurement());
+    measurements.addPhaseSource(this);
+  }
+
+  @Override
+  protected double rateAt(long nowNs) {
+    return super.rateAt(nowNs) * factors[stateAt(nowNs)];
+  }
+
+  @Override
+  protected boolean isVariable() {
+    return true;
+  }
+
+  @Override
+  protected long nextActiveNs(long nowNs) {
+    if (factors[stateAt(nowNs)] == 0) {
+      // an off state ends when its dwell time is up
+      return stateEndNs;
+    }
+    return super.nextActiveNs(nowNs);
+  }
+
+  /**
+   * The state in effect at the given time. The chain only moves forward, so a time before the start of
+   * the current state, e.g. from a lagging thread, maps to the current state.
+   */
+  private int stateAt(long nowNs) {
+    if (nowNs < stateEndNs) {
+      return state;
+    }
+    synchronized (this) {
+      if (stateStartNs == Long.MAX_VALUE) {
+        stateStartNs = nowNs;
+        stateEndNs = nowNs + dwells[LOW].nextValue().longValue();
+        remember(stateStartNs, LOW);
+      }
+      while (nowNs >= stateEndNs) {
+        int next = 1 - state;
+        timeInStateNs[state] += stateEndNs - stateStartNs;
+        stateStartNs = stateEndNs;
+        stateEndNs = stateStartNs + dwells[next].nextValue().longValue();
+        state = next;
+        transitions++;
+        remember(stateStartNs, next);
+      }
+      return state;
+    }
+  }
+
+  private void remember(long startNs, int newState) {
+    Segment segment = new Segment(startNs, newState, recent);
+    Segment last = segment;
+    for (int i = 1; i < RECENT_STATES && last.previous != null; i++) {
+      last = last.previous;
+    }
+    last.previous = null;
+    recent = segment;
+  }
+
+  /**
+   * Tag an operation with the state it was intended to start in, not the state at its completion.
+   */
+  @Override
+  public String phaseAt(long intendedStartNs) {
+    Segment segment = recent;
+    if (segment == null) {
+      return null;
+    }
+    while (intendedStartNs < segment.startNs && segment.previous != null) {
+      segment = segment.previous;
+    }
+    return STATE_NAMES[segment.state];
+  }
+
+  /**
+   * @return the time spent in the given state so far, in nanoseconds.
+   */
+  private synchronized long getTimeInStateNs(int s) {
+    long total = timeInStateNs[s];
+    if (s == state && stateStartNs != Long.MAX_VALUE) {
+      total += Math.max(0, System.nanoTime() - stateStartNs);
+    }
+    return total;
+  }
+
+  /**
+   * Reports the state of the chain alongside the latencies.
+   */
+  private final class StateMeasurement extends OneMeasurement {
+    StateMeasurement() {
+      super("MMPP");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the state is tracked by the arrival process
+    }
+
+    @Override
+    public String getSummary() {
+      return "[MMPP: State=" + STATE_NAMES[state] + ", Transitions=" + transitions + "]";
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      long low = TimeUnit.NANOSECONDS.toMillis(getTimeInStateNs(LOW));
+      long high = TimeUnit.NANOSECONDS.toMillis(getTimeInStateNs(HIGH));
+      exporter.write(getName(), "Transitions", transitions);
+      exporter.write(getName(), "LowTime(ms)", low);
+      exporter.write(getName(), "HighTime(ms)", high);
+      if (low + high > 0) {
+        exporter.write(getName(), "HighTimeFraction", (double) high / (low + high));
+      }
+    }
+  }
+}
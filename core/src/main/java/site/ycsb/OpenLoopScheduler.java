@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Issues operations at the intended start times of the target rate, independent of when earlier
+ * operations return.
+ * <p>
+ * The scheduler runs on its own thread, computes the intended start time of every operation from the
+ * target rate and hands it to the client threads, which act as a dispatch pool. A client thread that calls
+ * a synchronous binding is busy until the call returns, so with such a binding the run is a closed loop of
+ * threadcount outstanding operations whose latencies are corrected for coordinated omission: operations
+ * that wait for a free thread are charged the wait in the intended latency measurements. Only an
+ * asynchronous binding ({@link AsyncDB}) frees the thread as soon as the request is sent, which makes the
+ * offered load truly independent of the responses. With {@link OperationRates} the scheduler merges the
+ * streams of the operation types and hands out each operation with its type.
+ * <p>
+ * Due operations wait in a bounded ring of start times. When openloop.backlog operations are waiting, the
+ * scheduler waits for a free slot; the start times it issues afterwards still follow the schedule, so the
+ * backlog is charged to the intended latencies without memory growing with the overload.
+ */
+public class OpenLoopScheduler extends Thread {
+  /**
+   * Whether to drive the run with an open-loop scheduler. Requires a target.
+   */
+  public static final String OPEN_LOOP_PROPERTY = "openloop";
+  public static final String OPEN_LOOP_PROPERTY_DEFAULT = "false";
+
+  /** The largest number of due operations waiting for a free client thread. */
+  public static final String BACKLOG_PROPERTY = "openloop.backlog";
+  public static final String BACKLOG_PROPERTY_DEFAULT = "65536";
+
+  /** How long a waiting thread sleeps before checking for a stop request. */
+  private static final long POLL_INTERVAL_MS = 100;
+
+  /** Contexts are only held while an operation is issued, so the pool needs about one per thread. */
+  private static final int CONTEXT_POOL_SIZE = 1024;
+
+  // the ring of due operations: their intended start times and, with rates, their types
+  private final long[] dueNs;
+  private final String[] dueOps;
+  private int head;
+  private int size;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+
+  private final OperationContext.Pool contexts = new OperationContext.Pool(CONTEXT_POOL_SIZE);
+  private final OperationContext claim = new OperationContext();
+  private final Workload workload;
+  private final Measurements measurements;
+  private final long opcount;
+  private final ArrivalProcess arrivals;
+  private final OperationRates rates;
+
+  private volatile boolean finished;
+  private volatile long skipToNs = Long.MIN_VALUE;
+  private volatile long issued;
+  private volatile int maxBacklog;
+
+  /**
+   * @param workload    the workload, polled for stop requests
+   * @param opcount     the number of measured operations to issue, 0 for unlimited
+   * @param arrivals    the arrival process for the aggregate offered load
+   */
+  public OpenLoopScheduler(Workload workload, long opcount, ArrivalProcess arrivals) {
+    this(workload, opcount, arrivals, null, Integer.parseInt(BACKLOG_PROPERTY_DEFAULT));
+  }
+
+  /**
+   * @param workload    the workload, polled for stop requests
+   * @param opcount     the number of measured operations to issue, 0 for unlimited
+   * @param arrivals    the arrival process for the aggregate offered load, unused if rates are given
+   * @param rates       the streams of operation types with their own target, or null
+   * @param backlog     the largest number of due operations waiting for a free client thread
+   */
+  public OpenLoopScheduler(Workload workload, long opcount, ArrivalProcess arrivals, OperationRates rates,
+                           int backlog) {
+    super("OpenLoopScheduler");
+    if (backlog <= 0) {
+      throw new IllegalArgumentException("unknown " + BACKLOG_PROPERTY + "=" + backlog);
+    }
+    setDaemon(true);
+    this.workload = workload;
+    this.opcount = opcount;
+    this.arrivals = arrivals;
+    this.rates = rates;
+    dueNs = new long[backlog];
+    dueOps = new String[backlog];
+    measurements = Measurements.getMeasurements();
+  }
+
+  @Override
+  public void run() {
+    long deadline = System.nanoTime();
+    long measured = 0;
+    while (!workload.isStopRequested() && (opcount == 0 || measured < opcount)) {
+      String op = null;
+      if (rates != null) {
+        deadline = rates.claim(claim);
+        op = claim.getRequestedOperation();
+      }
+      if (deadline == ArrivalProcess.NEVER) {
+        // the rate stays at zero unless it is changed, so check back now and then
+        PacingTimer.pause(PacingTimer.STOP_POLL_NS, workload);
+        if (rates == null) {
+          deadline = arrivals.nextIntendedStartNs(deadline);
+        }
+        continue;
+      }
+      if (!PacingTimer.sleepUntil(deadline, workload)) {
+        break;
+      }
+      if (enqueue(deadline, op)) {
+        issued++;
+        if (measurements.isWarmupFinished()) {
+          measured++;
+        }
+      } else if (workload.isStopRequested() || Thread.currentThread().isInterrupted()) {
+        break;
+      }
+      if (rates == null) {
+        deadline = arrivals.nextIntendedStartNs(deadline);
+      }
+    }
+    finished = true;
+  }
+
+  /**
+   * Add a due operation to the ring, waiting while the ring is full. An operation due before a skip is
+   * dropped like the backlog.
+   *
+   * @return false if the operation was dropped or the workload stopped while waiting.
+   */
+  private boolean enqueue(long intendedStartNs, String op) {
+    lock.lock();
+    try {
+      while (size == dueNs.length) {
+        if (workload.isStopRequested()) {
+          return false;
+        }
+        notFull.await(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      }
+      if (intendedStartNs < skipToNs) {
+        return false;
+      }
+      int tail = (head + size) % dueNs.length;
+      dueNs[tail] = intendedStartNs;
+      dueOps[tail] = op;
+      size++;
+      if (size > maxBacklog) {
+        maxBacklog = size;
+      }
+      notEmpty.signal();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Block until the next operation is due.
+   *
+   * @return the context of the operation with its intended start time, to be released once it has been
+   * issued, or null if the run is over.
+   */
+  OperationContext nextOperation() {
+    long intendedStartNs;
+    String op;
+    lock.lock();
+    try {
+      while (size == 0) {
+        if (workload.isStopRequested() || finished) {
+          return null;
+        }
+        notEmpty.await(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      }
+      if (workload.isStopRequested()) {
+        return null;
+      }
+      intendedStartNs = dueNs[head];
+      op = dueOps[head];
+      dueOps[head] = null;
+      head = (head + 1) % dueNs.length;
+      size--;
+      notFull.signal();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      lock.unlock();
+    }
+    OperationContext context = contexts.acquire(intendedStartNs);
+    context.setRequestedOperation(op);
+    return context;
+  }
+
+  /**
+   * Drop the operations that are due but not yet taken by a client thread, e.g. when the rate changes and
+   * the backlog of an overloaded rate should not count against the next one.
+   */
+  void discardBacklog() {
+    lock.lock();
+    try {
+      for (int i = 0; i < size; i++) {
+        dueOps[(head + i) % dueNs.length] = null;
+      }
+      head = 0;
+      size = 0;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Drop the operations intended to start before the given time, along with the arrival process the
+   * scheduler follows, e.g. so the backlog of an overloaded rate does not spill into the next measurement.
+   *
+   * @see ArrivalProcess#skipTo(long)
+   */
+  public void skipTo(long nowNs) {
+    skipToNs = nowNs;
+    discardBacklog();
+  }
+
+  /**
+   * @return the number of operations issued so far.
+   */
+  public long getIssued() {
+    return issued;
+  }
+
+  /**
+   * @return the largest number of issued operations that were waiting for a free client thread.
+   */
+  public int getMaxBacklog() {
+    return maxBacklog;
+  }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * The timing of one operation, carried explicitly from the {@link ClientThread} that issues it through the
+ * {@link Workload} and {@link DBWrapper} to the binding.
+ * <p>
+ * The client thread sets the intended start time, when the operation should have started according to
+ * the target throughput, and {@link DBWrapper} sets the operation type and the time the request is sent.
+ * The wrapper takes the values it measures with when it dispatches the operation, so the latency of an
+ * operation that completes on another thread is accounted for correctly. Contexts are recycled through a
+ * {@link Pool} and are only valid until the call that received them returns; a binding that needs the
+ * timing afterwards must copy it.
+ */
+public final class OperationContext {
+  private final Pool pool;
+  private String operation;
+  private String requestedOperation;
+  private long intendedStartNs;
+  private long startNs;
+  private Listener listener;
+
+  /**
+   * Create a context for an operation that is not throttled, whose intended start is its actual start.
+   */
+  public OperationContext() {
+    this(null);
+  }
+
+  private OperationContext(Pool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Record that the operation is being sent now.
+   *
+   * @param op the operation type, e.g. READ
+   */
+  public void start(String op) {
+    operation = op;
+    startNs = System.nanoTime();
+  }
+
+  /**
+   * @return the operation type, or null before the operation is sent.
+   */
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * @return the operation the workload should run, e.g. READ, or null to let the workload choose.
+   */
+  public String getRequestedOperation() {
+    return requestedOperation;
+  }
+
+  /**
+   * @param op the operation the workload should run, e.g. for a stream with its own target rate, or null
+   *           to let the workload choose
+   */
+  public void setRequestedOperation(String op) {
+    this.requestedOperation = op;
+  }
+
+  /**
+   * @return the time the operation should have started, or the time it was sent if it was not throttled.
+   */
+  public long getIntendedStartNs() {
+    return intendedStartNs == 0 ? startNs : intendedStartNs;
+  }
+
+  /**
+   * @param intended the time the operation should have started, 0 if it was not throttled
+   */
+  public void setIntendedStartNs(long intended) {
+    this.intendedStartNs = intended;
+  }
+
+  /**
+   * @return whether the operation has an intended start time, i.e. it is throttled.
+   */
+  public boolean hasIntendedStart() {
+    return intendedStartNs != 0;
+  }
+
+  /**
+   * @return the time the operation was sent.
+   */
+  public long getStartNs() {
+    return startNs;
+  }
+
+  /**
+   * @return the listener told about the requests of the operation, or null.
+   */
+  public Listener getListener() {
+    return listener;
+  }
+
+  /**
+   * @param requestListener told about the requests of the operation, or null
+   */
+  public void setListener(Listener requestListener) {
+    this.listener = requestListener;
+  }
+
+  /**
+   * Return the context to its pool once the operation has been issued.
+   */
+  public void release() {
+    if (pool != null) {
+      operation = null;
+      requestedOperation = null;
+      intendedStartNs = 0;
+      startNs = 0;
+      listener = null;
+      pool.free.offer(this);
+    }
+  }
+
+  /**
+   * Told about the database requests of an operation, which may be several, e.g. for a read-modify-write.
+   * {@link DBWrapper} copies the listener when it sends a request, so it is told even after the context has
+   * been recycled.
+   */
+  public interface Listener {
+    /**
+     * A request of the operation is being sent.
+     */
+    void sent();
+
+    /**
+     * A request of the operation completed or timed out, possibly on another thread.
+     */
+    void completed();
+  }
+
+  /**
+   * A bounded set of reusable contexts, so issuing an operation does not allocate.
+   */
+  public static final class Pool {
+    private final ArrayBlockingQueue<OperationContext> free;
+
+    /**
+     * @param capacity the largest number of idle contexts kept for reuse
+     */
+    public Pool(int capacity) {
+      free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @param intendedStartNs the time the operation should start, 0 if it is not throttled
+     * @return a context for a new operation.
+     */
+    public OperationContext acquire(long intendedStartNs) {
+      OperationContext context = free.poll();
+      if (context == null) {
+        context = new OperationContext(this);
+      }
+      context.intendedStartNs = intendedStartNs;
+      return context;
+    }
+  }
+}
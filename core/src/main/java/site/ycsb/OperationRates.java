@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Independent target rates for the operation types of a workload, e.g. 50000 reads/s plus 2000 updates/s.
+ * <p>
+ * Every operation type given a target.&lt;op&gt; property gets its own {@link ArrivalProcess}, so the rate
+ * of one type can be held while another is changed. The client threads claim from whichever stream is due
+ * next and ask the workload for that operation type through {@link OperationContext#setRequestedOperation},
+ * replacing the proportions of the operation mix. The arrival distribution applies to each stream.
+ */
+public final class OperationRates {
+  /**
+   * The prefix of the properties for the target rate of one operation type, e.g. target.read.
+   */
+  public static final String TARGET_PROPERTY_PREFIX = "target.";
+
+  /**
+   * The operation types that can be given their own target, as named by the workload.
+   */
+  public static final List<String> OPERATIONS = Collections.unmodifiableList(Arrays.asList(
+      "READ", "UPDATE", "INSERT", "SCAN", "READMODIFYWRITE"));
+
+  private final String[] operations;
+  private final ArrivalProcess[] streams;
+  private volatile boolean started;
+
+  OperationRates(Map<String, ArrivalProcess> streams) {
+    this.operations = streams.keySet().toArray(new String[0]);
+    this.streams = streams.values().toArray(new ArrivalProcess[0]);
+  }
+
+  /**
+   * @return whether any operation type has its own target.
+   * @throws IllegalArgumentException if a target is not a number or is negative
+   */
+  public static boolean isConfigured(Properties p) {
+    for (String op : OPERATIONS) {
+      if (getTarget(p, op) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Create the per-operation streams configured by the properties. A target of zero leaves the operation
+   * type out, like no target at all.
+   *
+   * @return the streams, or null if no operation type has its own target.
+   * @throws IllegalArgumentException if a target is not a number or is negative
+   */
+  public static OperationRates create(Properties p) {
+    Map<String, ArrivalProcess> streams = new LinkedHashMap<>();
+    for (String op : OPERATIONS) {
+      double rate = getTarget(p, op);
+      if (rate > 0) {
+        streams.put(op, ArrivalProcess.create(p, rate));
+      }
+    }
+    return streams.isEmpty() ? null : new OperationRates(streams);
+  }
+
+  /**
+   * @return the target of the operation type, or 0 if it has none.
+   */
+  private static double getTarget(Properties p, String op) {
+    String property = TARGET_PROPERTY_PREFIX + op.toLowerCase(Locale.ROOT);
+    String value = p.getProperty(property);
+    if (value == null) {
+      return 0;
+    }
+    double rate;
+    try {
+      rate = Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("unknown " + property + "=" + value);
+    }
+    if (!(rate >= 0)) {
+      throw new IllegalArgumentException("unknown " + property + "=" + value);
+    }
+    return rate;
+  }
+
+  /**
+   * Claim the earliest due slot across the streams for the next operation.
+   *
+   * @param context the context of the operation, given the intended start time and the operation type
+   * @return the intended start time of the claimed operation
+   */
+  public long claim(OperationContext context) {
+    if (!started) {
+      start();
+    }
+    int earliest = 0;
+    long earliestNs = streams[0].peekIntendedStartNs();
+    for (int i = 1; i < streams.length; i++) {
+      long next = streams[i].peekIntendedStartNs();
+      if (next < earliestNs) {
+        earliest = i;
+        earliestNs = next;
+      }
+    }
+    // another thread may claim in between; the slot is still the next one of that stream
+    long slot = streams[earliest].claimIntendedStartNs();
+    context.setIntendedStartNs(slot);
+    context.setRequestedOperation(operations[earliest]);
+    return slot;
+  }
+
+  /**
+   * Start all streams at the same time, so that their slots interleave from a common origin.
+   */
+  private synchronized void start() {
+    if (!started) {
+      long now = System.nanoTime();
+      for (ArrivalProcess stream : streams) {
+        stream.startAt(now);
+      }
+      started = true;
+    }
+  }
+
+  /**
+   * @return the operation types with their own target, in the order of {@link #OPERATIONS}.
+   */
+  public List<String> getOperations() {
+    List<String> ops = new ArrayList<>(operations.length);
+    Collections.addAll(ops, operations);
+    return ops;
+  }
+
+  /**
+   * @param op the operation type, e.g. READ
+   * @return the stream of the operation type, whose rate can be changed on its own, or null if the type
+   * has no target.
+   */
+  public ArrivalProcess getStream(String op) {
+    for (int i = 0; i < operations.length; i++) {
+      if (operations[i].equals(op)) {
+        return streams[i];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Drop the arrivals of every stream that were intended to start before the given time.
+   */
+  public void skipTo(long nowNs) {
+    for (ArrivalProcess stream : streams) {
+      stream.skipTo(nowNs);
+    }
+  }
+
+  /**
+   * @return the sum of the current rates of the streams in operations per second.
+   */
+  public double getTotalRate() {
+    double total = 0;
+    for (ArrivalProcess stream : streams) {
+      total += stream.getRate();
+    }
+    return total;
+  }
+}
@@ -0,0 +1,240 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurementWakeupError;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sleeps until the intended start of the next operation.
+ * <p>
+ * Parking alone oversleeps by tens of microseconds on a typical Linux kernel, which caps how precisely a thread
+ * can pace more than a few thousand operations per second; spinning alone costs a core per thread. The timer
+ * supports three modes:
+ * <UL>
+ * <LI><b>park</b>: parks until the deadline (default)
+ * <LI><b>hybrid</b>: parks until a safety margin before the deadline, then spins. The margin starts at the
+ * 99th percentile park overshoot measured at startup and follows the overshoots of the run, so it widens when
+ * the machine gets busy
+ * <LI><b>spin</b>: spins until the deadline, as with spin.sleep=true
+ * </UL>
+ * How late each pacing sleep that parked or spun wakes up is recorded under PACING-TIMER once the warmup is
+ * over. A deadline that had already passed when the sleep was asked for is the lag of the caller, not an error
+ * of the timer, and {@link #pause} sleeps are not recorded at all.
+ */
+public final class PacingTimer {
+  /**
+   * The name of the property for the mode of the timer: hybrid, park or spin.
+   */
+  public static final String PACING_TIMER_PROPERTY = "pacing.timer";
+
+  /**
+   * The default mode of the timer.
+   */
+  public static final String PACING_TIMER_PROPERTY_DEFAULT = "park";
+
+  /**
+   * The legacy property to spin instead of park.
+   */
+  public static final String SPIN_SLEEP_PROPERTY = "spin.sleep";
+
+  /**
+   * How often a long sleep checks whether the workload has stopped, in nanoseconds.
+   */
+  public static final long STOP_POLL_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static final int CALIBRATION_SAMPLES = 200;
+  private static final long CALIBRATION_PARK_NS = TimeUnit.MICROSECONDS.toNanos(50);
+  private static final long MAX_SPIN_MARGIN_NS = TimeUnit.MILLISECONDS.toNanos(1);
+  /** How fast the margin widens to a larger overshoot, as the inverse of the step taken towards it. */
+  private static final long MARGIN_RISE = 4;
+  /** How fast the margin narrows when parking wakes up within it, as the inverse of the step. */
+  private static final long MARGIN_DECAY = 1024;
+
+  private static volatile boolean park = true;
+  private static volatile boolean spin;
+  private static volatile long spinMarginNs;
+  private static volatile OneMeasurementWakeupError wakeupError;
+  private static volatile Measurements measurements;
+
+  private PacingTimer() {
+    // utility class
+  }
+
+  /**
+   * Choose the mode of the timer, calibrate it and register its measurement. Until then the timer parks.
+   *
+   * @throws IllegalArgumentException if the mode is unknown
+   */
+  public static void configure(Properties p) {
+    String mode = p.getProperty(PACING_TIMER_PROPERTY);
+    if (mode == null) {
+      if (Boolean.parseBoolean(p.getProperty(SPIN_SLEEP_PROPERTY, "false"))) {
+        mode = "spin";
+      } else {
+        mode = PACING_TIMER_PROPERTY_DEFAULT;
+      }
+    }
+    switch (mode) {
+    case "hybrid":
+      spinMarginNs = calibrate();
+      park = true;
+      spin = true;
+      break;
+    case "park":
+      spinMarginNs = 0;
+      park = true;
+      spin = false;
+      break;
+    case "spin":
+      spinMarginNs = Long.MAX_VALUE;
+      park = false;
+      spin = true;
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + PACING_TIMER_PROPERTY + "=" + mode);
+    }
+    OneMeasurementWakeupError measurement = new OneMeasurementWakeupError("PACING-TIMER", mode,
+        () -> park && spin ? spinMarginNs : 0);
+    // a measurement registered by an earlier configuration stays in place
+    measurements = Measurements.getMeasurements();
+    wakeupError = (OneMeasurementWakeupError) measurements.addMeasurement(measurement);
+  }
+
+  /**
+   * Measure how far parking overshoots a short deadline on this machine.
+   *
+   * @return the 99th percentile overshoot in nanoseconds, capped at one millisecond.
+   */
+  static long calibrate() {
+    long[] overshoots = new long[CALIBRATION_SAMPLES];
+    for (int i = 0; i < overshoots.length; i++) {
+      long deadline = System.nanoTime() + CALIBRATION_PARK_NS;
+      LockSupport.parkNanos(CALIBRATION_PARK_NS);
+      overshoots[i] = Math.max(0, System.nanoTime() - deadline);
+    }
+    Arrays.sort(overshoots);
+    return Math.min(overshoots[(int) (overshoots.length * 0.99)], MAX_SPIN_MARGIN_NS);
+  }
+
+  /**
+   * @return how long before a deadline the timer stops parking and spins, in nanoseconds.
+   */
+  public static long getSpinMarginNs() {
+    return spinMarginNs;
+  }
+
+  /**
+   * Sleep until the given time. Returns at once if it has passed.
+   *
+   * @param deadlineNs the time to wake up, in terms of {@link System#nanoTime()}
+   */
+  public static void sleepUntil(long deadlineNs) {
+    long now = System.nanoTime();
+    if (now >= deadlineNs) {
+      return;
+    }
+    now = sleep(now, deadlineNs);
+    OneMeasurementWakeupError error = wakeupError;
+    if (error != null && measurements.isWarmupFinished()) {
+      error.measure((int) Math.min(Integer.MAX_VALUE, now - deadlineNs));
+    }
+  }
+
+  /**
+   * @return the time the sleep ended.
+   */
+  private static long sleep(long now, long deadlineNs) {
+    if (park) {
+      long parkUntil = spin ? deadlineNs - spinMarginNs : deadlineNs;
+      if (now < parkUntil) {
+        while (now < parkUntil) {
+          LockSupport.parkNanos(parkUntil - now);
+          now = System.nanoTime();
+        }
+        if (spin) {
+          adaptSpinMargin(now - parkUntil);
+        }
+      }
+    }
+    if (spin) {
+      while (now < deadlineNs) {
+        now = System.nanoTime();
+      }
+    }
+    return now;
+  }
+
+  /**
+   * Follow the overshoots of parking during the run: widen the margin quickly towards an overshoot beyond it,
+   * and narrow it slowly otherwise, so it tracks a high percentile of the overshoots as the load changes.
+   */
+  private static void adaptSpinMargin(long overshootNs) {
+    long margin = spinMarginNs;
+    if (overshootNs > margin) {
+      spinMarginNs = Math.min(margin + (overshootNs - margin) / MARGIN_RISE, MAX_SPIN_MARGIN_NS);
+    } else {
+      spinMarginNs = margin - margin / MARGIN_DECAY;
+    }
+  }
+
+  /**
+   * Sleep until the given time, or until the workload is asked to stop, whichever comes first.
+   *
+   * @param deadlineNs the time to wake up, in terms of {@link System#nanoTime()}
+   * @param workload   the workload, polled for stop requests
+   * @return false if the workload was asked to stop.
+   */
+  public static boolean sleepUntil(long deadlineNs, Workload workload) {
+    return sleepUntil(deadlineNs, workload, true);
+  }
+
+  /**
+   * Sleep for the given time without recording the wakeup, e.g. to poll or to spread out the start of threads,
+   * or until the workload is asked to stop, whichever comes first.
+   *
+   * @param durationNs how long to sleep, in nanoseconds
+   * @param workload   the workload, polled for stop requests
+   * @return false if the workload was asked to stop.
+   */
+  public static boolean pause(long durationNs, Workload workload) {
+    return sleepUntil(System.nanoTime() + durationNs, workload, false);
+  }
+
+  private static boolean sleepUntil(long deadlineNs, Workload workload, boolean recorded) {
+    long now = System.nanoTime();
+    while (deadlineNs - now > STOP_POLL_NS) {
+      if (workload.isStopRequested()) {
+        return false;
+      }
+      LockSupport.parkNanos(STOP_POLL_NS);
+      now = System.nanoTime();
+    }
+    if (recorded) {
+      sleepUntil(deadlineNs);
+    } else if (now < deadlineNs) {
+      sleep(now, deadlineNs);
+    }
+    return !workload.isStopRequested();
+  }
+}
@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the offered rate every status interval to hold a latency percentile at an SLO, so the rate tracks the
+ * throughput the system can sustain as its capacity changes during the run.
+ * <p>
+ * At the end of each status interval the controller takes the chosen percentile of the latencies recorded
+ * during the interval, the intended latencies if measured, and sets the rate of the arrival process for the
+ * next interval. With "aimd" it adds ratecontrol.increase ops/sec after an interval that met the SLO and
+ * multiplies the rate by ratecontrol.backoff after one that missed it. With "pid" it changes the rate in
+ * proportion to the relative error of the percentile against the SLO, its sum and its change. Arrivals an
+ * overloaded interval fell behind on are dropped when the rate is lowered.
+ * <p>
+ * The target rate, achieved throughput and percentile of every interval are exported as time series under
+ * [RATECONTROL-RATE], [RATECONTROL-THROUGHPUT] and [RATECONTROL-LATENCY], keyed by the milliseconds since
+ * the start of the run, and a summary under [RATECONTROL].
+ */
+public class RateController implements Measurements.IntervalListener {
+  /** The control law: none, aimd or pid. Requires a target as the initial rate. */
+  public static final String RATE_CONTROL_PROPERTY = "ratecontrol";
+  public static final String RATE_CONTROL_PROPERTY_DEFAULT = "none";
+
+  /** The latency SLO in microseconds. */
+  public static final String SLO_PROPERTY = "ratecontrol.slo.us";
+
+  /** The percentile of the latencies that must meet the SLO. */
+  public static final String PERCENTILE_PROPERTY = "ratecontrol.percentile";
+  public static final String PERCENTILE_PROPERTY_DEFAULT = "99";
+
+  /** The lowest rate to offer, in operations per second. */
+  public static final String MIN_RATE_PROPERTY = "ratecontrol.minrate";
+  public static final String MIN_RATE_PROPERTY_DEFAULT = "100";
+
+  /** The highest rate to offer, in operations per second, 0 for no limit. */
+  public static final String MAX_RATE_PROPERTY = "ratecontrol.maxrate";
+  public static final String MAX_RATE_PROPERTY_DEFAULT = "0";
+
+  /** The additive increase of aimd in operations per second, by default a twentieth of the target. */
+  public static final String INCREASE_PROPERTY = "ratecontrol.increase";
+
+  /** The multiplicative decrease of aimd. */
+  public static final String BACKOFF_PROPERTY = "ratecontrol.backoff";
+  public static final String BACKOFF_PROPERTY_DEFAULT = "0.8";
+
+  /** The gains of pid. */
+  public static final String KP_PROPERTY = "ratecontrol.kp";
+  public static final String KP_PROPERTY_DEFAULT = "0.5";
+  public static final String KI_PROPERTY = "ratecontrol.ki";
+  public static final String KI_PROPERTY_DEFAULT = "0.1";
+  public static final String KD_PROPERTY = "ratecontrol.kd";
+  public static final String KD_PROPERTY_DEFAULT = "0";
+
+  /** The largest sum of errors pid accumulates, so a long stretch at a rate limit does not wind it up. */
+  private static final double INTEGRAL_LIMIT = 2;
+  /** The largest relative change of the rate by pid in one interval. */
+  private static final double MAX_DECREASE = 0.5;
+  private static final double MAX_INCREASE = 1;
+
+  private final ArrivalProcess arrivals;
+  private final Measurements measurements;
+  private final boolean pid;
+  private final long sloUs;
+  private final double percentile;
+  private final double minRate;
+  private final double maxRate;
+  private final double increase;
+  private final double backoff;
+  private final double kp;
+  private final double ki;
+  private final double kd;
+
+  /** Intervals shorter than this, such as the last report of the run, are too short to act on. */
+  private final long minIntervalNs;
+
+  private double integral;
+  private double previousError;
+  private long startNs;
+  private long lastNs;
+  private final List<Interval> intervals = new CopyOnWriteArrayList<>();
+
+  /**
+   * The outcome of one status interval.
+   */
+  static final class Interval {
+    private final long elapsedMs;
+    private final double rate;
+    private final double throughput;
+    private final long latencyUs;
+    private final boolean meetsSlo;
+
+    Interval(long elapsedMs, double rate, double throughput, long latencyUs, boolean meetsSlo) {
+      this.elapsedMs = elapsedMs;
+      this.rate = rate;
+      this.throughput = throughput;
+      this.latencyUs = latencyUs;
+      this.meetsSlo = meetsSlo;
+    }
+  }
+
+  /**
+   * @return whether the properties ask for a rate controller.
+   */
+  public static boolean isEnabled(Properties p) {
+    return !p.getProperty(RATE_CONTROL_PROPERTY, RATE_CONTROL_PROPERTY_DEFAULT).equals("none");
+  }
+
+  /**
+   * @param p        the properties of the run
+   * @param arrivals the arrival process of the aggregate offered load, whose rate is the initial rate
+   * @throws IllegalArgumentException if the SLO is missing or the controller is misconfigured
+   */
+  public RateController(Properties p, ArrivalProcess arrivals) {
+    this.arrivals = arrivals;
+    String mode = p.getProperty(RATE_CONTROL_PROPERTY, RATE_CONTROL_PROPERTY_DEFAULT);
+    if (!mode.equals("aimd") && !mode.equals("pid")) {
+      throw new IllegalArgumentException("unknown " + RATE_CONTROL_PROPERTY + "=" + mode);
+    }
+    pid = mode.equals("pid");
+    String slo = p.getProperty(SLO_PROPERTY);
+    if (slo == null) {
+      throw new IllegalArgumentException("the rate controller requires a latency SLO in " + SLO_PROPERTY);
+    }
+    sloUs = Long.parseLong(slo);
+    percentile = Double.parseDouble(p.getProperty(PERCENTILE_PROPERTY, PERCENTILE_PROPERTY_DEFAULT));
+    minRate = Double.parseDouble(p.getProperty(MIN_RATE_PROPERTY, MIN_RATE_PROPERTY_DEFAULT));
+    double max = Double.parseDouble(p.getProperty(MAX_RATE_PROPERTY, MAX_RATE_PROPERTY_DEFAULT));
+    maxRate = max > 0 ? max : Double.MAX_VALUE;
+    String step = p.getProperty(INCREASE_PROPERTY);
+    increase = step != null ? Double.parseDouble(step) : arrivals.getRate() / 20;
+    backoff = Double.parseDouble(p.getProperty(BACKOFF_PROPERTY, BACKOFF_PROPERTY_DEFAULT));
+    kp = Double.parseDouble(p.getProperty(KP_PROPERTY, KP_PROPERTY_DEFAULT));
+    ki = Double.parseDouble(p.getProperty(KI_PROPERTY, KI_PROPERTY_DEFAULT));
+    kd = Double.parseDouble(p.getProperty(KD_PROPERTY, KD_PROPERTY_DEFAULT));
+    if (minRate <= 0 || minRate > maxRate || increase <= 0 || backoff <= 0 || backoff >= 1) {
+      throw new IllegalArgumentException(MIN_RATE_PROPERTY + " must be positive and at most "
+          + MAX_RATE_PROPERTY + ", " + INCREASE_PROPERTY + " positive and " + BACKOFF_PROPERTY
+          + " between 0 and 1");
+    }
+    String type = p.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    if (!type.equals("hdrhistogram")) {
+      throw new IllegalArgumentException("the rate controller requires " + Measurements.MEASUREMENT_TYPE_PROPERTY
+          + "=hdrhistogram");
+    }
+    minIntervalNs = TimeUnit.SECONDS.toNanos(Integer.parseInt(p.getProperty("status.interval", "10"))) / 2;
+    measurements = Measurements.getMeasurements();
+  }
+
+  /**
+   * Start adapting the rate at the end of every status interval.
+   */
+  public void start() {
+    startNs = System.nanoTime();
+    lastNs = startNs;
+    measurements.addMeasurement(new RateControlMeasurement());
+    measurements.addIntervalListener(this);
+  }
+
+  @Override
+  public void intervalEnded(Histogram latencies) {
+    long now = System.nanoTime();
+    double seconds = (now - lastNs) / (double) TimeUnit.SECONDS.toNanos(1);
+    boolean tooShort = now - lastNs < minIntervalNs;
+    lastNs = now;
+    if (!measurements.isWarmupFinished() || tooShort) {
+      return;
+    }
+    double rate = arrivals.getRate();
+    long count = latencies.getTotalCount();
+    long latency = count > 0 ? latencies.getValueAtPercentile(percentile) : 0;
+    boolean meetsSlo = count > 0 && latency <= sloUs;
+    intervals.add(new Interval(TimeUnit.NANOSECONDS.toMillis(now - startNs), rate, count / seconds, latency,
+        meetsSlo));
+    double next = nextRate(rate, count, latency);
+    if (next < rate) {
+      arrivals.skipTo(now);
+    }
+    arrivals.setRate(next);
+    System.err.println(String.format("Rate control: target %.1f ops/sec, throughput %.1f ops/sec, "
+            + "%s percentile latency %d us %s the SLO, next target %.1f ops/sec", rate, count / seconds,
+        percentile, latency, meetsSlo ? "meets" : "misses", next));
+  }
+
+  /**
+   * @param count     the number of latencies recorded during the interval
+   * @param latencyUs the percentile of the latencies
+   * @return the rate to offer during the next interval.
+   */
+  double nextRate(double rate, long count, long latencyUs) {
+    boolean meetsSlo = count > 0 && latencyUs <= sloUs;
+    double next;
+    if (pid) {
+      // the relative headroom below the SLO, down to -1 when it is missed by far or nothing completed
+      double error = count > 0 ? Math.max(-1, (sloUs - latencyUs) / (double) sloUs) : -1;
+      integral = Math.max(-INTEGRAL_LIMIT, Math.min(INTEGRAL_LIMIT, integral + error));
+      double change = kp * error + ki * integral + kd * (error - previousError);
+      previousError = error;
+      next = rate * (1 + Math.max(-MAX_DECREASE, Math.min(MAX_INCREASE, change)));
+    } else {
+      next = meetsSlo ? rate + increase : rate * backoff;
+    }
+    return Math.max(minRate, Math.min(maxRate, next));
+  }
+
+  /**
+   * Reports the rate and the sustainable throughput over time.
+   */
+  private final class RateControlMeasurement extends OneMeasurement {
+    RateControlMeasurement() {
+      super("RATECONTROL");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the intervals are tracked by the controller
+    }
+
+    @Override
+    public String getSummary() {
+      return String.format("[RATECONTROL: Rate=%.1f ops/sec]", arrivals.getRate());
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      double min = Double.MAX_VALUE;
+      double max = 0;
+      double sum = 0;
+      int meeting = 0;
+      for (Interval interval : intervals) {
+        if (interval.meetsSlo) {
+          min = Math.min(min, interval.throughput);
+          max = Math.max(max, interval.throughput);
+          sum += interval.throughput;
+          meeting++;
+        }
+      }
+      exporter.write(getName(), "SLO(us)", sloUs);
+      exporter.write(getName(), "Percentile", percentile);
+      exporter.write(getName(), "Intervals", intervals.size());
+      exporter.write(getName(), "IntervalsMeetingSLO", meeting);
+      exporter.write(getName(), "FinalRate(ops/sec)", arrivals.getRate());
+      if (meeting > 0) {
+        exporter.write(getName(), "MinSustainableThroughput(ops/sec)", min);
+        exporter.write(getName(), "AverageSustainableThroughput(ops/sec)", sum / meeting);
+        exporter.write(getName(), "MaxSustainableThroughput(ops/sec)", max);
+      }
+      for (Interval interval : intervals) {
+        String time = Long.toString(interval.elapsedMs);
+        exporter.write(getName() + "-RATE", time, interval.rate);
+        exporter.write(getName() + "-THROUGHPUT", time, interval.throughput);
+        exporter.write(getName() + "-LATENCY", time, interval.latencyUs);
+      }
+    }
+  }
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * A target throughput that varies over the run, so that a single run can sweep the throughput/latency
+ * curve. The schedule maps the time elapsed since the first throttled operation to an aggregate rate in
+ * operations per second. Supported shapes, selected with the targetschedule property:
+ * <UL>
+ * <LI><b>ramp</b>: linear change from targetschedule.start to targetschedule.end over
+ * targetschedule.duration seconds, then hold
+ * <LI><b>step</b>: start at targetschedule.start and add targetschedule.stepsize every
+ * targetschedule.stepduration seconds, up to targetschedule.end if given
+ * <LI><b>sine</b>: oscillate around the target with targetschedule.amplitude over
+ * targetschedule.period seconds, e.g. for a diurnal curve
+ * <LI><b>piecewise</b>: the comma separated time:rate points of targetschedule.points
+ * <LI><b>file</b>: the points of a CSV file given by targetschedule.file, one "seconds,rate" per line
+ * </UL>
+ * Piecewise and file schedules interpolate linearly between points, or hold each rate until the next point
+ * with targetschedule.interpolation=step. The rate of the last point is held until the end of the run.
+ * A schedule may pause the load at rate zero but must not go below it.
+ */
+public abstract class RateSchedule {
+  public static final String SCHEDULE_PROPERTY = "targetschedule";
+  public static final String START_PROPERTY = "targetschedule.start";
+  public static final String END_PROPERTY = "targetschedule.end";
+  public static final String DURATION_PROPERTY = "targetschedule.duration";
+  public static final String STEP_SIZE_PROPERTY = "targetschedule.stepsize";
+  public static final String STEP_DURATION_PROPERTY = "targetschedule.stepduration";
+  public static final String AMPLITUDE_PROPERTY = "targetschedule.amplitude";
+  public static final String PERIOD_PROPERTY = "targetschedule.period";
+  public static final String POINTS_PROPERTY = "targetschedule.points";
+  public static final String FILE_PROPERTY = "targetschedule.file";
+  public static final String INTERPOLATION_PROPERTY = "targetschedule.interpolation";
+  public static final String INTERPOLATION_PROPERTY_DEFAULT = "linear";
+
+  /**
+   * @param elapsedSec seconds since the start of the schedule
+   * @return the aggregate rate in operations per second
+   */
+  public abstract double rateAt(double elapsedSec);
+
+  /**
+   * Find when a pause at rate zero ends.
+   *
+   * @param elapsedSec seconds since the start of the schedule, at which the rate is zero
+   * @return the earliest time the rate is above zero, at or after the given time, or
+   * {@link Double#POSITIVE_INFINITY} if it stays at zero
+   */
+  public abstract double nextActiveSec(double elapsedSec);
+
+  /**
+   * Create the schedule configured by the properties.
+   *
+   * @param p      the properties of the run
+   * @param target the target throughput, used as a default where a shape needs one
+   * @return the schedule, or null if the rate is not scheduled
+   * @throws IllegalArgumentException if the schedule is unknown or invalid
+   */
+  public static RateSchedule create(Properties p, double target) {
+    String shape = p.getProperty(SCHEDULE_PROPERTY);
+    if (shape == null) {
+      return null;
+    }
+    boolean step = "step".equals(p.getProperty(INTERPOLATION_PROPERTY, INTERPOLATION_PROPERTY_DEFAULT));
+    switch (shape) {
+    case "ramp":
+      return createRamp(p, target);
+    case "step":
+      return new Steps(getDouble(p, START_PROPERTY, 0), getDouble(p, STEP_SIZE_PROPERTY, 0),
+          getDouble(p, STEP_DURATION_PROPERTY, -1), getDouble(p, END_PROPERTY, Double.MAX_VALUE));
+    case "sine":
+      return new Sine(getDouble(p, START_PROPERTY, target), getDouble(p, AMPLITUDE_PROPERTY, 0),
+          getDouble(p, PERIOD_PROPERTY, -1));
+    case "piecewise":
+      return parsePoints(p.getProperty(POINTS_PROPERTY, "").split(","), ":", step);
+    case "file":
+      return parsePoints(readPoints(p.getProperty(FILE_PROPERTY)), ",", step);
+    default:
+      throw new IllegalArgumentException("unknown " + SCHEDULE_PROPERTY + "=" + shape);
+    }
+  }
+
+  private static Piecewise createRamp(Properties p, double target) {
+    double start = getDouble(p, START_PROPERTY, 0);
+    double end = getDouble(p, END_PROPERTY, target);
+    double duration = getDouble(p, DURATION_PROPERTY, -1);
+    if (duration <= 0) {
+      throw new IllegalArgumentException("a ramp needs a positive " + DURATION_PROPERTY);
+    }
+    return new Piecewise(new double[]{0, duration}, new double[]{start, end}, false);
+  }
+
+  /**
+   * @return the points of a schedule file, without blank lines, comments and a header.
+   */
+  private static String[] readPoints(String file) {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+      String line;
+      while ((line = in.readLine()) != null) {
+        line = line.trim();
+        if (!line.isEmpty() && !line.startsWith("#") && !Character.isLetter(line.charAt(0))) {
+          lines.add(line);
+        }
+      }
+    } catch (IOException | NullPointerException e) {
+      throw new IllegalArgumentException("Couldn't read target schedule file: " + file, e);
+    }
+    return lines.toArray(new String[0]);
+  }
+
+  private static double getDouble(Properties p, String name, double defaultValue) {
+    String value = p.getProperty(name);
+    return value == null ? defaultValue : Double.parseDouble(value.trim());
+  }
+
+  private static Piecewise parsePoints(String[] points, String separator, boolean step) {
+    double[] times = new double[points.length];
+    double[] rates = new double[points.length];
+    for (int i = 0; i < points.length; i++) {
+      String[] tokens = points[i].trim().split(separator);
+      if (tokens.length != 2) {
+        throw new IllegalArgumentException("expected seconds" + separator + "rate but got '" + points[i] + "'");
+      }
+      times[i] = Double.parseDouble(tokens[0].trim());
+      rates[i] = Double.parseDouble(tokens[1].trim());
+      if (rates[i] < 0) {
+        throw new IllegalArgumentException("target schedule rates must not be negative but got '" + points[i] + "'");
+      }
+      if (i > 0 && times[i] <= times[i - 1]) {
+        throw new IllegalArgumentException("target schedule times must be increasing");
+      }
+    }
+    return new Piecewise(times, rates, step);
+  }
+
+  /**
+   * Rates given at points in time.
+   */
+  static final class Piecewise extends RateSchedule {
+    private final double[] times;
+    private final double[] rates;
+    private final boolean step;
+
+    Piecewise(double[] times, double[] rates, boolean step) {
+      if (times.length == 0) {
+        throw new IllegalArgumentException("a target schedule needs at least one point");
+      }
+      this.times = times;
+      this.rates = rates;
+      this.step = step;
+    }
+
+    @Override
+    public double rateAt(double elapsedSec) {
+      if (elapsedSec <= times[0]) {
+        return rates[0];
+      }
+      for (int i = 1; i < times.length; i++) {
+        if (elapsedSec < times[i]) {
+          if (step) {
+            return rates[i - 1];
+          }
+          double fraction = (elapsedSec - times[i - 1]) / (times[i] - times[i - 1]);
+          return rates[i - 1] + fraction * (rates[i] - rates[i - 1]);
+        }
+      }
+      return rates[rates.length - 1];
+    }
+
+    @Override
+    public double nextActiveSec(double elapsedSec) {
+      for (int i = 0; i < times.length; i++) {
+        if (times[i] > elapsedSec && rates[i] > 0) {
+          // a linear segment rises above zero right after its start
+          return step || i == 0 ? times[i] : Math.max(elapsedSec, times[i - 1]);
+        }
+      }
+      return rateAt(elapsedSec) > 0 ? elapsedSec : Double.POSITIVE_INFINITY;
+    }
+  }
+
+  /**
+   * Rates increasing by a fixed amount at fixed intervals.
+   */
+  static final class Steps extends RateSchedule {
+    private final double start;
+    private final double stepSize;
+    private final double stepDuration;
+    private final double end;
+
+    Steps(double start, double stepSize, double stepDuration, double end) {
+      if (stepDuration <= 0) {
+        throw new IllegalArgumentException("a step schedule needs a positive " + STEP_DURATION_PROPERTY);
+      }
+      if (start < 0 || end < 0) {
+        throw new IllegalArgumentException("a step schedule must not go below zero");
+      }
+      this.start = start;
+      this.stepSize = stepSize;
+      this.stepDuration = stepDuration;
+      this.end = end;
+    }
+
+    @Override
+    public double rateAt(double elapsedSec) {
+      double rate = start + Math.floor(elapsedSec / stepDuration) * stepSize;
+      return stepSize >= 0 ? Math.min(rate, end) : Math.max(rate, end == Double.MAX_VALUE ? 0 : end);
+    }
+
+    @Override
+    public double nextActiveSec(double elapsedSec) {
+      if (rateAt(elapsedSec) > 0) {
+        return elapsedSec;
+      }
+      if (stepSize <= 0 || end <= 0) {
+        return Double.POSITIVE_INFINITY;
+      }
+      // the first step whose rate is above zero
+      return Math.max(elapsedSec, (Math.floor(-start / stepSize) + 1) * stepDuration);
+    }
+  }
+
+  /**
+   * Rates oscillating around a mean.
+   */
+  static final class Sine extends RateSchedule {
+    /** How finely a period is searched for the end of a pause. */
+    private static final int SINE_TICKS = 1024;
+
+    private final double mean;
+    private final double amplitude;
+    private final double period;
+
+    Sine(double mean, double amplitude, double period) {
+      if (period <= 0) {
+        throw new IllegalArgumentException("a sine schedule needs a positive " + PERIOD_PROPERTY);
+      }
+      if (mean < 0) {
+        throw new IllegalArgumentException("a sine schedule must not oscillate around a negative rate");
+      }
+      this.mean = mean;
+      this.amplitude = amplitude;
+      this.period = period;
+    }
+
+    @Override
+    public double rateAt(double elapsedSec) {
+      return Math.max(0, mean + amplitude * Math.sin(2 * Math.PI * elapsedSec / period));
+    }
+
+    @Override
+    public double nextActiveSec(double elapsedSec) {
+      if (mean <= 0) {
+        return Double.POSITIVE_INFINITY;
+      }
+      // the rate is clipped at zero for part of each period, so it rises again within one period
+      double tick = period / SINE_TICKS;
+      for (int i = 0; i <= SINE_TICKS; i++) {
+        if (rateAt(elapsedSec + i * tick) > 0) {
+          return elapsedSec + i * tick;
+        }
+      }
+      return Double.POSITIVE_INFINITY;
+    }
+  }
+}
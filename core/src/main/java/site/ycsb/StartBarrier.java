@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the client threads in two phases: the threads initialize their bindings in parallel, at most
+ * init.parallelism at a time, and then all of them are released at one moment, which is the start of the
+ * measured run. Threads do not issue load while others are still connecting, and the time spent connecting
+ * is not part of the run.
+ * <p>
+ * The initialization time of every thread is exported under [INIT].
+ */
+final class StartBarrier {
+  /** The number of client threads that initialize their bindings at the same time. */
+  public static final String INIT_PARALLELISM_PROPERTY = "init.parallelism";
+  public static final String INIT_PARALLELISM_PROPERTY_DEFAULT = "16";
+
+  private final int threads;
+  private final int parallelism;
+  private final Semaphore permits;
+  private final CountDownLatch initialized;
+  private final CountDownLatch released = new CountDownLatch(1);
+  private final long createdNs = System.nanoTime();
+  private final List<String> names = new ArrayList<>();
+  private final List<Long> initNanos = new ArrayList<>();
+  private int failed;
+  private long startupNs;
+
+  /**
+   * @param threads     the number of client threads that pass the barrier
+   * @param parallelism the number of threads that initialize at the same time
+   */
+  StartBarrier(int threads, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("unknown " + INIT_PARALLELISM_PROPERTY + "=" + parallelism);
+    }
+    this.threads = threads;
+    this.parallelism = parallelism;
+    permits = new Semaphore(parallelism);
+    initialized = new CountDownLatch(threads);
+  }
+
+  /**
+   * Wait for a turn to initialize.
+   */
+  void beginInit() {
+    permits.acquireUninterruptibly();
+  }
+
+  /**
+   * Record that the calling thread has initialized, or failed to, and pass the turn on.
+   */
+  void endInit(long nanos, boolean success) {
+    synchronized (this) {
+      if (success) {
+        names.add(Thread.currentThread().getName());
+        initNanos.add(nanos);
+      } else {
+        failed++;
+      }
+    }
+    permits.release();
+    initialized.countDown();
+  }
+
+  /**
+   * Wait until the client threads are released.
+   */
+  void awaitRelease() {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        released.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Wait until every client thread has initialized, e.g. to coordinate the release with other processes.
+   */
+  void awaitInitialized() throws InterruptedException {
+    initialized.await();
+  }
+
+  /**
+   * Wait until every client thread has initialized, and release them all.
+   *
+   * @return the time of the release in milliseconds, the start of the measured run.
+   */
+  long release() throws InterruptedException {
+    awaitInitialized();
+    long releaseMs = System.currentTimeMillis();
+    synchronized (this) {
+      startupNs = System.nanoTime() - createdNs;
+    }
+    Measurements.getMeasurements().addMeasurement(new InitMeasurement());
+    released.countDown();
+    return releaseMs;
+  }
+
+  /**
+   * Reports how long the client threads took to initialize.
+   */
+  private final class InitMeasurement extends OneMeasurement {
+    InitMeasurement() {
+      super("INIT");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the initialization times are tracked by the barrier
+    }
+
+    @Override
+    public String getSummary() {
+      synchronized (StartBarrier.this) {
+        return String.format("[INIT: Threads=%d, Startup=%d ms]", threads,
+            TimeUnit.NANOSECONDS.toMillis(startupNs));
+      }
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      synchronized (StartBarrier.this) {
+        exporter.write(getName(), "Threads", threads);
+        exporter.write(getName(), "Parallelism", parallelism);
+        exporter.write(getName(), "Failed", failed);
+        exporter.write(getName(), "StartupTime(ms)", startupNs / 1e6);
+        if (initNanos.isEmpty()) {
+          return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        long sum = 0;
+        for (long nanos : initNanos) {
+          min = Math.min(min, nanos);
+          max = Math.max(max, nanos);
+          sum += nanos;
+        }
+        exporter.write(getName(), "MinInitTime(ms)", min / 1e6);
+        exporter.write(getName(), "AverageInitTime(ms)", sum / 1e6 / initNanos.size());
+        exporter.write(getName(), "MaxInitTime(ms)", max / 1e6);
+        for (int i = 0; i < names.size(); i++) {
+          exporter.write(getName(), names.get(i) + "(ms)", initNanos.get(i) / 1e6);
+        }
+      }
+    }
+  }
+}
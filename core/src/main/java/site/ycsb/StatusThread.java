@@ -174,10 +174,17 @@ public class StatusThread extends Thread {
       msg.append("est completion in ").append(RemainingFormatter.format(estremaining));
     }
 
-    msg.append(Measurements.getMeasurements().getSummary());
+    msg.append(measurements.getSummary());
 
     System.err.println(msg);
 
+    if (measurements.isClientBound()) {
+      System.err.println("[WARNING] The 99th percentile scheduler lag of "
+          + measurements.getSchedulerLag().getLastIntervalLagUs() + " us exceeds "
+          + measurements.getSchedulerLag().getWarningUs() + " us: the client is falling behind its schedule, "
+          + "so this interval is client-bound.");
+    }
+
     if (standardstatus) {
       System.out.println(msg);
     }
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.measurements.Measurements;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * One of several workloads run side by side in one client, e.g. a read-heavy tenant next to an ingesting one,
+ * to measure how they interfere.
+ * <p>
+ * The tenants are listed by the tenants property. Every property of a tenant may be set for it alone by
+ * prefixing it with the tenant's name, e.g. reads.workload, reads.threadcount or reads.target; other
+ * properties are shared. Each tenant gets its own workload, thread group and target, and its measurements are
+ * named with the tenant's name as a prefix, e.g. reads-READ. All thread groups start together and are
+ * reported in one set of measurements. A run without the tenants property is a single, unnamed tenant.
+ */
+public final class Tenant {
+  /**
+   * The name of the property for the comma separated names of the tenants.
+   */
+  public static final String TENANTS_PROPERTY = "tenants";
+
+  private final String name;
+  private final Properties props;
+  private Workload workload;
+  private ArrivalProcess arrivals;
+  private OperationRates rates;
+  private OpenLoopScheduler scheduler;
+  private UserModel users;
+  private List<ClientThread> clients = Collections.emptyList();
+
+  Tenant(String name, Properties props) {
+    this.name = name;
+    this.props = props;
+  }
+
+  /**
+   * Create the tenants configured by the properties.
+   *
+   * @return the tenants, or a single unnamed tenant with the given properties if none are configured.
+   * @throws IllegalArgumentException if a tenant name is empty or repeated
+   */
+  public static List<Tenant> create(Properties p) {
+    String names = p.getProperty(TENANTS_PROPERTY);
+    if (names == null || names.trim().isEmpty()) {
+      return Collections.singletonList(new Tenant(null, p));
+    }
+    List<Tenant> tenants = new ArrayList<>();
+    List<String> seen = new ArrayList<>();
+    for (String name : names.split(",")) {
+      name = name.trim();
+      if (name.isEmpty() || seen.contains(name)) {
+        throw new IllegalArgumentException("unknown " + TENANTS_PROPERTY + "=" + names);
+      }
+      seen.add(name);
+      tenants.add(new Tenant(name, scope(p, name)));
+    }
+    return tenants;
+  }
+
+  /**
+   * @return the shared properties overridden by the properties prefixed with the tenant's name.
+   */
+  static Properties scope(Properties p, String name) {
+    String prefix = name + ".";
+    Properties scoped = new Properties();
+    for (String key : p.stringPropertyNames()) {
+      scoped.setProperty(key, p.getProperty(key));
+    }
+    scoped.setProperty(Measurements.MEASUREMENT_PREFIX_PROPERTY, name + "-");
+    for (String key : p.stringPropertyNames()) {
+      if (key.startsWith(prefix)) {
+        scoped.setProperty(key.substring(prefix.length()), p.getProperty(key));
+      }
+    }
+    scoped.remove(TENANTS_PROPERTY);
+    return scoped;
+  }
+
+  /**
+   * @return the name of the tenant, or null for a run without tenants.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the properties of the tenant.
+   */
+  public Properties getProperties() {
+    return props;
+  }
+
+  public Workload getWorkload() {
+    return workload;
+  }
+
+  void setWorkload(Workload tenantWorkload) {
+    this.workload = tenantWorkload;
+  }
+
+  /**
+   * @return the arrival process of the tenant's target throughput, or null if it is not throttled.
+   */
+  public ArrivalProcess getArrivals() {
+    return arrivals;
+  }
+
+  void setArrivals(ArrivalProcess arrivalProcess) {
+    this.arrivals = arrivalProcess;
+  }
+
+  /**
+   * @return the streams of the operation types with their own target, or null.
+   */
+  public OperationRates getRates() {
+    return rates;
+  }
+
+  void setRates(OperationRates operationRates) {
+    this.rates = operationRates;
+  }
+
+  /**
+   * @return the open-loop scheduler of the tenant, or null for a closed-loop run.
+   */
+  public OpenLoopScheduler getScheduler() {
+    return scheduler;
+  }
+
+  void setScheduler(OpenLoopScheduler openLoopScheduler) {
+    this.scheduler = openLoopScheduler;
+  }
+
+  /**
+   * @return the simulated users of the tenant, or null if each client thread is one closed loop.
+   */
+  public UserModel getUsers() {
+    return users;
+  }
+
+  void setUsers(UserModel userModel) {
+    this.users = userModel;
+  }
+
+  public List<ClientThread> getClients() {
+    return clients;
+  }
+
+  void setClients(List<ClientThread> clientThreads) {
+    this.clients = clientThreads;
+  }
+
+  /**
+   * @return whether the tenant's operations are paced to a target.
+   */
+  public boolean isThrottled() {
+    return arrivals != null || rates != null;
+  }
+
+  /**
+   * @return the current target throughput of the tenant in operations per second, 0 if it is not throttled.
+   */
+  public double getTargetRate() {
+    if (rates != null) {
+      return rates.getTotalRate();
+    }
+    return arrivals != null ? arrivals.getRate() : 0;
+  }
+
+  /**
+   * @return the number of measured operations the tenant's threads have done.
+   */
+  public long getOpsDone() {
+    long done = 0;
+    for (ClientThread client : clients) {
+      done += client.getOpsDone();
+    }
+    return done;
+  }
+}
@@ -17,6 +17,7 @@
 package site.ycsb;
 
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * A thread that waits for the maximum specified time and then interrupts all the client
@@ -29,14 +30,22 @@ public class TerminatorThread extends Thread {
 
   private final Collection<? extends Thread> threads;
   private long maxExecutionTime;
-  private Workload workload;
+  private Collection<? extends Workload> workloads;
   private long waitTimeOutInMS;
 
   public TerminatorThread(long maxExecutionTime, Collection<? extends Thread> threads,
                           Workload workload) {
+    this(maxExecutionTime, threads, Collections.singletonList(workload));
+  }
+
+  /**
+   * Stop several workloads running side by side, e.g. those of all tenants.
+   */
+  public TerminatorThread(long maxExecutionTime, Collection<? extends Thread> threads,
+                          Collection<? extends Workload> workloads) {
     this.maxExecutionTime = maxExecutionTime;
     this.threads = threads;
-    this.workload = workload;
+    this.workloads = workloads;
     waitTimeOutInMS = 2000;
 //    System.err.println("Maximum execution time specified as: " + maxExecutionTime + " secs");
   }
@@ -49,7 +58,9 @@ public class TerminatorThread extends Thread {
       return;
     }
 //    System.err.println("Maximum time elapsed. Requesting stop for the workload.");
-    workload.requestStop();
+    for (Workload workload : workloads) {
+      workload.requestStop();
+    }
 //    System.err.println("Stop requested for workload. Now Joining!");
     for (Thread t : threads) {
       while (t.isAlive()) {
@@ -57,7 +68,7 @@ public class TerminatorThread extends Thread {
           t.join(waitTimeOutInMS);
           if (t.isAlive()) {
             System.out.println("Still waiting for thread " + t.getName() + " to complete. " +
-                "Workload status: " + workload.isStopRequested());
+                "Workload status: " + workloads.iterator().next().isStopRequested());
           }
         } catch (InterruptedException e) {
           // Do nothing. Don't know why I was interrupted.
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+/**
+ * Parks the client threads beyond the number the control plane currently runs, so the thread count can
+ * change during a run without starting or initializing threads: the threads with an id below the active
+ * count run, the others wait.
+ */
+final class ThreadGate {
+  /** How often a parked thread checks whether the workload has stopped. */
+  private static final long STOP_CHECK_MS = 100;
+
+  private final int maxThreads;
+  /** Read by every thread before each operation, so it is volatile rather than guarded by the lock. */
+  private volatile int active;
+
+  /**
+   * @param active     the number of threads running at the start
+   * @param maxThreads the number of client threads created
+   */
+  ThreadGate(int active, int maxThreads) {
+    this.maxThreads = maxThreads;
+    this.active = active;
+  }
+
+  int getMaxThreads() {
+    return maxThreads;
+  }
+
+  int getActive() {
+    return active;
+  }
+
+  /**
+   * Run the given number of threads from now on.
+   *
+   * @throws IllegalArgumentException if the count is not between 1 and the number of client threads
+   */
+  synchronized void setActive(int threads) {
+    if (threads < 1 || threads > maxThreads) {
+      throw new IllegalArgumentException("the thread count must be between 1 and " + maxThreads);
+    }
+    active = threads;
+    notifyAll();
+  }
+
+  boolean isActive(int threadid) {
+    return threadid < active;
+  }
+
+  /**
+   * Wait until the thread may run again.
+   *
+   * @return false if the workload stopped or the thread was interrupted while it waited.
+   */
+  synchronized boolean await(int threadid, Workload workload) {
+    try {
+      while (threadid >= active) {
+        if (workload.isStopRequested()) {
+          return false;
+        }
+        wait(STOP_CHECK_MS);
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
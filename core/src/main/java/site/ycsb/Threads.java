@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Creates the threads that run client threads and the receive loops of bindings.
+ * <p>
+ * By default these are platform threads. With virtualthreads=true they are virtual threads, so a run can
+ * simulate tens of thousands of logical clients without as many OS threads. Virtual threads require Java
+ * 21 or later; they are looked up reflectively so the client still builds and runs on Java 8.
+ */
+public final class Threads {
+  /**
+   * Whether to run client threads and binding receive loops on virtual threads.
+   */
+  public static final String VIRTUAL_THREADS_PROPERTY = "virtualthreads";
+  public static final String VIRTUAL_THREADS_PROPERTY_DEFAULT = "false";
+
+  private static final Method OF_VIRTUAL;
+  private static final Method NAME;
+  private static final Method UNSTARTED;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method unstarted = null;
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      name = builder.getMethod("name", String.class);
+      unstarted = builder.getMethod("unstarted", Runnable.class);
+    } catch (ReflectiveOperationException e) {
+      // virtual threads are not available before Java 21
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    UNSTARTED = unstarted;
+  }
+
+  private static volatile boolean virtual;
+
+  private Threads() {
+    // utility class
+  }
+
+  /**
+   * @return whether this JVM supports virtual threads.
+   */
+  public static boolean isVirtualAvailable() {
+    if (OF_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      // a preview API on Java 19 and 20 throws unless previews are enabled
+      newVirtualThread(() -> { }, "probe");
+      return true;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Choose between virtual and platform threads for the threads created from now on.
+   *
+   * @throws IllegalStateException if virtual threads are requested but not available
+   */
+  public static void setVirtual(boolean useVirtual) {
+    if (useVirtual && !isVirtualAvailable()) {
+      throw new IllegalStateException("virtual threads require Java 21 or later");
+    }
+    virtual = useVirtual;
+  }
+
+  /**
+   * @return whether new threads are virtual threads.
+   */
+  public static boolean isVirtual() {
+    return virtual;
+  }
+
+  /**
+   * Create an unstarted thread of the configured kind.
+   */
+  public static Thread newThread(Runnable task, String name) {
+    return virtual ? newVirtualThread(task, name) : new Thread(task, name);
+  }
+
+  private static Thread newVirtualThread(Runnable task, String name) {
+    try {
+      Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), name);
+      return (Thread) UNSTARTED.invoke(builder, task);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
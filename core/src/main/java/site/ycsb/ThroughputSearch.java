@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches for the highest target throughput that still meets a latency SLO, within a single run.
+ * <p>
+ * The client threads keep running while the search changes the target rate. Every step first lets the
+ * system settle at the new rate for search.warmup seconds and then measures for search.window seconds. A
+ * step meets the SLO if the chosen percentile of the latencies recorded during its window, the intended
+ * latencies if measured, stays within search.slo.us. The search first tries the target given by the
+ * "target" property and then bisects between search.minrate and the highest rate tried so far until the
+ * interval is narrower than search.precision of its upper end, or search.maxsteps steps have run.
+ * <p>
+ * Latencies of a step are recorded per operation under the suffix -STEP-n, e.g. [Intended-READ-STEP-3],
+ * and the result and the merged histogram of every step are exported under [SEARCH] and [SEARCH-STEP-n].
+ * Arrivals an overloaded step fell behind on are dropped at the start of the next step, so the backlog
+ * does not count against a lower rate.
+ */
+public class ThroughputSearch {
+  /**
+   * Whether to search for the highest throughput meeting the SLO. Requires a target as the highest rate.
+   */
+  public static final String SEARCH_PROPERTY = "search";
+  public static final String SEARCH_PROPERTY_DEFAULT = "false";
+
+  /** The latency SLO in microseconds. */
+  public static final String SLO_PROPERTY = "search.slo.us";
+
+  /** The percentile of the latencies that must meet the SLO. */
+  public static final String PERCENTILE_PROPERTY = "search.percentile";
+  public static final String PERCENTILE_PROPERTY_DEFAULT = "99";
+
+  /** The lowest rate to try, in operations per second. */
+  public static final String MIN_RATE_PROPERTY = "search.minrate";
+  public static final String MIN_RATE_PROPERTY_DEFAULT = "100";
+
+  /** The time to settle at a new rate before measuring, in seconds. */
+  public static final String WARMUP_PROPERTY = "search.warmup";
+  public static final String WARMUP_PROPERTY_DEFAULT = "5";
+
+  /** The length of the measurement window of a step, in seconds. */
+  public static final String WINDOW_PROPERTY = "search.window";
+  public static final String WINDOW_PROPERTY_DEFAULT = "10";
+
+  /** The relative width of the interval at which the search stops. */
+  public static final String PRECISION_PROPERTY = "search.precision";
+  public static final String PRECISION_PROPERTY_DEFAULT = "0.05";
+
+  /** The largest number of steps to run. */
+  public static final String MAX_STEPS_PROPERTY = "search.maxsteps";
+  public static final String MAX_STEPS_PROPERTY_DEFAULT = "20";
+
+  private static final double[] EXPORTED_PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+  private final ArrivalProcess arrivals;
+  private final Workload workload;
+  private final Measurements measurements;
+  private OpenLoopScheduler scheduler;
+  /** The step being measured, keyed apart from the phases of other features. */
+  private final Measurements.Phase stepPhase = new Measurements.Phase();
+  private final double maxRate;
+  private final double minRate;
+  private final long sloUs;
+  private final double percentile;
+  private final long warmupMs;
+  private final long windowMs;
+  private final long outstandingBoundMs;
+  private final double precision;
+  private final int maxSteps;
+
+  private final List<Step> steps = new CopyOnWriteArrayList<>();
+  private volatile double best;
+
+  /**
+   * The outcome of one measurement window.
+   */
+  static final class Step {
+    private final double target;
+    private final double throughput;
+    private final long latencyUs;
+    private final boolean meetsSlo;
+    private final Histogram histogram;
+
+    Step(double target, double throughput, long latencyUs, boolean meetsSlo, Histogram histogram) {
+      this.target = target;
+      this.throughput = throughput;
+      this.latencyUs = latencyUs;
+      this.meetsSlo = meetsSlo;
+      this.histogram = histogram;
+    }
+  }
+
+  /**
+   * @param p        the properties of the run
+   * @param arrivals the arrival process of the aggregate offered load
+   * @param workload the workload, polled for stop requests
+   * @throws IllegalArgumentException if the SLO is missing or the search is misconfigured
+   */
+  public ThroughputSearch(Properties p, ArrivalProcess arrivals, Workload workload) {
+    this.arrivals = arrivals;
+    this.workload = workload;
+    maxRate = arrivals.getRate();
+    minRate = Double.parseDouble(p.getProperty(MIN_RATE_PROPERTY, MIN_RATE_PROPERTY_DEFAULT));
+    String slo = p.getProperty(SLO_PROPERTY);
+    if (slo == null) {
+      throw new IllegalArgumentException("the search requires a latency SLO in " + SLO_PROPERTY);
+    }
+    sloUs = Long.parseLong(slo);
+    percentile = Double.parseDouble(p.getProperty(PERCENTILE_PROPERTY, PERCENTILE_PROPERTY_DEFAULT));
+    warmupMs = (long) (Double.parseDouble(p.getProperty(WARMUP_PROPERTY, WARMUP_PROPERTY_DEFAULT)) * 1000);
+    windowMs = (long) (Double.parseDouble(p.getProperty(WINDOW_PROPERTY, WINDOW_PROPERTY_DEFAULT)) * 1000);
+    outstandingBoundMs = DBWrapper.getOutstandingBoundMs(p);
+    precision = Double.parseDouble(p.getProperty(PRECISION_PROPERTY, PRECISION_PROPERTY_DEFAULT));
+    maxSteps = Integer.parseInt(p.getProperty(MAX_STEPS_PROPERTY, MAX_STEPS_PROPERTY_DEFAULT));
+    if (minRate <= 0 || minRate > maxRate || windowMs <= 0) {
+      throw new IllegalArgumentException(MIN_RATE_PROPERTY + " must be positive and at most the target, and "
+          + WINDOW_PROPERTY + " must be positive");
+    }
+    String type = p.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    if (!type.equals("hdrhistogram")) {
+      throw new IllegalArgumentException("the search requires " + Measurements.MEASUREMENT_TYPE_PROPERTY
+          + "=hdrhistogram");
+    }
+    measurements = Measurements.getMeasurements();
+    measurements.addPhaseSource(stepPhase);
+    measurements.addMeasurement(new SearchMeasurement());
+  }
+
+  /**
+   * Let the search also drop the backlog of an open-loop scheduler when it skips the arrivals of a previous step.
+   */
+  void setScheduler(OpenLoopScheduler openLoopScheduler) {
+    this.scheduler = openLoopScheduler;
+  }
+
+  /**
+   * Drop the arrivals intended to start before now.
+   */
+  private void skipBacklog() {
+    long now = System.nanoTime();
+    arrivals.skipTo(now);
+    if (scheduler != null) {
+      scheduler.skipTo(now);
+    }
+  }
+
+  /**
+   * Run the search. Returns early if the workload is asked to stop.
+   *
+   * @return the highest rate that met the SLO, or 0 if even the lowest rate did not.
+   */
+  public double run() throws InterruptedException {
+    while (!measurements.isWarmupFinished() && !workload.isStopRequested()) {
+      Thread.sleep(100);
+    }
+    double hi = maxRate;
+    double lo = minRate;
+    if (measureStep(hi)) {
+      best = hi;
+      return best;
+    }
+    if (!measureStep(lo)) {
+      return best;
+    }
+    best = lo;
+    while (hi - lo > precision * hi && steps.size() < maxSteps && !workload.isStopRequested()) {
+      double mid = (lo + hi) / 2;
+      if (measureStep(mid)) {
+        lo = mid;
+        best = mid;
+      } else {
+        hi = mid;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * @return the highest rate that met the SLO so far, or 0.
+   */
+  public double getBest() {
+    return best;
+  }
+
+  /**
+   * Run one step at the given rate.
+   *
+   * @return whether the step met the SLO.
+   */
+  private boolean measureStep(double rate) throws InterruptedException {
+    if (workload.isStopRequested()) {
+      return false;
+    }
+    Step step = measure(steps.size() + 1, rate);
+    steps.add(step);
+    System.err.println(String.format("Search step %d: target %.1f ops/sec, throughput %.1f ops/sec, "
+            + "%s percentile latency %d us: %s", steps.size(), step.target, step.throughput,
+        percentile, step.latencyUs, step.meetsSlo ? "meets the SLO" : "misses the SLO"));
+    return step.meetsSlo;
+  }
+
+  /**
+   * Settle at the given rate and measure one window. The requests of the window still in flight at its end are
+   * waited for until they complete or time out; those outstanding for longer count as missing the SLO.
+   */
+  Step measure(int index, double rate) throws InterruptedException {
+    arrivals.setRate(rate);
+    skipBacklog();
+    Thread.sleep(warmupMs);
+    String phase = "STEP-" + index;
+    stepPhase.set(phase);
+    long start = System.nanoTime();
+    Thread.sleep(windowMs);
+    stepPhase.set(null);
+    double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+    long outstanding = stepPhase.awaitPrevious(outstandingBoundMs);
+    Histogram histogram = measurements.getPhaseHistogram(phase);
+    long completed = histogram.getTotalCount();
+    if (outstanding > 0) {
+      histogram.recordValueWithCount(Math.max(sloUs + 1, TimeUnit.MILLISECONDS.toMicros(outstandingBoundMs)),
+          outstanding);
+    }
+    long latency = histogram.getValueAtPercentile(percentile);
+    boolean meetsSlo = completed > 0 && latency <= sloUs;
+    return new Step(rate, completed / seconds, latency, meetsSlo, histogram);
+  }
+
+  /**
+   * Reports the progress and the result of the search.
+   */
+  private final class SearchMeasurement extends OneMeasurement {
+    SearchMeasurement() {
+      super("SEARCH");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the steps are tracked by the search
+    }
+
+    @Override
+    public String getSummary() {
+      return String.format("[SEARCH: Steps=%d, Best=%.1f ops/sec]", steps.size(), best);
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      exporter.write(getName(), "MaxSustainableThroughput(ops/sec)", best);
+      exporter.write(getName(), "SLO(us)", sloUs);
+      exporter.write(getName(), "Percentile", percentile);
+      exporter.write(getName(), "Steps", steps.size());
+      for (int i = 0; i < steps.size(); i++) {
+        Step step = steps.get(i);
+        String name = getName() + "-STEP-" + (i + 1);
+        exporter.write(name, "Target(ops/sec)", step.target);
+        exporter.write(name, "Throughput(ops/sec)", step.throughput);
+        exporter.write(name, "MeetsSLO", step.meetsSlo ? 1 : 0);
+        if (step.histogram == null) {
+          continue;
+        }
+        exporter.write(name, "Operations", step.histogram.getTotalCount());
+        exporter.write(name, "AverageLatency(us)", step.histogram.getMean());
+        exporter.write(name, "MinLatency(us)", step.histogram.getMinValue());
+        exporter.write(name, "MaxLatency(us)", step.histogram.getMaxValue());
+        for (double p : EXPORTED_PERCENTILES) {
+          exporter.write(name, p + "PercentileLatency(us)", step.histogram.getValueAtPercentile(p));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,386 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import org.HdrHistogram.Histogram;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import site.ycsb.measurements.Measurements;
+import site.ycsb.measurements.OneMeasurement;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sweeps the offered load over a list of target rates and/or thread counts within a single run, so the
+ * points of a throughput-latency curve share the warmed-up JIT, the open connections and the state of the
+ * server instead of each starting a new JVM.
+ * <p>
+ * Every point first lets the system settle at its rate and thread count for sweep.settle seconds and then
+ * measures for sweep.window seconds. The points are all thread counts of sweep.threads, each with all
+ * rates of sweep.targets. Latencies of a point are recorded per operation under the suffix -POINT-n, e.g.
+ * [Intended-READ-POINT-3], so the measurements of one point do not mix with those of the others. The
+ * throughput and the average and 99th percentile of the service and intended latencies of every point are
+ * written as one table to sweep.output, as CSV or, if the name ends in .json, as a JSON array.
+ */
+public class ThroughputSweep {
+  /** The target rates to sweep, in operations per second, e.g. 1000,2000,4000. */
+  public static final String TARGETS_PROPERTY = "sweep.targets";
+
+  /** The thread counts to sweep, e.g. 8,16,32. */
+  public static final String THREADS_PROPERTY = "sweep.threads";
+
+  /** The time to settle at a new point before measuring, in seconds. */
+  public static final String SETTLE_PROPERTY = "sweep.settle";
+  public static final String SETTLE_PROPERTY_DEFAULT = "10";
+
+  /** The length of the measurement window of a point, in seconds. */
+  public static final String WINDOW_PROPERTY = "sweep.window";
+  public static final String WINDOW_PROPERTY_DEFAULT = "30";
+
+  /** The file to write the table of points to. */
+  public static final String OUTPUT_PROPERTY = "sweep.output";
+  public static final String OUTPUT_PROPERTY_DEFAULT = "sweep.csv";
+
+  private static final String[] COLUMNS = {"point", "threads", "target", "throughput", "operations",
+      "avg_us", "p99_us", "intended_avg_us", "intended_p99_us"};
+
+  private final ArrivalProcess arrivals;
+  private final ThreadGate gate;
+  private final Workload workload;
+  private final Measurements measurements;
+  private OpenLoopScheduler scheduler;
+  /** The point being measured, keyed apart from the phases of other features. */
+  private final Measurements.Phase pointPhase = new Measurements.Phase();
+  private final double[] targets;
+  private final int[] threads;
+  private final long settleMs;
+  private final long windowMs;
+  private final long outstandingBoundMs;
+  private final File output;
+
+  private final List<Point> points = new CopyOnWriteArrayList<>();
+
+  /**
+   * The outcome of one measurement window.
+   */
+  static final class Point {
+    private final int threads;
+    private final double target;
+    private final double throughput;
+    private final Histogram service;
+    private final Histogram intended;
+
+    Point(int threads, double target, double throughput, Histogram service, Histogram intended) {
+      this.threads = threads;
+      this.target = target;
+      this.throughput = throughput;
+      this.service = service;
+      this.intended = intended;
+    }
+
+    /**
+     * @return the values of the point in the order of the columns; latencies not measured are empty.
+     */
+    private Object[] values(int index) {
+      return new Object[] {index, threads, target, throughput,
+          Math.max(service.getTotalCount(), intended.getTotalCount()),
+          mean(service), percentile(service), mean(intended), percentile(intended)};
+    }
+
+    private static Object mean(Histogram h) {
+      return h.getTotalCount() == 0 ? null : h.getMean();
+    }
+
+    private static Object percentile(Histogram h) {
+      return h.getTotalCount() == 0 ? null : h.getValueAtPercentile(99);
+    }
+  }
+
+  /**
+   * Let the sweep also drop the backlog of an open-loop scheduler when it skips the arrivals of a previous point.
+   */
+  void setScheduler(OpenLoopScheduler openLoopScheduler) {
+    this.scheduler = openLoopScheduler;
+  }
+
+  /**
+   * Drop the arrivals intended to start before now.
+   */
+  private void skipBacklog() {
+    long now = System.nanoTime();
+    arrivals.skipTo(now);
+    if (scheduler != null) {
+      scheduler.skipTo(now);
+    }
+  }
+
+  /**
+   * @return whether the properties ask for a sweep.
+   */
+  public static boolean isEnabled(Properties p) {
+    return p.getProperty(TARGETS_PROPERTY) != null || p.getProperty(THREADS_PROPERTY) != null;
+  }
+
+  /**
+   * @return the number of client threads to create for the given thread count: enough for every point.
+   */
+  public static int getMaxThreads(Properties p, int threadcount) {
+    int max = threadcount;
+    for (int t : parseThreads(p)) {
+      max = Math.max(max, t);
+    }
+    return max;
+  }
+
+  /**
+   * @return the first target rate of the sweep, or 0 if it does not sweep rates.
+   */
+  public static double getFirstTarget(Properties p) {
+    double[] targets = parseTargets(p);
+    return targets.length == 0 ? 0 : targets[0];
+  }
+
+  private static double[] parseTargets(Properties p) {
+    String list = p.getProperty(TARGETS_PROPERTY);
+    if (list == null) {
+      return new double[0];
+    }
+    String[] items = list.split(",");
+    double[] targets = new double[items.length];
+    for (int i = 0; i < items.length; i++) {
+      targets[i] = Double.parseDouble(items[i].trim());
+      if (targets[i] <= 0) {
+        throw new IllegalArgumentException("unknown " + TARGETS_PROPERTY + "=" + list);
+      }
+    }
+    return targets;
+  }
+
+  private static int[] parseThreads(Properties p) {
+    String list = p.getProperty(THREADS_PROPERTY);
+    if (list == null) {
+      return new int[0];
+    }
+    String[] items = list.split(",");
+    int[] threads = new int[items.length];
+    for (int i = 0; i < items.length; i++) {
+      threads[i] = Integer.parseInt(items[i].trim());
+      if (threads[i] < 1) {
+        throw new IllegalArgumentException("unknown " + THREADS_PROPERTY + "=" + list);
+      }
+    }
+    return threads;
+  }
+
+  /**
+   * @param p        the properties of the run
+   * @param arrivals the arrival process of the aggregate offered load, or null if the sweep keeps the rate
+   * @param gate     the gate of the client threads, or null if the sweep keeps the thread count
+   * @param workload the workload, polled for stop requests
+   * @throws IllegalArgumentException if the sweep is misconfigured
+   */
+  ThroughputSweep(Properties p, ArrivalProcess arrivals, ThreadGate gate, Workload workload) {
+    this.arrivals = arrivals;
+    this.gate = gate;
+    this.workload = workload;
+    targets = parseTargets(p);
+    threads = parseThreads(p);
+    if ((targets.length > 0 && arrivals == null) || (threads.length > 0 && gate == null)) {
+      throw new IllegalArgumentException("the sweep can only change the rate of a throttled run and the "
+          + "thread count of a transaction run with shared pacing and without users");
+    }
+    settleMs = (long) (Double.parseDouble(p.getProperty(SETTLE_PROPERTY, SETTLE_PROPERTY_DEFAULT)) * 1000);
+    windowMs = (long) (Double.parseDouble(p.getProperty(WINDOW_PROPERTY, WINDOW_PROPERTY_DEFAULT)) * 1000);
+    if (windowMs <= 0) {
+      throw new IllegalArgumentException(WINDOW_PROPERTY + " must be positive");
+    }
+    outstandingBoundMs = DBWrapper.getOutstandingBoundMs(p);
+    output = new File(p.getProperty(OUTPUT_PROPERTY, OUTPUT_PROPERTY_DEFAULT));
+    String type = p.getProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    if (!type.equals("hdrhistogram")) {
+      throw new IllegalArgumentException("the sweep requires " + Measurements.MEASUREMENT_TYPE_PROPERTY
+          + "=hdrhistogram");
+    }
+    measurements = Measurements.getMeasurements();
+    measurements.addPhaseSource(pointPhase);
+    measurements.addMeasurement(new SweepMeasurement());
+  }
+
+  /**
+   * Measure every point and write the table. Returns early if the workload is asked to stop.
+   */
+  public void run() throws InterruptedException, IOException {
+    while (!measurements.isWarmupFinished() && !workload.isStopRequested()) {
+      Thread.sleep(100);
+    }
+    int[] threadPoints = threads.length > 0 ? threads : new int[] {0};
+    double[] targetPoints = targets.length > 0 ? targets : new double[] {0};
+    for (int t : threadPoints) {
+      for (double target : targetPoints) {
+        if (workload.isStopRequested()) {
+          break;
+        }
+        Point point = measure(points.size() + 1, t, target);
+        points.add(point);
+        System.err.println(String.format("Sweep point %d: %d threads, target %.1f ops/sec, throughput %.1f "
+                + "ops/sec, 99 percentile latency %d us, intended %d us", points.size(), point.threads,
+            point.target, point.throughput, point.service.getValueAtPercentile(99),
+            point.intended.getValueAtPercentile(99)));
+      }
+    }
+    write();
+  }
+
+  /**
+   * Settle at the given thread count and rate, 0 to keep them, and measure one window. The requests of the
+   * window still in flight at its end are waited for until they complete or time out; those outstanding for
+   * longer are counted at that bound.
+   */
+  Point measure(int index, int threadCount, double target) throws InterruptedException {
+    if (threadCount > 0) {
+      gate.setActive(threadCount);
+    }
+    if (target > 0) {
+      if (target < arrivals.getRate()) {
+        // do not catch up on the arrivals the previous point fell behind on
+        skipBacklog();
+      }
+      arrivals.setRate(target);
+    }
+    Thread.sleep(settleMs);
+    String phase = "POINT-" + index;
+    pointPhase.set(phase);
+    long start = System.nanoTime();
+    Thread.sleep(windowMs);
+    pointPhase.set(null);
+    double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+    long outstanding = pointPhase.awaitPrevious(outstandingBoundMs);
+    Histogram service = measurements.getPhaseHistogram(phase, false);
+    Histogram intended = measurements.getPhaseHistogram(phase, true);
+    long count = Math.max(service.getTotalCount(), intended.getTotalCount());
+    for (Histogram measured : new Histogram[] {service, intended}) {
+      if (outstanding > 0 && measured.getTotalCount() > 0) {
+        measured.recordValueWithCount(TimeUnit.MILLISECONDS.toMicros(outstandingBoundMs), outstanding);
+      }
+    }
+    return new Point(gate == null ? 0 : gate.getActive(), arrivals == null ? 0 : arrivals.getRate(),
+        count / seconds, service, intended);
+  }
+
+  /**
+   * Write the table of points, as JSON if the output name ends in .json and as CSV otherwise.
+   */
+  void write() throws IOException {
+    File parent = output.getAbsoluteFile().getParentFile();
+    if (parent != null) {
+      parent.mkdirs();
+    }
+    try (OutputStream out = new FileOutputStream(output)) {
+      if (output.getName().endsWith(".json")) {
+        writeJson(out);
+      } else {
+        writeCsv(out);
+      }
+    }
+    System.err.println("Sweep results written to " + output);
+  }
+
+  private void writeCsv(OutputStream out) {
+    PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.println(String.join(",", COLUMNS));
+    for (int i = 0; i < points.size(); i++) {
+      List<String> row = new ArrayList<>();
+      for (Object value : points.get(i).values(i + 1)) {
+        row.add(value == null ? "" : value.toString());
+      }
+      writer.println(String.join(",", row));
+    }
+    writer.flush();
+  }
+
+  private void writeJson(OutputStream out) throws IOException {
+    JsonGenerator g = new JsonFactory().createJsonGenerator(out, JsonEncoding.UTF8);
+    g.useDefaultPrettyPrinter();
+    g.writeStartArray();
+    for (int i = 0; i < points.size(); i++) {
+      Object[] values = points.get(i).values(i + 1);
+      g.writeStartObject();
+      for (int c = 0; c < COLUMNS.length; c++) {
+        Object value = values[c];
+        if (value == null) {
+          g.writeNullField(COLUMNS[c]);
+        } else if (value instanceof Integer) {
+          g.writeNumberField(COLUMNS[c], (Integer) value);
+        } else if (value instanceof Long) {
+          g.writeNumberField(COLUMNS[c], (Long) value);
+        } else {
+          g.writeNumberField(COLUMNS[c], (Double) value);
+        }
+      }
+      g.writeEndObject();
+    }
+    g.writeEndArray();
+    g.flush();
+  }
+
+  /**
+   * Reports the progress of the sweep.
+   */
+  private final class SweepMeasurement extends OneMeasurement {
+    SweepMeasurement() {
+      super("SWEEP");
+    }
+
+    @Override
+    public void measure(int latency) {
+      // the points are tracked by the sweep
+    }
+
+    @Override
+    public String getSummary() {
+      return String.format("[SWEEP: Points=%d/%d]", points.size(),
+          Math.max(1, threads.length) * Math.max(1, targets.length));
+    }
+
+    @Override
+    public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+      exporter.write(getName(), "Points", points.size());
+      for (int i = 0; i < points.size(); i++) {
+        Point point = points.get(i);
+        String name = getName() + "-POINT-" + (i + 1);
+        exporter.write(name, "Threads", point.threads);
+        exporter.write(name, "Target(ops/sec)", point.target);
+        exporter.write(name, "Throughput(ops/sec)", point.throughput);
+      }
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timer wheel for the deadlines of many short-lived requests.
+ * <p>
+ * Scheduling only enqueues the timeout; one thread moves new timeouts into the slots of the wheel and expires
+ * those of the current slot on every tick, so the cost per request is constant no matter how many are
+ * outstanding. A timeout expires at most one tick after its deadline. A cancelled timeout never expires and
+ * is dropped the next time the wheel passes its slot, so a completed request is released within one turn of
+ * the wheel rather than kept until its deadline.
+ */
+public final class TimerWheel {
+  /** The resolution of the shared wheel. */
+  private static final long SHARED_TICK_NS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int SHARED_SLOTS = 1024;
+
+  private static TimerWheel shared;
+
+  /**
+   * Something to happen at a deadline. An instance may be scheduled once.
+   */
+  public abstract static class Timeout {
+    private long deadlineNs;
+    private long rounds;
+    private volatile boolean cancelled;
+
+    /**
+     * @return the time the timeout was scheduled for.
+     */
+    public long getDeadlineNs() {
+      return deadlineNs;
+    }
+
+    /**
+     * Keep the timeout from expiring, e.g. because its request completed; thread-safe.
+     */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    /**
+     * Called on the wheel's thread once the deadline has passed; must not block.
+     */
+    protected abstract void expire();
+  }
+
+  private final long tickNs;
+  private final int mask;
+  private final List<Timeout>[] slots;
+  private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+  private final Thread worker;
+  private final long startNs;
+  private long tick;
+
+  /**
+   * @param name   the name of the wheel's thread
+   * @param tickNs the resolution of the wheel
+   * @param slots  the number of slots, rounded up to a power of two
+   */
+  @SuppressWarnings("unchecked")
+  public TimerWheel(String name, long tickNs, int slots) {
+    if (tickNs <= 0 || slots <= 0) {
+      throw new IllegalArgumentException("the tick and the number of slots of a timer wheel must be positive");
+    }
+    this.tickNs = tickNs;
+    int size = Integer.highestOneBit(slots);
+    if (size < slots) {
+      size <<= 1;
+    }
+    this.mask = size - 1;
+    this.slots = new List[size];
+    for (int i = 0; i < size; i++) {
+      this.slots[i] = new ArrayList<>();
+    }
+    startNs = System.nanoTime();
+    worker = Threads.newThread(this::run, name);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * @return the wheel shared by the whole client, started on first use.
+   */
+  public static synchronized TimerWheel shared() {
+    if (shared == null) {
+      shared = new TimerWheel("TimerWheel", SHARED_TICK_NS, SHARED_SLOTS);
+    }
+    return shared;
+  }
+
+  /**
+   * Schedule a timeout; thread-safe.
+   *
+   * @param timeout    the timeout, not scheduled before
+   * @param deadlineNs when to expire it, in terms of {@link System#nanoTime()}
+   */
+  public void schedule(Timeout timeout, long deadlineNs) {
+    timeout.deadlineNs = deadlineNs;
+    incoming.add(timeout);
+  }
+
+  /**
+   * Stop the wheel's thread; pending timeouts no longer expire.
+   */
+  public void stop() {
+    worker.interrupt();
+  }
+
+  private void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      long wait;
+      while ((wait = startNs + (tick + 1) * tickNs - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(wait);
+        if (Thread.currentThread().isInterrupted()) {
+          return;
+        }
+      }
+      transferIncoming();
+      expireCurrentSlot();
+      tick++;
+    }
+  }
+
+  private void transferIncoming() {
+    Timeout timeout;
+    while ((timeout = incoming.poll()) != null) {
+      if (timeout.cancelled) {
+        continue;
+      }
+      // a deadline in the past expires on the current tick
+      long due = Math.max(tick, (timeout.deadlineNs - startNs) / tickNs);
+      timeout.rounds = (due - tick) / slots.length;
+      slots[(int) (due & mask)].add(timeout);
+    }
+  }
+
+  private void expireCurrentSlot() {
+    List<Timeout> slot = slots[(int) (tick & mask)];
+    int kept = 0;
+    for (int i = 0; i < slot.size(); i++) {
+      Timeout timeout = slot.get(i);
+      if (timeout.cancelled) {
+        continue;
+      }
+      if (timeout.rounds <= 0) {
+        try {
+          timeout.expire();
+        } catch (RuntimeException e) {
+          e.printStackTrace();
+        }
+      } else {
+        timeout.rounds--;
+        slot.set(kept++, timeout);
+      }
+    }
+    slot.subList(kept, slot.size()).clear();
+  }
+}
@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import site.ycsb.generator.ConstantIntegerGenerator;
+import site.ycsb.generator.ExponentialGenerator;
+import site.ycsb.generator.NumberGenerator;
+import site.ycsb.generator.UniformLongGenerator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A closed-loop model of many users, each of which waits a think time between the completion of one operation
+ * and the start of its next.
+ * <p>
+ * The users are multiplexed onto the client threads, which act as carriers: each carrier keeps its users on a
+ * {@link HierarchicalTimerWheel} while they think and issues the operation of whichever user is due. A user's
+ * think time starts when all requests of its operation have completed, which for an asynchronous binding
+ * happens on another thread, so a few carriers can drive a large number of mostly idle users. The intended
+ * start of an operation is the end of the think time before it. The first think times start when a carrier
+ * first looks for a user, which is once the run has started.
+ */
+public final class UserModel {
+  /**
+   * The name of the property for the number of users, 0 for one closed loop per client thread.
+   */
+  public static final String USERS_PROPERTY = "users";
+
+  /**
+   * Default value of the users property.
+   */
+  public static final String USERS_PROPERTY_DEFAULT = "0";
+
+  /**
+   * The name of the property for the mean think time in milliseconds.
+   */
+  public static final String THINK_TIME_PROPERTY = "thinktime";
+
+  /**
+   * Default value of the thinktime property.
+   */
+  public static final String THINK_TIME_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * The name of the property for the distribution of think times: constant, uniform (between 0 and twice the
+   * mean) or exponential.
+   */
+  public static final String THINK_TIME_DISTRIBUTION_PROPERTY = "thinktimedistribution";
+
+  /**
+   * Default value of the thinktimedistribution property.
+   */
+  public static final String THINK_TIME_DISTRIBUTION_PROPERTY_DEFAULT = "exponential";
+
+  private static final long TICK_NS = TimeUnit.MICROSECONDS.toNanos(100);
+  /** The longest a carrier waits before it checks whether the run has ended. */
+  private static final long MAX_WAIT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final NumberGenerator thinkTimeUs;
+  private final double meanThinkTimeMs;
+  private final List<User> users;
+  private final Carrier[] carriers;
+
+  private UserModel(int users, int carriers, NumberGenerator thinkTimeUs, double meanThinkTimeMs) {
+    this.thinkTimeUs = thinkTimeUs;
+    this.meanThinkTimeMs = meanThinkTimeMs;
+    this.users = new ArrayList<>(users);
+    this.carriers = new Carrier[carriers];
+    for (int i = 0; i < carriers; i++) {
+      this.carriers[i] = new Carrier();
+    }
+    for (int i = 0; i < users; i++) {
+      User user = new User(this.carriers[i % carriers]);
+      this.users.add(user);
+      user.carrier.starting.add(user);
+    }
+  }
+
+  /**
+   * Create the users configured by the properties.
+   *
+   * @param carriers the number of client threads to spread the users over
+   * @return the users, or null if the users property is not set.
+   * @throws IllegalArgumentException if the think time distribution is unknown
+   */
+  public static UserModel create(Properties p, int carriers) {
+    int users = Integer.parseInt(p.getProperty(USERS_PROPERTY, USERS_PROPERTY_DEFAULT));
+    if (users <= 0 || carriers <= 0) {
+      return null;
+    }
+    double mean = Double.parseDouble(p.getProperty(THINK_TIME_PROPERTY, THINK_TIME_PROPERTY_DEFAULT));
+    String distribution = p.getProperty(THINK_TIME_DISTRIBUTION_PROPERTY, THINK_TIME_DISTRIBUTION_PROPERTY_DEFAULT);
+    long meanUs = (long) (mean * 1000);
+    NumberGenerator thinkTimeUs;
+    switch (distribution) {
+    case "constant":
+      thinkTimeUs = new ConstantIntegerGenerator((int) meanUs);
+      break;
+    case "uniform":
+      thinkTimeUs = new UniformLongGenerator(0, 2 * meanUs);
+      break;
+    case "exponential":
+      thinkTimeUs = new ExponentialGenerator(meanUs);
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + THINK_TIME_DISTRIBUTION_PROPERTY + "=" + distribution);
+    }
+    return new UserModel(users, carriers, thinkTimeUs, mean);
+  }
+
+  /**
+   * @return the carrier of the users of one client thread.
+   */
+  public Carrier getCarrier(int index) {
+    return carriers[index];
+  }
+
+  public int getUsers() {
+    return users.size();
+  }
+
+  public double getMeanThinkTimeMs() {
+    return meanThinkTimeMs;
+  }
+
+  /**
+   * @return the number of operations each user issued after the warmup.
+   */
+  public long[] getUserOps() {
+    long[] ops = new long[users.size()];
+    for (int i = 0; i < ops.length; i++) {
+      ops[i] = users.get(i).ops;
+    }
+    return ops;
+  }
+
+  /**
+   * Jain's fairness index of the operations of the users: 1 if all users issued as many operations, down to
+   * 1/n if one user issued all of them.
+   */
+  public static double fairness(long[] ops) {
+    double sum = 0;
+    double sumOfSquares = 0;
+    for (long n : ops) {
+      sum += n;
+      sumOfSquares += (double) n * n;
+    }
+    return sumOfSquares == 0 ? 1 : sum * sum / (ops.length * sumOfSquares);
+  }
+
+  /**
+   * The users of one client thread, waiting on a timer wheel while they think. Only the client thread
+   * advances the wheel; users whose operation completed are handed back to it through a queue.
+   */
+  public final class Carrier {
+    /** The users of the carrier, until it starts. */
+    private final List<User> starting = new ArrayList<>();
+    private HierarchicalTimerWheel wheel;
+    private final ConcurrentLinkedQueue<User> thinking = new ConcurrentLinkedQueue<>();
+    private final ArrayDeque<User> due = new ArrayDeque<>();
+    private volatile Thread thread;
+
+    /**
+     * Start the first think times of the users, which spreads them out.
+     */
+    private void start(long originNs) {
+      wheel = new HierarchicalTimerWheel(TICK_NS, originNs);
+      for (User user : starting) {
+        think(user, originNs);
+      }
+      starting.clear();
+    }
+
+    /**
+     * Wait for the next user whose think time has passed, for a short while at most.
+     *
+     * @return the user, or null if none became due.
+     */
+    User next() {
+      if (thread == null) {
+        start(System.nanoTime());
+        thread = Thread.currentThread();
+      }
+      User user = poll();
+      if (user == null) {
+        long now = System.nanoTime();
+        long wait = Math.min(wheel.nextDeadlineNs() - now, MAX_WAIT_NS);
+        if (wait > 0) {
+          // a completing operation wakes the carrier to start the think time of its user
+          LockSupport.parkNanos(this, wait);
+        }
+        user = poll();
+      }
+      return user;
+    }
+
+    private User poll() {
+      User user = due.poll();
+      if (user != null) {
+        return user;
+      }
+      while ((user = thinking.poll()) != null) {
+        think(user, user.completedNs);
+      }
+      wheel.advance(System.nanoTime(), timer -> due.add((User) timer));
+      return due.poll();
+    }
+
+    private void think(User user, long fromNs) {
+      user.dueNs = fromNs + TimeUnit.MICROSECONDS.toNanos(thinkTimeUs.nextValue().longValue());
+      wheel.schedule(user, user.dueNs);
+    }
+
+    private void completed(User user) {
+      user.completedNs = System.nanoTime();
+      thinking.add(user);
+      Thread t = thread;
+      if (t != null) {
+        LockSupport.unpark(t);
+      }
+    }
+  }
+
+  /**
+   * A user, which counts the requests of its current operation to learn when all of them have completed.
+   */
+  static final class User extends HierarchicalTimerWheel.Timer implements OperationContext.Listener {
+    private final Carrier carrier;
+    /** The requests of the current operation that have not completed, plus one while it is being issued. */
+    private final AtomicInteger pending = new AtomicInteger();
+    private long dueNs;
+    private long completedNs;
+    private long ops;
+
+    private User(Carrier carrier) {
+      this.carrier = carrier;
+    }
+
+    /**
+     * @return the time the think time before the next operation ended.
+     */
+    long getDueNs() {
+      return dueNs;
+    }
+
+    /**
+     * The user's operation is about to be issued.
+     */
+    void begin() {
+      pending.set(1);
+    }
+
+    /**
+     * The user's operation has been issued, or failed to be; its requests may still be outstanding.
+     *
+     * @param measured whether the operation counts towards the operations of the user
+     */
+    void issued(boolean measured) {
+      if (measured) {
+        ops++;
+      }
+      completed();
+    }
+
+    @Override
+    public void sent() {
+      pending.incrementAndGet();
+    }
+
+    @Override
+    public void completed() {
+      if (pending.decrementAndGet() == 0) {
+        carrier.completed(this);
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The operations of a run that the client threads have yet to claim. Threads claim operations in chunks
+ * instead of each doing a fixed share of the run, so fast threads keep working until the whole budget is
+ * used and the run does not end on a few stragglers. Chunks shrink as the pool drains, so the last
+ * operations are spread over all threads.
+ */
+final class WorkPool {
+  /** The largest number of operations a thread claims at once. */
+  public static final String CHUNK_PROPERTY = "operationcount.chunk";
+  public static final String CHUNK_PROPERTY_DEFAULT = "1000";
+
+  private final AtomicLong remaining;
+  private final long maxChunk;
+  private final int threads;
+
+  /**
+   * @param operations the operations of the run
+   * @param maxChunk   the largest number of operations a thread claims at once
+   * @param threads    the number of threads sharing the pool
+   */
+  WorkPool(long operations, long maxChunk, int threads) {
+    this.remaining = new AtomicLong(operations);
+    this.maxChunk = maxChunk;
+    this.threads = threads;
+  }
+
+  /**
+   * Claim the next chunk of operations: a share of what remains, at most the largest chunk.
+   *
+   * @return the number of operations claimed, 0 once the pool is empty.
+   */
+  long claim() {
+    while (true) {
+      long left = remaining.get();
+      if (left <= 0) {
+        return 0;
+      }
+      // a fraction of each thread's share of the remainder keeps the tail balanced
+      long chunk = Math.max(1, Math.min(maxChunk, left / (2L * threads)));
+      if (remaining.compareAndSet(left, left - chunk)) {
+        return chunk;
+      }
+    }
+  }
+
+  /**
+   * @return the number of operations not yet claimed.
+   */
+  long getRemaining() {
+    return Math.max(0, remaining.get());
+  }
+}
@@ -17,6 +17,8 @@
 
 package site.ycsb;
 
+import site.ycsb.measurements.Measurements;
+
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.Properties;
 
@@ -105,6 +107,40 @@ public abstract class Workload {
    */
   public abstract boolean doTransaction(DB db, Object threadstate);
 
+  /**
+   * Do one insert operation with the given timing. Workloads should pass the context on to the DB calls of
+   * the operation, so the latencies account for the intended start time. By default this calls
+   * {@link #doInsert(DB, Object)} with the intended start time left in {@link Measurements} for the DB
+   * calls that do not carry one.
+   */
+  @SuppressWarnings("deprecation")
+  public boolean doInsert(DB db, Object threadstate, OperationContext context) {
+    Measurements measurements = Measurements.getMeasurements();
+    measurements.setIntendedStartTimeNs(context.getIntendedStartNs());
+    try {
+      return doInsert(db, threadstate);
+    } finally {
+      measurements.setIntendedStartTimeNs(0);
+    }
+  }
+
+  /**
+   * Do one transaction operation with the given timing. Workloads should pass the context on to the DB calls
+   * of the operation, so the latencies account for the intended start time. By default this calls
+   * {@link #doTransaction(DB, Object)} with the intended start time left in {@link Measurements} for the
+   * DB calls that do not carry one.
+   */
+  @SuppressWarnings("deprecation")
+  public boolean doTransaction(DB db, Object threadstate, OperationContext context) {
+    Measurements measurements = Measurements.getMeasurements();
+    measurements.setIntendedStartTimeNs(context.getIntendedStartNs());
+    try {
+      return doTransaction(db, threadstate);
+    } finally {
+      measurements.setIntendedStartTimeNs(0);
+    }
+  }
+
   /**
    * Allows scheduling a request to stop the workload.
    */
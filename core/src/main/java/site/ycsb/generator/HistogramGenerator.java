@@ -82,8 +82,18 @@ public class HistogramGenerator extends NumberGenerator {
       area += buckets[i];
       weightedArea += i * buckets[i];
     }
-    // calculate average file size
-    meanSize = ((double) blockSize) * ((double) weightedArea) / (area);
+    // calculate average file size as drawn by nextValue(): of the numbers 0 to area - 1, bucket 0 takes one
+    // more than its weight and returns blockSize, the other buckets return one block more than their
+    // index, except the last, which takes the rest and returns its index
+    double sum = 0;
+    long low = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      long high = i < buckets.length - 1 ? Math.min(low + buckets[i] - (i == 0 ? 0 : 1), area - 1) : area - 1;
+      long count = Math.max(0, high - low + 1);
+      sum += (double) count * (i < buckets.length - 1 ? i + 1 : i);
+      low += count;
+    }
+    meanSize = blockSize * sum / area;
   }
 
   @Override
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.generator;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates doubles randomly uniform from an interval.
+ */
+public class UniformDoubleGenerator extends NumberGenerator {
+  private final double lb, ub;
+
+  /**
+   * Creates a generator that will return doubles uniformly randomly from the
+   * interval [lb,ub).
+   *
+   * @param lb the lower bound (inclusive) of generated values
+   * @param ub the upper bound (exclusive) of generated values
+   */
+  public UniformDoubleGenerator(double lb, double ub) {
+    this.lb = lb;
+    this.ub = ub;
+  }
+
+  @Override
+  public Double nextValue() {
+    double ret = lb + ThreadLocalRandom.current().nextDouble() * (ub - lb);
+    setLastValue(ret);
+
+    return ret;
+  }
+
+  @Override
+  public double mean() {
+    return (lb + ub) / 2.0;
+  }
+}
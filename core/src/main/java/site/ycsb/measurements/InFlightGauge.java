@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the number of requests in flight, per binding instance and in total. The peak of each instance is
+ * exact, the peak total is sampled at every status interval.
+ */
+public class InFlightGauge extends OneMeasurement {
+  private final List<Counter> counters = new CopyOnWriteArrayList<>();
+  private volatile int peakTotal;
+
+  /**
+   * The requests in flight of one binding instance. Only the thread that owns the instance starts requests,
+   * while they may complete on any thread.
+   */
+  public static final class Counter {
+    private final AtomicInteger current = new AtomicInteger();
+    private volatile int peak;
+
+    public void start() {
+      int n = current.incrementAndGet();
+      if (n > peak) {
+        peak = n;
+      }
+    }
+
+    public void end() {
+      current.decrementAndGet();
+    }
+
+    public int get() {
+      return current.get();
+    }
+  }
+
+  public InFlightGauge(String name) {
+    super(name);
+  }
+
+  /**
+   * @return a new counter for one binding instance.
+   */
+  public Counter register() {
+    Counter counter = new Counter();
+    counters.add(counter);
+    return counter;
+  }
+
+  @Override
+  public void measure(int latency) {
+    // the counts are kept by the counters
+  }
+
+  @Override
+  public String getSummary() {
+    int total = 0;
+    int max = 0;
+    for (Counter counter : counters) {
+      int n = counter.get();
+      total += n;
+      max = Math.max(max, n);
+    }
+    if (total > peakTotal) {
+      peakTotal = total;
+    }
+    return "[" + getName() + ": Total=" + total + ", MaxPerInstance=" + max + "]";
+  }
+
+  @Override
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    int peak = 0;
+    for (Counter counter : counters) {
+      peak = Math.max(peak, counter.peak);
+    }
+    exporter.write(getName(), "Instances", counters.size());
+    exporter.write(getName(), "PeakTotal", peakTotal);
+    exporter.write(getName(), "PeakPerInstance", peak);
+  }
+}
@@ -18,12 +18,21 @@
 package site.ycsb.measurements;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.HdrHistogram.Histogram;
 import site.ycsb.Status;
 import site.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Collects latency measurements, and reports them when requested.
@@ -50,9 +59,22 @@ public class Measurements {
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY = "measurement.trackjvm";
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT = "false";
 
+  /**
+   * A prefix for the names of the operations measured by a DB or workload, e.g. the name of a tenant.
+   */
+  public static final String MEASUREMENT_PREFIX_PROPERTY = "measurement.prefix";
+  public static final String MEASUREMENT_PREFIX_PROPERTY_DEFAULT = "";
+
   public static final String EXPORTER_CDF = "exportercdf";
   public static final String EXPORTER_CDF_DEFAULT = "false";
 
+  /**
+   * The 99th percentile scheduler lag of a status interval, in microseconds, above which the run is flagged
+   * as client-bound.
+   */
+  public static final String SCHEDULER_LAG_WARNING_PROPERTY = "measurement.lagwarning.us";
+  public static final String SCHEDULER_LAG_WARNING_PROPERTY_DEFAULT = "10000";
+
   private static final String COMBINE_OP = "combineop";
   private static final String COMBINE_OP_DEFAULT = "false";
 
@@ -86,6 +108,125 @@ public class Measurements {
   private final boolean isCombineOp;
   private final Properties props;
 
+  /**
+   * The features of the load generator that divide the run into phases, such as the states of a bursty
+   * arrival process or the steps of a search. Latencies are also recorded per phase under the operation name
+   * suffixed with the phase of each source.
+   */
+  private final List<PhaseSource> phaseSources = new CopyOnWriteArrayList<>();
+  /** The names latencies are recorded under per phase, which repeat the latencies of their operation. */
+  private final Set<String> phaseOperations = ConcurrentHashMap.newKeySet();
+
+  private final List<IntervalListener> intervalListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Divides the run into phases, such as the states of a bursty arrival process. Each feature has its own
+   * source, so phases of different features do not override each other.
+   */
+  public interface PhaseSource {
+    /**
+     * @param intendedStartNs the time an operation was intended to start, in terms of System.nanoTime()
+     * @return the phase the operation belongs to, or null if none.
+     */
+    String phaseAt(long intendedStartNs);
+  }
+
+  /**
+   * A phase that is set as the run goes, e.g. to the step of a search. An operation belongs to the phase in
+   * effect when it was intended to start, even if it completes after the phase changed. Set by one thread.
+   * The requests of a named phase are counted while in flight, so its end can wait for them to complete.
+   */
+  public static final class Phase implements PhaseSource {
+    private volatile Window window = new Window(Long.MIN_VALUE, null, null);
+
+    private static final class Window {
+      private final long startNs;
+      private final String name;
+      private final LongAdder outstanding;
+      private final long previousStartNs;
+      private final String previous;
+      private final LongAdder previousOutstanding;
+
+      Window(long startNs, String name, Window previous) {
+        this.startNs = startNs;
+        this.name = name;
+        outstanding = name == null ? null : new LongAdder();
+        // only the last window is kept, so requests of older windows are no longer counted
+        previousStartNs = previous == null ? Long.MIN_VALUE : previous.startNs;
+        this.previous = previous == null ? null : previous.name;
+        previousOutstanding = previous == null ? null : previous.outstanding;
+      }
+    }
+
+    /**
+     * @param name the phase from now on, or null for none
+     */
+    public void set(String name) {
+      window = new Window(System.nanoTime(), name, window);
+    }
+
+    @Override
+    public String phaseAt(long intendedStartNs) {
+      Window current = window;
+      return intendedStartNs >= current.startNs ? current.name : current.previous;
+    }
+
+    /**
+     * Wait until the requests of the phase that the last {@link #set} ended have completed or timed out.
+     *
+     * @param timeoutMs how long to wait at most
+     * @return the number of requests of the phase still outstanding.
+     */
+    public long awaitPrevious(long timeoutMs) throws InterruptedException {
+      LongAdder ended = window.previousOutstanding;
+      if (ended == null) {
+        return 0;
+      }
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+      while (ended.sum() > 0 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      return Math.max(0, ended.sum());
+    }
+
+    private LongAdder outstandingAt(long intendedStartNs) {
+      Window current = window;
+      if (intendedStartNs >= current.startNs) {
+        return current.outstanding;
+      }
+      return intendedStartNs >= current.previousStartNs ? current.previousOutstanding : null;
+    }
+
+    void sent(long intendedStartNs) {
+      LongAdder outstanding = outstandingAt(intendedStartNs);
+      if (outstanding != null) {
+        outstanding.increment();
+      }
+    }
+
+    void completed(long intendedStartNs) {
+      LongAdder outstanding = outstandingAt(intendedStartNs);
+      if (outstanding != null) {
+        outstanding.decrement();
+      }
+    }
+  }
+
+  /**
+   * Told about the latencies of each status interval, e.g. to adapt the offered load to them.
+   */
+  public interface IntervalListener {
+    /**
+     * @param latencies the latencies recorded during the interval, merged across operations: the intended
+     *                  latencies where they are measured, the service latencies otherwise
+     */
+    void intervalEnded(Histogram latencies);
+  }
+
+  private final OneMeasurementSchedulerLag schedulerLag;
+  private final InFlightGauge inFlight;
+  private volatile boolean schedulerLagReported;
+
   /**
    * Create a new object with the specified properties.
    */
@@ -141,6 +282,10 @@ public class Measurements {
     if (warmupDuration > 0) {
       warmupActive.set(true);
     }
+
+    schedulerLag = new OneMeasurementSchedulerLag("SCHEDULER-LAG", Long.parseLong(
+        props.getProperty(SCHEDULER_LAG_WARNING_PROPERTY, SCHEDULER_LAG_WARNING_PROPERTY_DEFAULT)));
+    inFlight = new InFlightGauge("IN-FLIGHT");
   }
 
   private OneMeasurement constructOneMeasurement(String name) {
@@ -184,6 +329,13 @@ public class Measurements {
     }
   };
 
+  /**
+   * Set the intended start time of the operations the current thread sends next.
+   *
+   * @deprecated the intended start time travels with the {@link site.ycsb.OperationContext} of an operation;
+   * this is kept for workloads that do not pass one on to the DB.
+   */
+  @Deprecated
   public void setIntendedStartTimeNs(long time) {
     if (measurementInterval == 0) {
       return;
@@ -191,6 +343,11 @@ public class Measurements {
     tlIntendedStartTime.get().time = time;
   }
 
+  /**
+   * @return the intended start time set by the current thread, or the current time if none is set.
+   * @deprecated use {@link site.ycsb.OperationContext#getIntendedStartNs()}.
+   */
+  @Deprecated
   public long getIntendedStartTimeNs() {
     if (measurementInterval == 0) {
       return 0L;
@@ -203,6 +360,14 @@ public class Measurements {
    * value.
    */
   public void measure(String operation, int latency) {
+    measure(operation, latency, System.nanoTime());
+  }
+
+  /**
+   * Report the latency of an operation that was intended to start at the given time, which decides the
+   * phases it is also recorded in.
+   */
+  public void measure(String operation, int latency, long intendedStartNs) {
     if (measurementInterval == 1 || warmupActive.get()) {
       return;
     }
@@ -212,6 +377,12 @@ public class Measurements {
     try {
       OneMeasurement m = getOpMeasurement(operation);
       m.measure(latency);
+      for (PhaseSource source : phaseSources) {
+        String current = source.phaseAt(intendedStartNs);
+        if (current != null) {
+          getPhaseMeasurement(operation + "-" + current, false).measure(latency);
+        }
+      }
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
       // This seems like a terribly hacky way to cover up for a bug in the measurement code
       System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
@@ -225,6 +396,14 @@ public class Measurements {
    * value.
    */
   public void measureIntended(String operation, int latency) {
+    measureIntended(operation, latency, System.nanoTime());
+  }
+
+  /**
+   * Report the intended latency of an operation that was intended to start at the given time, which decides
+   * the phases it is also recorded in.
+   */
+  public void measureIntended(String operation, int latency, long intendedStartNs) {
     if (measurementInterval == 0 || warmupActive.get()) {
       return;
     }
@@ -234,6 +413,12 @@ public class Measurements {
     try {
       OneMeasurement m = getOpIntendedMeasurement(operation);
       m.measure(latency);
+      for (PhaseSource source : phaseSources) {
+        String current = source.phaseAt(intendedStartNs);
+        if (current != null) {
+          getPhaseMeasurement(operation + "-" + current, true).measure(latency);
+        }
+      }
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
       // This seems like a terribly hacky way to cover up for a bug in the measurement code
       System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
@@ -243,9 +428,6 @@ public class Measurements {
   }
 
   private OneMeasurement getOpMeasurement(String operation) {
-    if (isCombineOp) {
-      operation = "OVERALL";
-    }
     OneMeasurement m = opToMesurementMap.get(operation);
     if (m == null) {
       m = constructOneMeasurement(operation);
@@ -257,10 +439,17 @@ public class Measurements {
     return m;
   }
 
-  private OneMeasurement getOpIntendedMeasurement(String operation) {
-    if (isCombineOp) {
-      operation = "OVERALL";
+  private OneMeasurement getPhaseMeasurement(String name, boolean intended) {
+    OneMeasurement m = (intended ? opToIntendedMesurementMap : opToMesurementMap).get(name);
+    if (m == null) {
+      // marked before it can be seen, so an interval never counts it with its operation
+      phaseOperations.add(name);
+      m = intended ? getOpIntendedMeasurement(name) : getOpMeasurement(name);
     }
+    return m;
+  }
+
+  private OneMeasurement getOpIntendedMeasurement(String operation) {
     OneMeasurement m = opToIntendedMesurementMap.get(operation);
     if (m == null) {
       final String name = measurementInterval == 1 ? operation : "Intended-" + operation;
@@ -273,6 +462,158 @@ public class Measurements {
     return m;
   }
 
+  /**
+   * Report the scheduler lag of an operation: the time between its intended start and the time it was sent.
+   */
+  public void measureSchedulerLag(int lagUs) {
+    if (warmupActive.get()) {
+      return;
+    }
+    if (!schedulerLagReported) {
+      // only runs with intended start times report a lag
+      addMeasurement(schedulerLag);
+      schedulerLagReported = true;
+    }
+    schedulerLag.measure(lagUs);
+  }
+
+  /**
+   * @return whether the scheduler lag of the last status interval exceeded the warning threshold.
+   */
+  public boolean isClientBound() {
+    return schedulerLag.isLagging();
+  }
+
+  /**
+   * @return the scheduler lag measurement.
+   */
+  public OneMeasurementSchedulerLag getSchedulerLag() {
+    return schedulerLag;
+  }
+
+  /**
+   * Register a binding instance whose requests in flight are reported.
+   */
+  public InFlightGauge.Counter registerInFlight() {
+    addMeasurement(inFlight);
+    return inFlight.register();
+  }
+
+  /**
+   * Count a request of an operation intended to start at the given time as in flight in its phases.
+   */
+  public void requestSent(long intendedStartNs) {
+    for (PhaseSource source : phaseSources) {
+      if (source instanceof Phase) {
+        ((Phase) source).sent(intendedStartNs);
+      }
+    }
+  }
+
+  /**
+   * Count a request sent with {@link #requestSent} as no longer in flight, once its latency is recorded.
+   */
+  public void requestCompleted(long intendedStartNs) {
+    for (PhaseSource source : phaseSources) {
+      if (source instanceof Phase) {
+        ((Phase) source).completed(intendedStartNs);
+      }
+    }
+  }
+
+  /**
+   * Record latencies also per phase of the given source from now on.
+   */
+  public void addPhaseSource(PhaseSource source) {
+    phaseSources.add(source);
+  }
+
+  /**
+   * Register a measurement maintained outside of the per-operation latencies, such as statistics of the
+   * load generator itself. It is included in the status summary and exported with the other measurements.
+   *
+   * @return the measurement registered under the same name, which may be a previously registered one.
+   */
+  public OneMeasurement addMeasurement(OneMeasurement measurement) {
+    OneMeasurement old = opToMesurementMap.putIfAbsent(measurement.getName(), measurement);
+    return old == null ? measurement : old;
+  }
+
+  /**
+   * Merge the latencies recorded during a phase across all operations: the intended latencies where they are
+   * measured, the service latencies otherwise. Only HdrHistogram measurements can be merged.
+   *
+   * @return the merged histogram, empty if nothing was recorded during the phase.
+   */
+  public Histogram getPhaseHistogram(String phaseName) {
+    return getPhaseHistogram(phaseName, measurementInterval != 0);
+  }
+
+  /**
+   * Merge either the intended or the service latencies recorded during a phase across all operations.
+   *
+   * @return the merged histogram, empty if nothing was recorded during the phase or the kind of latency
+   * is not measured.
+   */
+  public Histogram getPhaseHistogram(String phaseName, boolean intended) {
+    Map<String, OneMeasurement> map = intended ? opToIntendedMesurementMap : opToMesurementMap;
+    String suffix = "-" + phaseName;
+    Histogram merged = new Histogram(3);
+    for (Map.Entry<String, OneMeasurement> entry : map.entrySet()) {
+      if (entry.getKey().endsWith(suffix) && entry.getValue() instanceof OneMeasurementHdrHistogram) {
+        merged.add(((OneMeasurementHdrHistogram) entry.getValue()).getTotalHistogram());
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Tell a listener about the latencies of every status interval from now on. Intervals end when the status
+   * thread takes a summary, and only HdrHistogram measurements take part.
+   */
+  public void addIntervalListener(IntervalListener listener) {
+    intervalListeners.add(listener);
+  }
+
+  /**
+   * @return the latencies of the last status interval of every HdrHistogram measurement, by the name the
+   * measurement is exported under.
+   */
+  public Map<String, Histogram> getLastIntervalHistograms() {
+    Map<String, Histogram> intervals = new TreeMap<>();
+    for (Map<String, OneMeasurement> map : Arrays.asList(opToMesurementMap, opToIntendedMesurementMap)) {
+      for (OneMeasurement m : map.values()) {
+        if (m instanceof OneMeasurementHdrHistogram) {
+          Histogram interval = ((OneMeasurementHdrHistogram) m).getLastIntervalHistogram();
+          if (interval != null) {
+            intervals.put(m.getName(), interval);
+          }
+        }
+      }
+    }
+    return intervals;
+  }
+
+  /**
+   * Merge the latencies of the last status interval across all operations, each counted once: the latencies
+   * repeated per phase are left out.
+   */
+  private Histogram getIntervalHistogram() {
+    Map<String, OneMeasurement> map = measurementInterval == 0 ? opToMesurementMap : opToIntendedMesurementMap;
+    Histogram merged = new Histogram(3);
+    for (Map.Entry<String, OneMeasurement> entry : map.entrySet()) {
+      // a late response has already been recorded as a timeout
+      if (entry.getValue() instanceof OneMeasurementHdrHistogram && !entry.getKey().endsWith("-LATE")
+          && !phaseOperations.contains(entry.getKey())) {
+        Histogram interval = ((OneMeasurementHdrHistogram) entry.getValue()).getLastIntervalHistogram();
+        if (interval != null) {
+          merged.add(interval);
+        }
+      }
+    }
+    return merged;
+  }
+
   /**
    * Report a return code for a single DB operation.
    */
@@ -327,6 +668,12 @@ public class Measurements {
     for (OneMeasurement m : opToIntendedMesurementMap.values()) {
       ret += m.getSummary() + " ";
     }
+    if (!intervalListeners.isEmpty()) {
+      Histogram interval = getIntervalHistogram();
+      for (IntervalListener listener : intervalListeners) {
+        listener.intervalEnded(interval);
+      }
+    }
     return ret;
   }
 
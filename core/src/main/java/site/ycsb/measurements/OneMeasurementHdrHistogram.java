@@ -41,6 +41,9 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
 
   private final Recorder histogram;
   private Histogram totalHistogram;
+  private volatile Histogram lastIntervalHistogram;
+  // values added since the last interval
+  private Histogram added;
 
   /**
    * The name of the property for deciding what percentile values to output.
@@ -147,6 +150,7 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
   @Override
   public String getSummary() {
     Histogram intervalHistogram = getIntervalHistogramAndAccumulate();
+    lastIntervalHistogram = intervalHistogram;
     // we use the summary interval as the histogram file interval.
     if (histogramLogWriter != null) {
       histogramLogWriter.outputIntervalHistogram(intervalHistogram);
@@ -205,8 +209,42 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
     }
   }
 
-  private Histogram getIntervalHistogramAndAccumulate() {
+  /**
+   * Add values recorded elsewhere, e.g. by another process, to the current interval. Histograms merge
+   * without loss, so the percentiles are those of all values together.
+   */
+  public synchronized void add(Histogram values) {
+    if (added == null) {
+      // auto-resizing, like the histograms of the recorder
+      added = new Histogram(values.getNumberOfSignificantValueDigits());
+    }
+    added.add(values);
+  }
+
+  /**
+   * @return the values recorded during the last status interval, or null before the first summary.
+   */
+  public Histogram getLastIntervalHistogram() {
+    return lastIntervalHistogram;
+  }
+
+  /**
+   * Take a copy of all values recorded so far. The values recorded since the last status interval remain part
+   * of the next interval summary.
+   */
+  public synchronized Histogram getTotalHistogram() {
+    add(histogram.getIntervalHistogram());
+    Histogram total = totalHistogram == null ? new Histogram(3) : totalHistogram.copy();
+    total.add(added);
+    return total;
+  }
+
+  private synchronized Histogram getIntervalHistogramAndAccumulate() {
     Histogram intervalHistogram = histogram.getIntervalHistogram();
+    if (added != null) {
+      intervalHistogram.add(added);
+      added = null;
+    }
     // add this to the total time histogram.
     if (totalHistogram == null) {
       totalHistogram = intervalHistogram;
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+
+/**
+ * Keeps a histogram of the scheduler lag, the time between the intended start of an operation and the
+ * time it is actually sent. A growing lag means the client itself cannot keep up with its schedule, so
+ * the measured latencies say more about the client than about the database.
+ * <p>
+ * A status interval whose 99th percentile lag exceeds the warning threshold flags the run as client-bound.
+ */
+public class OneMeasurementSchedulerLag extends OneMeasurement {
+  private static final double WARNING_PERCENTILE = 99;
+
+  private final Recorder histogram = new Recorder(3);
+  private final long warningUs;
+  private Histogram totalHistogram;
+  private volatile long lastIntervalLagUs;
+  private volatile int laggingIntervals;
+
+  /**
+   * @param name      measurement name
+   * @param warningUs the lag in microseconds above which an interval is client-bound
+   */
+  public OneMeasurementSchedulerLag(String name, long warningUs) {
+    super(name);
+    this.warningUs = warningUs;
+  }
+
+  @Override
+  public void measure(int lagUs) {
+    histogram.recordValue(Math.max(0, lagUs));
+  }
+
+  /**
+   * @return whether the last status interval was client-bound.
+   */
+  public boolean isLagging() {
+    return lastIntervalLagUs > warningUs;
+  }
+
+  /**
+   * @return the 99th percentile lag of the last status interval, in microseconds.
+   */
+  public long getLastIntervalLagUs() {
+    return lastIntervalLagUs;
+  }
+
+  /**
+   * @return the lag above which an interval is client-bound, in microseconds.
+   */
+  public long getWarningUs() {
+    return warningUs;
+  }
+
+  @Override
+  public String getSummary() {
+    Histogram interval = getIntervalHistogramAndAccumulate();
+    lastIntervalLagUs = interval.getValueAtPercentile(WARNING_PERCENTILE);
+    if (isLagging()) {
+      laggingIntervals++;
+    }
+    DecimalFormat d = new DecimalFormat("#.##");
+    return "[" + getName() + ": Count=" + interval.getTotalCount() + ", Avg=" + d.format(interval.getMean())
+        + ", 99=" + lastIntervalLagUs + ", Max=" + interval.getMaxValue() + "]";
+  }
+
+  @Override
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    getIntervalHistogramAndAccumulate();
+    exporter.write(getName(), "Operations", totalHistogram.getTotalCount());
+    exporter.write(getName(), "AverageLag(us)", totalHistogram.getMean());
+    exporter.write(getName(), "50thPercentileLag(us)", totalHistogram.getValueAtPercentile(50));
+    exporter.write(getName(), "99thPercentileLag(us)", totalHistogram.getValueAtPercentile(99));
+    exporter.write(getName(), "99.9PercentileLag(us)", totalHistogram.getValueAtPercentile(99.9));
+    exporter.write(getName(), "MaxLag(us)", totalHistogram.getMaxValue());
+    exporter.write(getName(), "LaggingIntervals", laggingIntervals);
+    boolean clientBound = laggingIntervals > 0
+        || totalHistogram.getValueAtPercentile(WARNING_PERCENTILE) > warningUs;
+    exporter.write(getName(), "ClientBound", clientBound ? 1 : 0);
+  }
+
+  private synchronized Histogram getIntervalHistogramAndAccumulate() {
+    Histogram interval = histogram.getIntervalHistogram();
+    if (totalHistogram == null) {
+      totalHistogram = interval;
+    } else {
+      totalHistogram.add(interval);
+    }
+    return interval;
+  }
+}
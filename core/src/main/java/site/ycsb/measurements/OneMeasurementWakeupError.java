@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import site.ycsb.measurements.exporter.MeasurementsExporter;
+
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a histogram of how late the pacing timer wakes up after the deadline it was asked to sleep until, in
+ * nanoseconds. The error bounds how precisely the client can follow its target throughput.
+ */
+public class OneMeasurementWakeupError extends OneMeasurement {
+  private final Recorder histogram = new Recorder(3);
+  private final String mode;
+  private final LongSupplier spinMarginNs;
+  private Histogram totalHistogram;
+
+  /**
+   * @param name         measurement name
+   * @param mode         the mode of the pacing timer, for the summary
+   * @param spinMarginNs how long before a deadline the timer currently stops parking and spins
+   */
+  public OneMeasurementWakeupError(String name, String mode, LongSupplier spinMarginNs) {
+    super(name);
+    this.mode = mode;
+    this.spinMarginNs = spinMarginNs;
+  }
+
+  /**
+   * @param errorNs how late the timer woke up, in nanoseconds
+   */
+  @Override
+  public void measure(int errorNs) {
+    histogram.recordValue(Math.max(0, errorNs));
+  }
+
+  @Override
+  public String getSummary() {
+    Histogram interval = getIntervalHistogramAndAccumulate();
+    DecimalFormat d = new DecimalFormat("#.##");
+    return "[" + getName() + ": Mode=" + mode + ", Wakeups=" + interval.getTotalCount() + ", Avg(ns)="
+        + d.format(interval.getMean()) + ", 99(ns)=" + interval.getValueAtPercentile(99) + ", Max(ns)="
+        + interval.getMaxValue() + "]";
+  }
+
+  @Override
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    getIntervalHistogramAndAccumulate();
+    exporter.write(getName(), "Wakeups", totalHistogram.getTotalCount());
+    exporter.write(getName(), "SpinMargin(ns)", spinMarginNs.getAsLong());
+    exporter.write(getName(), "AverageWakeupError(ns)", totalHistogram.getMean());
+    exporter.write(getName(), "50thPercentileWakeupError(ns)", totalHistogram.getValueAtPercentile(50));
+    exporter.write(getName(), "99thPercentileWakeupError(ns)", totalHistogram.getValueAtPercentile(99));
+    exporter.write(getName(), "99.9PercentileWakeupError(ns)", totalHistogram.getValueAtPercentile(99.9));
+    exporter.write(getName(), "MaxWakeupError(ns)", totalHistogram.getMaxValue());
+  }
+
+  private synchronized Histogram getIntervalHistogramAndAccumulate() {
+    Histogram interval = histogram.getIntervalHistogram();
+    if (totalHistogram == null) {
+      totalHistogram = interval;
+    } else {
+      totalHistogram.add(interval);
+    }
+    return interval;
+  }
+}
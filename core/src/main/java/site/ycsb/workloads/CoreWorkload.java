@@ -22,8 +22,14 @@ import site.ycsb.generator.*;
 import site.ycsb.generator.UniformLongGenerator;
 import site.ycsb.measurements.Measurements;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
 
 /**
  * The core benchmark scenario. Represents a set of clients doing simple CRUD operations. The
@@ -54,6 +60,8 @@ import java.util.*;
  * YCSB instance (default: 0)
  * <LI><b>insertcount</b>: for parallel loads and runs, defines the number of records for this
  * YCSB instance (default: recordcount)
+ * <LI><b>transactioninsertstart</b>: the first record inserted during the run, so parallel runs can insert
+ * disjoint records (default: recordcount)
  * <LI><b>zeropadding</b>: for generating a record sequence compatible with string sort order by
  * 0 padding the record number. Controls the number of 0s to use for padding. (default: 1)
  * For example for row 5, with zeropadding=1 you get 'user5' key and with zeropading=8 you get
@@ -63,6 +71,14 @@ import java.util.*;
  * order ("hashed") (default: hashed)
  * <LI><b>fieldnameprefix</b>: what should be a prefix for field names, the shorter may decrease the
  * required storage size (default: "field")
+ * <LI><b>pregenerate</b>: generate the operations of each thread before the run starts, so that no
+ * generator runs while operations are issued (default: false)
+ * <LI><b>pregenerate.count</b>: the number of operations to generate for each thread; once they are
+ * used up, the thread generates operations as it goes. Each takes 20 bytes of memory or disk; kept in memory,
+ * they are in direct buffers, so a large count may need a larger -XX:MaxDirectMemorySize
+ * (default: operationcount / threadcount, at most 1000000)
+ * <LI><b>pregenerate.dir</b>: a directory to keep the generated operations in, so later runs of the
+ * same workload replay exactly the same operations (default: none, kept in memory)
  * </ul>
  */
 public class CoreWorkload extends Workload {
@@ -356,8 +372,54 @@ public class CoreWorkload extends Workload {
    */
   public static final String FIELD_NAME_PREFIX_DEFAULT = "field";
 
+  /**
+   * The name of the property for the first record inserted by the transactions.
+   */
+  public static final String TRANSACTION_INSERT_START_PROPERTY = "transactioninsertstart";
+
+  /**
+   * The name of the property for generating the operations of each thread before the run.
+   */
+  public static final String PREGENERATE_PROPERTY = "pregenerate";
+
+  /**
+   * Default value of the pregenerate property.
+   */
+  public static final String PREGENERATE_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The name of the property for the number of operations to generate for each thread.
+   */
+  public static final String PREGENERATE_COUNT_PROPERTY = "pregenerate.count";
+
+  /**
+   * Default value of the pregenerate.count property, and the most operations generated for a thread unless it is set.
+   */
+  public static final String PREGENERATE_COUNT_PROPERTY_DEFAULT = "1000000";
+
+  /**
+   * The name of the property for the directory to keep the generated operations in.
+   */
+  public static final String PREGENERATE_DIR_PROPERTY = "pregenerate.dir";
+
+  /**
+   * The properties that shape the operation stream. A stream kept in a file is replayed only if they are unchanged.
+   */
+  private static final String[] STREAM_PROPERTIES = {
+      Client.RECORD_COUNT_PROPERTY, FIELD_COUNT_PROPERTY, FIELD_NAME_PREFIX,
+      FIELD_LENGTH_DISTRIBUTION_PROPERTY, FIELD_LENGTH_PROPERTY, MIN_FIELD_LENGTH_PROPERTY,
+      FIELD_LENGTH_HISTOGRAM_FILE_PROPERTY, READ_ALL_FIELDS_PROPERTY, WRITE_ALL_FIELDS_PROPERTY,
+      DATA_INTEGRITY_PROPERTY, READ_PROPORTION_PROPERTY, UPDATE_PROPORTION_PROPERTY,
+      INSERT_PROPORTION_PROPERTY, SCAN_PROPORTION_PROPERTY, READMODIFYWRITE_PROPORTION_PROPERTY,
+      REQUEST_DISTRIBUTION_PROPERTY, MIN_SCAN_LENGTH_PROPERTY, MAX_SCAN_LENGTH_PROPERTY,
+      SCAN_LENGTH_DISTRIBUTION_PROPERTY, INSERT_START_PROPERTY, INSERT_COUNT_PROPERTY,
+      TRANSACTION_INSERT_START_PROPERTY,
+      HOTSPOT_DATA_FRACTION, HOTSPOT_OPN_FRACTION, ExponentialGenerator.EXPONENTIAL_PERCENTILE_PROPERTY,
+      ExponentialGenerator.EXPONENTIAL_FRAC_PROPERTY, Client.OPERATION_COUNT_PROPERTY
+  };
+
   protected NumberGenerator keysequence;
-  protected DiscreteGenerator operationchooser;
+  protected volatile DiscreteGenerator operationchooser;
   protected NumberGenerator keychooser;
   protected NumberGenerator fieldchooser;
   protected AcknowledgedCounterGenerator transactioninsertkeysequence;
@@ -368,8 +430,15 @@ public class CoreWorkload extends Workload {
   protected int zeropadding;
   protected int insertionRetryLimit;
   protected int insertionRetryInterval;
+  protected boolean pregenerate;
+  protected long pregeneratecount;
+  protected String pregeneratedir;
+
+  /** The proportions of the operation types in the mix, by property name. */
+  private final Properties proportions = new Properties();
 
   private Measurements measurements = Measurements.getMeasurements();
+  private String measurementPrefix = Measurements.MEASUREMENT_PREFIX_PROPERTY_DEFAULT;
 
   public static String buildKeyName(long keynum, int zeropadding, boolean orderedinserts) {
     if (!orderedinserts) {
@@ -421,6 +490,8 @@ public class CoreWorkload extends Workload {
   @Override
   public void init(Properties p) throws WorkloadException {
     table = p.getProperty(TABLENAME_PROPERTY, TABLENAME_PROPERTY_DEFAULT);
+    measurementPrefix = p.getProperty(Measurements.MEASUREMENT_PREFIX_PROPERTY,
+        Measurements.MEASUREMENT_PREFIX_PROPERTY_DEFAULT);
 
     fieldcount =
         Long.parseLong(p.getProperty(FIELD_COUNT_PROPERTY, FIELD_COUNT_PROPERTY_DEFAULT));
@@ -448,7 +519,7 @@ public class CoreWorkload extends Workload {
     long insertstart =
         Long.parseLong(p.getProperty(INSERT_START_PROPERTY, INSERT_START_PROPERTY_DEFAULT));
     long insertcount=
-        Integer.parseInt(p.getProperty(INSERT_COUNT_PROPERTY, String.valueOf(recordcount - insertstart)));
+        Long.parseLong(p.getProperty(INSERT_COUNT_PROPERTY, String.valueOf(recordcount - insertstart)));
     // Confirm valid values for insertstart and insertcount in relation to recordcount
     if (recordcount < (insertstart + insertcount)) {
       System.err.println("Invalid combination of insertstart, insertcount and recordcount.");
@@ -487,8 +558,19 @@ public class CoreWorkload extends Workload {
 
     keysequence = new CounterGenerator(insertstart);
     operationchooser = createOperationGenerator(p);
+    proportions.setProperty(READ_PROPORTION_PROPERTY,
+        p.getProperty(READ_PROPORTION_PROPERTY, READ_PROPORTION_PROPERTY_DEFAULT));
+    proportions.setProperty(UPDATE_PROPORTION_PROPERTY,
+        p.getProperty(UPDATE_PROPORTION_PROPERTY, UPDATE_PROPORTION_PROPERTY_DEFAULT));
+    proportions.setProperty(INSERT_PROPORTION_PROPERTY,
+        p.getProperty(INSERT_PROPORTION_PROPERTY, INSERT_PROPORTION_PROPERTY_DEFAULT));
+    proportions.setProperty(SCAN_PROPORTION_PROPERTY,
+        p.getProperty(SCAN_PROPORTION_PROPERTY, SCAN_PROPORTION_PROPERTY_DEFAULT));
+    proportions.setProperty(READMODIFYWRITE_PROPORTION_PROPERTY,
+        p.getProperty(READMODIFYWRITE_PROPORTION_PROPERTY, READMODIFYWRITE_PROPORTION_PROPERTY_DEFAULT));
 
-    transactioninsertkeysequence = new AcknowledgedCounterGenerator(recordcount);
+    transactioninsertkeysequence = new AcknowledgedCounterGenerator(Long.parseLong(
+        p.getProperty(TRANSACTION_INSERT_START_PROPERTY, String.valueOf(recordcount))));
     if (requestdistrib.compareTo("uniform") == 0) {
       keychooser = new UniformLongGenerator(insertstart, insertstart + insertcount - 1);
     } else if (requestdistrib.compareTo("exponential") == 0) {
@@ -513,8 +595,8 @@ public class CoreWorkload extends Workload {
       // the keyspace doesn't change from the perspective of the scrambled zipfian generator
       final double insertproportion = Double.parseDouble(
           p.getProperty(INSERT_PROPORTION_PROPERTY, INSERT_PROPORTION_PROPERTY_DEFAULT));
-      int opcount = Integer.parseInt(p.getProperty(Client.OPERATION_COUNT_PROPERTY));
-      int expectednewkeys = (int) ((opcount) * insertproportion * 2.0); // 2 is fudge factor
+      long opcount = Long.parseLong(p.getProperty(Client.OPERATION_COUNT_PROPERTY));
+      long expectednewkeys = (long) ((opcount) * insertproportion * 2.0); // 2 is fudge factor
 
       keychooser = new ScrambledZipfianGenerator(insertstart, insertstart + insertcount + expectednewkeys);
     } else if (requestdistrib.compareTo("latest") == 0) {
@@ -545,6 +627,105 @@ public class CoreWorkload extends Workload {
         INSERTION_RETRY_LIMIT, INSERTION_RETRY_LIMIT_DEFAULT));
     insertionRetryInterval = Integer.parseInt(p.getProperty(
         INSERTION_RETRY_INTERVAL, INSERTION_RETRY_INTERVAL_DEFAULT));
+
+    pregenerate = Boolean.parseBoolean(p.getProperty(PREGENERATE_PROPERTY, PREGENERATE_PROPERTY_DEFAULT))
+        && Boolean.parseBoolean(p.getProperty(Client.DO_TRANSACTIONS_PROPERTY, String.valueOf(true)));
+    if (pregenerate) {
+      pregeneratecount = Long.parseLong(p.getProperty(PREGENERATE_COUNT_PROPERTY, "0"));
+      pregeneratedir = p.getProperty(PREGENERATE_DIR_PROPERTY);
+    }
+  }
+
+  /**
+   * Generate the operations of a thread, or map those a previous run kept in the pregenerate directory.
+   * The client thread initializes before the start barrier opens, so this happens outside the measured run.
+   */
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    if (!pregenerate) {
+      return null;
+    }
+    long count = pregeneratecount;
+    if (count == 0) {
+      long opcount = Long.parseLong(p.getProperty(Client.OPERATION_COUNT_PROPERTY, "0"));
+      count = Long.parseLong(PREGENERATE_COUNT_PROPERTY_DEFAULT);
+      if (opcount > 0) {
+        count = Math.min(count, (opcount + threadcount - 1) / threadcount);
+      }
+    }
+    if (count <= 0 || count > OperationStream.MAX_CAPACITY) {
+      throw new WorkloadException("unknown " + PREGENERATE_COUNT_PROPERTY + "=" + count
+          + ", at most " + OperationStream.MAX_CAPACITY + " operations can be pregenerated for a thread");
+    }
+    return pregenerate(p, mythreadid, (int) count);
+  }
+
+  private OperationStream pregenerate(Properties p, int mythreadid, int count) throws WorkloadException {
+    long fingerprint = fingerprint(p, count);
+    try {
+      if (pregeneratedir == null) {
+        return generateOperations(OperationStream.allocate(count), fingerprint);
+      }
+      File file = new File(pregeneratedir, "ops-" + mythreadid + ".bin");
+      OperationStream stream = OperationStream.open(file, fingerprint);
+      if (stream == null) {
+        return generateOperations(OperationStream.create(file, count), fingerprint);
+      }
+      // the keys the stream inserts are drawn again, so operations generated once it is used up insert new ones
+      for (long inserts = stream.count(OperationStream.INSERT); inserts > 0; inserts--) {
+        transactioninsertkeysequence.acknowledge(transactioninsertkeysequence.nextValue());
+      }
+      return stream;
+    } catch (IOException e) {
+      throw new WorkloadException("Couldn't keep the operations in " + pregeneratedir, e);
+    }
+  }
+
+  private static long fingerprint(Properties p, int count) {
+    CRC32 crc = new CRC32();
+    for (String name : STREAM_PROPERTIES) {
+      crc.update((name + "=" + p.getProperty(name, "") + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    return (crc.getValue() << 32) | count;
+  }
+
+  /**
+   * Fill the stream with operations drawn from the generators, as the transactions would draw them.
+   * Inserted keys are acknowledged as they are drawn, so later operations may choose them.
+   */
+  private OperationStream generateOperations(OperationStream stream, long fingerprint) {
+    while (stream.size() < stream.capacity()) {
+      String operation = operationchooser.nextString();
+      if (operation == null) {
+        break;
+      }
+      int readField = readallfields ? OperationStream.ALL_FIELDS : fieldchooser.nextValue().intValue();
+      int writeField = writeallfields ? OperationStream.ALL_FIELDS : fieldchooser.nextValue().intValue();
+      switch (operation) {
+      case "READ":
+        stream.append(OperationStream.READ, nextKeynum(), 0, readField, OperationStream.ALL_FIELDS);
+        break;
+      case "UPDATE":
+        stream.append(OperationStream.UPDATE, nextKeynum(), fieldlengthgenerator.nextValue().intValue(),
+            OperationStream.ALL_FIELDS, writeField);
+        break;
+      case "INSERT":
+        long keynum = transactioninsertkeysequence.nextValue();
+        stream.append(OperationStream.INSERT, keynum, fieldlengthgenerator.nextValue().intValue(),
+            OperationStream.ALL_FIELDS, OperationStream.ALL_FIELDS);
+        transactioninsertkeysequence.acknowledge(keynum);
+        break;
+      case "SCAN":
+        stream.append(OperationStream.SCAN, nextKeynum(), scanlength.nextValue().intValue(),
+            readField, OperationStream.ALL_FIELDS);
+        break;
+      default:
+        stream.append(OperationStream.READMODIFYWRITE, nextKeynum(), fieldlengthgenerator.nextValue().intValue(),
+            readField, writeField);
+      }
+    }
+    stream.seal(fingerprint);
+    return stream;
   }
 
   /**
@@ -589,7 +770,10 @@ public class CoreWorkload extends Workload {
    * Build a deterministic value given the key information.
    */
   private String buildDeterministicValue(String key, String fieldkey) {
-    int size = fieldlengthgenerator.nextValue().intValue();
+    return buildDeterministicValue(key, fieldkey, fieldlengthgenerator.nextValue().intValue());
+  }
+
+  private String buildDeterministicValue(String key, String fieldkey, int size) {
     StringBuilder sb = new StringBuilder(size);
     sb.append(key);
     sb.append(':');
@@ -611,6 +795,11 @@ public class CoreWorkload extends Workload {
    */
   @Override
   public boolean doInsert(DB db, Object threadstate) {
+    return doInsert(db, threadstate, legacyContext());
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate, OperationContext context) {
     int keynum = keysequence.nextValue().intValue();
     String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
     HashMap<String, ByteIterator> values = buildValues(dbkey);
@@ -618,7 +807,7 @@ public class CoreWorkload extends Workload {
     Status status;
     int numOfRetries = 0;
     do {
-      status = db.insert(table, dbkey, values, 0, 0);
+      status = db.insert(table, dbkey, values, context);
       if (null != status && status.isOk()) {
         break;
       }
@@ -654,31 +843,93 @@ public class CoreWorkload extends Workload {
    */
   @Override
   public boolean doTransaction(DB db, Object threadstate) {
-    String operation = operationchooser.nextString();
+    return doTransaction(db, threadstate, legacyContext());
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate, OperationContext context) {
+    if (threadstate instanceof OperationStream && context.getRequestedOperation() == null) {
+      OperationStream stream = (OperationStream) threadstate;
+      if (stream.next()) {
+        replayTransaction(db, stream, context);
+        return true;
+      }
+    }
+    // an operation type with its own target rate replaces the mix
+    String operation = context.getRequestedOperation() != null
+        ? context.getRequestedOperation() : operationchooser.nextString();
     if(operation == null) {
       return false;
     }
 
     switch (operation) {
     case "READ":
-      doTransactionRead(db);
+      doTransactionRead(db, context);
       break;
     case "UPDATE":
-      doTransactionUpdate(db);
+      doTransactionUpdate(db, context);
       break;
     case "INSERT":
-      doTransactionInsert(db);
+      doTransactionInsert(db, context);
       break;
     case "SCAN":
-      doTransactionScan(db);
+      doTransactionScan(db, context);
       break;
     default:
-      doTransactionReadModifyWrite(db);
+      doTransactionReadModifyWrite(db, context);
     }
 
     return true;
   }
 
+  /**
+   * Do the current operation of a pregenerated stream.
+   */
+  private void replayTransaction(DB db, OperationStream stream, OperationContext context) {
+    String keyname = CoreWorkload.buildKeyName(stream.getKeynum(), zeropadding, orderedinserts);
+    HashSet<String> fields = null;
+    if (stream.getReadField() != OperationStream.ALL_FIELDS) {
+      fields = new HashSet<String>();
+      fields.add(fieldnames.get(stream.getReadField()));
+    }
+
+    switch (stream.getOperation()) {
+    case OperationStream.READ:
+      if (fields == null && (dataintegrity || readallfieldsbyname)) {
+        fields = new HashSet<String>(fieldnames);
+      }
+      read(db, context, keyname, fields);
+      break;
+    case OperationStream.UPDATE:
+      db.update(table, keyname, buildStreamValues(keyname, stream), context);
+      break;
+    case OperationStream.INSERT:
+      db.insert(table, keyname, buildStreamValues(keyname, stream), context);
+      break;
+    case OperationStream.SCAN:
+      db.scan(table, keyname, stream.getLength(), fields, new Vector<HashMap<String, ByteIterator>>(), context);
+      break;
+    default:
+      readModifyWrite(db, context, keyname, fields, buildStreamValues(keyname, stream));
+    }
+  }
+
+  /**
+   * Builds the values written by the current operation of a pregenerated stream, all of the recorded length.
+   */
+  private HashMap<String, ByteIterator> buildStreamValues(String key, OperationStream stream) {
+    int field = stream.getWriteField();
+    List<String> fieldkeys = field == OperationStream.ALL_FIELDS
+        ? fieldnames : Collections.singletonList(fieldnames.get(field));
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    for (String fieldkey : fieldkeys) {
+      values.put(fieldkey, dataintegrity
+          ? new StringByteIterator(buildDeterministicValue(key, fieldkey, stream.getLength()))
+          : stream.payload(stream.getLength()));
+    }
+    return values;
+  }
+
   /**
    * Results are reported in the first three buckets of the histogram under
    * the label "VERIFY".
@@ -701,8 +952,8 @@ public class CoreWorkload extends Workload {
       verifyStatus = Status.ERROR;
     }
     long endTime = System.nanoTime();
-    measurements.measure("VERIFY", (int) (endTime - startTime) / 1000);
-    measurements.reportStatus("VERIFY", verifyStatus);
+    measurements.measure(measurementPrefix + "VERIFY", (int) (endTime - startTime) / 1000);
+    measurements.reportStatus(measurementPrefix + "VERIFY", verifyStatus);
   }
 
   long nextKeynum() {
@@ -719,7 +970,58 @@ public class CoreWorkload extends Workload {
     return keynum;
   }
 
+  /**
+   * Build the context of a call made without one, with the intended start time its thread left in
+   * {@link Measurements}, if any.
+   */
+  @SuppressWarnings("deprecation")
+  private OperationContext legacyContext() {
+    OperationContext context = new OperationContext();
+    context.setIntendedStartNs(measurements.getIntendedStartTimeNs());
+    return context;
+  }
+
+  /**
+   * @deprecated use {@link #doTransactionRead(DB, OperationContext)}.
+   */
+  @Deprecated
   public void doTransactionRead(DB db) {
+    doTransactionRead(db, legacyContext());
+  }
+
+  /**
+   * @deprecated use {@link #doTransactionReadModifyWrite(DB, OperationContext)}.
+   */
+  @Deprecated
+  public void doTransactionReadModifyWrite(DB db) {
+    doTransactionReadModifyWrite(db, legacyContext());
+  }
+
+  /**
+   * @deprecated use {@link #doTransactionScan(DB, OperationContext)}.
+   */
+  @Deprecated
+  public void doTransactionScan(DB db) {
+    doTransactionScan(db, legacyContext());
+  }
+
+  /**
+   * @deprecated use {@link #doTransactionUpdate(DB, OperationContext)}.
+   */
+  @Deprecated
+  public void doTransactionUpdate(DB db) {
+    doTransactionUpdate(db, legacyContext());
+  }
+
+  /**
+   * @deprecated use {@link #doTransactionInsert(DB, OperationContext)}.
+   */
+  @Deprecated
+  public void doTransactionInsert(DB db) {
+    doTransactionInsert(db, legacyContext());
+  }
+
+  public void doTransactionRead(DB db, OperationContext context) {
     // choose a random key
     long keynum = nextKeynum();
 
@@ -738,15 +1040,32 @@ public class CoreWorkload extends Workload {
       fields = new HashSet<String>(fieldnames);
     }
 
-    HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
-    db.read(table, keyname, fields, cells, 0, 0);
+    read(db, context, keyname, fields);
+  }
 
-    if (dataintegrity) {
-      verifyRow(keyname, cells);
+  /**
+   * Read a row, and verify it once the read completes if data integrity is checked. An asynchronous binding
+   * fills the cells after the call returns.
+   */
+  private void read(DB db, OperationContext context, String keyname, Set<String> fields) {
+    HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
+    if (!dataintegrity) {
+      db.read(table, keyname, fields, cells, context);
+      return;
+    }
+    Verification verification = new Verification(context.getListener(), keyname, cells);
+    context.setListener(verification);
+    try {
+      if (db.read(table, keyname, fields, cells, context) != Status.BATCHED_OK) {
+        // a binding used without a wrapper does not tell the listener
+        verification.verify();
+      }
+    } finally {
+      context.setListener(verification.listener);
     }
   }
 
-  public void doTransactionReadModifyWrite(DB db) {
+  public void doTransactionReadModifyWrite(DB db, OperationContext context) {
     // choose a random key
     long keynum = nextKeynum();
 
@@ -772,28 +1091,132 @@ public class CoreWorkload extends Workload {
       values = buildSingleValue(keyname);
     }
 
+    readModifyWrite(db, context, keyname, fields, values);
+  }
+
+  private void readModifyWrite(DB db, OperationContext context, String keyname, Set<String> fields,
+                               HashMap<String, ByteIterator> values) {
     // do the transaction
 
     HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
 
+    ReadModifyWrite transaction = new ReadModifyWrite(context);
+    context.setListener(transaction);
+    try {
+      if (db.read(table, keyname, fields, cells, context) == Status.BATCHED_OK) {
+        // the write depends on what an asynchronous read returns, so it waits for the read to complete
+        transaction.awaitRead();
+      }
 
-    long ist = measurements.getIntendedStartTimeNs();
-    long st = System.nanoTime();
-    db.read(table, keyname, fields, cells, 0, 0);
+      if (dataintegrity) {
+        verifyRow(keyname, cells);
+      }
 
-    db.update(table, keyname, values, 0, 0);
+      if (db.update(table, keyname, values, context) != Status.BATCHED_OK) {
+        // a binding used without a wrapper does not tell the listener
+        transaction.end(System.nanoTime());
+      }
+    } finally {
+      context.setListener(transaction.listener);
+    }
+  }
 
-    long en = System.nanoTime();
+  /**
+   * Verifies a row when its read completes, and passes the read on to the listener of the operation.
+   */
+  private final class Verification implements OperationContext.Listener {
+    private final OperationContext.Listener listener;
+    private final String key;
+    private final HashMap<String, ByteIterator> cells;
+    private final AtomicBoolean verified = new AtomicBoolean();
+
+    Verification(OperationContext.Listener listener, String key, HashMap<String, ByteIterator> cells) {
+      this.listener = listener;
+      this.key = key;
+      this.cells = cells;
+    }
 
-    if (dataintegrity) {
-      verifyRow(keyname, cells);
+    void verify() {
+      if (verified.compareAndSet(false, true)) {
+        verifyRow(key, cells);
+      }
+    }
+
+    @Override
+    public void sent() {
+      if (listener != null) {
+        listener.sent();
+      }
     }
 
-    measurements.measure("READ-MODIFY-WRITE", (int) ((en - st) / 1000));
-    measurements.measureIntended("READ-MODIFY-WRITE", (int) ((en - ist) / 1000));
+    @Override
+    public void completed() {
+      verify();
+      if (listener != null) {
+        listener.completed();
+      }
+    }
   }
 
-  public void doTransactionScan(DB db) {
+  /**
+   * Measures a read-modify-write from its start until its write completes, and passes its requests on to the
+   * listener of the operation.
+   */
+  private final class ReadModifyWrite implements OperationContext.Listener {
+    private final OperationContext.Listener listener;
+    private final long startNs;
+    private final long intendedStartNs;
+    private final CountDownLatch read = new CountDownLatch(1);
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicBoolean measured = new AtomicBoolean();
+
+    ReadModifyWrite(OperationContext context) {
+      listener = context.getListener();
+      startNs = System.nanoTime();
+      intendedStartNs = context.getIntendedStartNs() == 0 ? startNs : context.getIntendedStartNs();
+    }
+
+    void awaitRead() {
+      try {
+        read.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    void end(long endNs) {
+      if (measured.compareAndSet(false, true)) {
+        measurements.measure(measurementPrefix + "READ-MODIFY-WRITE", (int) ((endNs - startNs) / 1000),
+            intendedStartNs);
+        measurements.measureIntended(measurementPrefix + "READ-MODIFY-WRITE",
+            (int) ((endNs - intendedStartNs) / 1000), intendedStartNs);
+      }
+    }
+
+    @Override
+    public void sent() {
+      if (listener != null) {
+        listener.sent();
+      }
+    }
+
+    @Override
+    public void completed() {
+      // the read completes first, the write after it
+      boolean write = completed.incrementAndGet() > 1;
+      if (write) {
+        end(System.nanoTime());
+      }
+      if (listener != null) {
+        listener.completed();
+      }
+      if (!write) {
+        read.countDown();
+      }
+    }
+  }
+
+  public void doTransactionScan(DB db, OperationContext context) {
     // choose a random key
     long keynum = nextKeynum();
 
@@ -812,10 +1235,10 @@ public class CoreWorkload extends Workload {
       fields.add(fieldname);
     }
 
-    db.scan(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>(), 0, 0);
+    db.scan(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>(), context);
   }
 
-  public void doTransactionUpdate(DB db) {
+  public void doTransactionUpdate(DB db, OperationContext context) {
     // choose a random key
     long keynum = nextKeynum();
 
@@ -831,10 +1254,10 @@ public class CoreWorkload extends Workload {
       values = buildSingleValue(keyname);
     }
 
-    db.update(table, keyname, values, 0, 0);
+    db.update(table, keyname, values, context);
   }
 
-  public void doTransactionInsert(DB db) {
+  public void doTransactionInsert(DB db, OperationContext context) {
     // choose the next key
     long keynum = transactioninsertkeysequence.nextValue();
 
@@ -842,12 +1265,51 @@ public class CoreWorkload extends Workload {
       String dbkey = CoreWorkload.buildKeyName(keynum, zeropadding, orderedinserts);
 
       HashMap<String, ByteIterator> values = buildValues(dbkey);
-      db.insert(table, dbkey, values, 0, 0);
+      db.insert(table, dbkey, values, context);
     } finally {
       transactioninsertkeysequence.acknowledge(keynum);
     }
   }
 
+  /**
+   * @return a copy of the proportions of the operation types in the mix, by property name.
+   */
+  public synchronized Properties getProportions() {
+    Properties copy = new Properties();
+    copy.putAll(proportions);
+    return copy;
+  }
+
+  /**
+   * Change the proportions of the operation types for the transactions drawn from now on, e.g. from the
+   * control plane during a run. Proportions that are not given keep their value. Pregenerated operations
+   * keep the mix they were generated with.
+   *
+   * @param changes the new proportions by property name, e.g. readproportion
+   * @throws IllegalArgumentException if a name is not a proportion or the mix would be empty
+   */
+  public synchronized void setProportions(Properties changes) {
+    Properties mix = getProportions();
+    for (String name : changes.stringPropertyNames()) {
+      if (!mix.containsKey(name)) {
+        throw new IllegalArgumentException("unknown proportion " + name);
+      }
+      if (Double.parseDouble(changes.getProperty(name)) < 0) {
+        throw new IllegalArgumentException(name + " must not be negative");
+      }
+      mix.setProperty(name, changes.getProperty(name));
+    }
+    double total = 0;
+    for (String name : mix.stringPropertyNames()) {
+      total += Double.parseDouble(mix.getProperty(name));
+    }
+    if (total <= 0) {
+      throw new IllegalArgumentException("the mix must contain an operation");
+    }
+    operationchooser = createOperationGenerator(mix);
+    proportions.putAll(mix);
+  }
+
   /**
    * Creates a weighted discrete values with database operations for a workload to perform.
    * Weights/proportions are read from the properties list and defaults are used
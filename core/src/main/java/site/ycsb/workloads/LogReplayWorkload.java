@@ -0,0 +1,444 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+import site.ycsb.DB;
+import site.ycsb.OperationContext;
+import site.ycsb.PacingTimer;
+import site.ycsb.RandomByteIterator;
+import site.ycsb.Utils;
+import site.ycsb.Workload;
+import site.ycsb.WorkloadException;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a request log of JSON lines, keeping the gaps between the requests.
+ * <p>
+ * Each line is an object with the fields "timestamp", in milliseconds since the epoch or as an ISO-8601
+ * instant, "op", one of read, insert, update or delete, "key" and, for writes, "size", the number of bytes
+ * written. Other fields and other operations are skipped. Keys are hashed onto the key space of
+ * {@link CoreWorkload}, so a log can be replayed against a loaded data set.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>log.file</b>: the log to replay (required)
+ * <LI><b>log.speed</b>: "original" to keep the gaps of the log, a factor to compress them (10 replays ten
+ * times as fast), or "max" to issue the requests as fast as possible (default: original)
+ * <LI><b>recordcount</b>, <b>zeropadding</b>, <b>insertorder</b>: the key space, as for {@link CoreWorkload}
+ * <LI><b>fieldcount</b>, <b>fieldlength</b>, <b>fieldnameprefix</b>, <b>table</b>: as for
+ * {@link CoreWorkload}; a write spreads its size over all fields, or is of fieldlength per field if the log
+ * has no size
+ * </ul>
+ * <p>
+ * The log is parsed as a stream by one thread, which hands each request to the client thread its key hashes
+ * to through a bounded queue, so a log of any size replays in constant memory and the requests for one key
+ * keep their order. A thread that falls behind holds back only its own requests, up to as many as all
+ * queues hold together, before the parser waits for it. Entries without a valid timestamp, or with a size that is
+ * not a number, are skipped. The run ends with the log, so set operationcount to 0 and leave target unset.
+ */
+public class LogReplayWorkload extends Workload {
+  /**
+   * The name of the property for the log file.
+   */
+  public static final String LOG_FILE_PROPERTY = "log.file";
+
+  /**
+   * The name of the property for the replay speed.
+   */
+  public static final String LOG_SPEED_PROPERTY = "log.speed";
+
+  /**
+   * Default value of the log.speed property.
+   */
+  public static final String LOG_SPEED_PROPERTY_DEFAULT = "original";
+
+  /** The requests parsed ahead for each client thread. */
+  private static final int QUEUE_CAPACITY = 4096;
+
+  private static final byte READ = 0;
+  private static final byte INSERT = 1;
+  private static final byte UPDATE = 2;
+  private static final byte DELETE = 3;
+
+  /** Marks a request whose entry has no timestamp. */
+  private static final long NO_TIME = Long.MIN_VALUE;
+
+  private String path;
+  private String table;
+  private String fieldnameprefix;
+  private int fieldcount;
+  private int fieldlength;
+  private long recordcount;
+  private int zeropadding;
+  private boolean orderedinserts;
+  /** The speed-up of the gaps of the log, 0 to replay as fast as possible. */
+  private double speed;
+  private final AtomicLong startNs = new AtomicLong(Long.MIN_VALUE);
+
+  private BlockingQueue<Request>[] queues;
+  /** The requests parsed for a full queue, in order, kept by the parser. */
+  private ArrayDeque<Request>[] backlogs;
+  private int backlogged;
+  /** Set once the parser handed out all the requests it will. */
+  private volatile boolean ended;
+  private Thread parser;
+  private volatile Exception failure;
+  private volatile long skipped;
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    path = p.getProperty(LOG_FILE_PROPERTY);
+    if (path == null) {
+      throw new WorkloadException("Missing property " + LOG_FILE_PROPERTY);
+    }
+    speed = TraceReplayWorkload.parseSpeed(LOG_SPEED_PROPERTY,
+        p.getProperty(LOG_SPEED_PROPERTY, LOG_SPEED_PROPERTY_DEFAULT));
+    table = p.getProperty(CoreWorkload.TABLENAME_PROPERTY, CoreWorkload.TABLENAME_PROPERTY_DEFAULT);
+    fieldnameprefix = p.getProperty(CoreWorkload.FIELD_NAME_PREFIX, CoreWorkload.FIELD_NAME_PREFIX_DEFAULT);
+    fieldcount = Integer.parseInt(p.getProperty(CoreWorkload.FIELD_COUNT_PROPERTY,
+        CoreWorkload.FIELD_COUNT_PROPERTY_DEFAULT));
+    fieldlength = Integer.parseInt(p.getProperty(CoreWorkload.FIELD_LENGTH_PROPERTY,
+        CoreWorkload.FIELD_LENGTH_PROPERTY_DEFAULT));
+    recordcount = Long.parseLong(p.getProperty(Client.RECORD_COUNT_PROPERTY, Client.DEFAULT_RECORD_COUNT));
+    if (recordcount == 0) {
+      recordcount = Integer.MAX_VALUE;
+    }
+    zeropadding = Integer.parseInt(p.getProperty(CoreWorkload.ZERO_PADDING_PROPERTY,
+        CoreWorkload.ZERO_PADDING_PROPERTY_DEFAULT));
+    orderedinserts = p.getProperty(CoreWorkload.INSERT_ORDER_PROPERTY,
+        CoreWorkload.INSERT_ORDER_PROPERTY_DEFAULT).equals("ordered");
+    if (!new File(path).isFile()) {
+      throw new WorkloadException("Couldn't find log " + path);
+    }
+  }
+
+  /**
+   * Start parsing the log on the first call, once the number of client threads is known.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public synchronized Object initThread(Properties p, int mythreadid, int threadcount) {
+    if (queues == null) {
+      queues = new BlockingQueue[threadcount];
+      backlogs = new ArrayDeque[threadcount];
+      for (int i = 0; i < threadcount; i++) {
+        queues[i] = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        backlogs[i] = new ArrayDeque<>();
+      }
+      parser = new Thread(this::parse, "LogReplayParser");
+      parser.setDaemon(true);
+      parser.start();
+    }
+    return queues[mythreadid % queues.length];
+  }
+
+  /**
+   * Parse the log and hand out its requests, until the log ends, the run is stopped or the parser is
+   * interrupted.
+   */
+  private void parse() {
+    try (InputStream in = new BufferedInputStream(new FileInputStream(path), 1 << 20);
+         JsonParser json = new JsonFactory().createJsonParser(in)) {
+      long firstNs = NO_TIME;
+      while (json.nextToken() == JsonToken.START_OBJECT) {
+        Request request = parseRequest(json);
+        if (request == null) {
+          skipped++;
+          continue;
+        }
+        if (firstNs == NO_TIME) {
+          firstNs = request.offsetNs;
+        }
+        request.offsetNs -= firstNs;
+        if (!handOut(request)) {
+          return;
+        }
+      }
+      for (int i = 0; i < queues.length; i++) {
+        while (!backlogs[i].isEmpty()) {
+          if (!put(i, backlogs[i].poll())) {
+            return;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      failure = e;
+    } finally {
+      ended = true;
+    }
+  }
+
+  /**
+   * Queue a request for the thread its key hashes to. If that queue is full, the request waits in the backlog
+   * of the queue and the parser goes on, so the other threads get their requests in time. The parser waits
+   * only once the backlogs hold as many requests as the queues.
+   *
+   * @return false if the run was stopped.
+   */
+  private boolean handOut(Request request) throws InterruptedException {
+    int i = (int) (request.keynum % queues.length);
+    if (backlogs[i].isEmpty() && queues[i].offer(request)) {
+      return true;
+    }
+    backlogs[i].add(request);
+    backlogged++;
+    for (int j = 0; j < queues.length; j++) {
+      while (!backlogs[j].isEmpty() && queues[j].offer(backlogs[j].peek())) {
+        backlogs[j].poll();
+        backlogged--;
+      }
+    }
+    if (backlogged > QUEUE_CAPACITY * queues.length) {
+      backlogged--;
+      return put(i, backlogs[i].poll());
+    }
+    return true;
+  }
+
+  /**
+   * Wait for room in a queue, checking for a stop as a client thread that stopped no longer takes from it.
+   *
+   * @return false if the run was stopped.
+   */
+  private boolean put(int i, Request request) throws InterruptedException {
+    while (!queues[i].offer(request, PacingTimer.STOP_POLL_NS, TimeUnit.NANOSECONDS)) {
+      if (isStopRequested()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parse one object of the log, the parser positioned at its start.
+   *
+   * @return the request, with its time in nanoseconds since the epoch, or null if it has no valid timestamp or size,
+   * or is not a known operation.
+   */
+  private Request parseRequest(JsonParser json) throws IOException {
+    long timeNs = NO_TIME;
+    String op = null;
+    String key = null;
+    int size = -1;
+    boolean malformed = false;
+    while (json.nextToken() == JsonToken.FIELD_NAME) {
+      String name = json.getCurrentName();
+      JsonToken value = json.nextToken();
+      switch (name) {
+      case "timestamp":
+        timeNs = parseTime(json, value);
+        break;
+      case "op":
+        op = json.getText();
+        break;
+      case "key":
+        key = json.getText();
+        break;
+      case "size":
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+          size = json.getIntValue();
+        } else {
+          malformed = true;
+          json.skipChildren();
+        }
+        break;
+      default:
+        json.skipChildren();
+      }
+    }
+    if (malformed || timeNs == NO_TIME || op == null || key == null) {
+      return null;
+    }
+    byte operation;
+    switch (op.toLowerCase(Locale.ROOT)) {
+    case "read":
+      operation = READ;
+      break;
+    case "insert":
+      operation = INSERT;
+      break;
+    case "update":
+      operation = UPDATE;
+      break;
+    case "delete":
+      operation = DELETE;
+      break;
+    default:
+      return null;
+    }
+    return new Request(timeNs, operation, keynum(key), size);
+  }
+
+  /**
+   * @return the time of a timestamp in nanoseconds since the epoch, or {@link #NO_TIME} if it is neither a number
+   * of milliseconds nor an ISO-8601 instant.
+   */
+  private static long parseTime(JsonParser json, JsonToken value) throws IOException {
+    if (value == JsonToken.VALUE_STRING) {
+      return parseInstant(json.getText());
+    }
+    if (value.isNumeric()) {
+      return (long) (json.getDoubleValue() * 1000000);
+    }
+    json.skipChildren();
+    return NO_TIME;
+  }
+
+  private static long parseInstant(String text) {
+    try {
+      Instant instant = Instant.parse(text);
+      return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    } catch (DateTimeParseException | ArithmeticException e) {
+      return NO_TIME;
+    }
+  }
+
+  /**
+   * @return the key number a key of the log maps to.
+   */
+  long keynum(String key) {
+    long hash = Utils.FNV_OFFSET_BASIS_64;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= Utils.FNV_PRIME_64;
+    }
+    return (hash & Long.MAX_VALUE) % recordcount;
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    return doTransaction(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate, OperationContext context) {
+    return doTransaction(db, threadstate, context);
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    return doTransaction(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate, OperationContext context) {
+    @SuppressWarnings("unchecked")
+    BlockingQueue<Request> queue = (BlockingQueue<Request>) threadstate;
+    Request request;
+    try {
+      do {
+        // the parser hands out every request before it ends, so an empty queue after that stays empty
+        boolean last = ended;
+        request = queue.poll(PacingTimer.STOP_POLL_NS, TimeUnit.NANOSECONDS);
+        if (request == null && (last || isStopRequested())) {
+          return false;
+        }
+      } while (request == null);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    if (speed > 0) {
+      // the log starts when the first request is replayed
+      startNs.compareAndSet(Long.MIN_VALUE, System.nanoTime());
+      long intendedNs = startNs.get() + (long) (request.offsetNs / speed);
+      if (!PacingTimer.sleepUntil(intendedNs, this)) {
+        return false;
+      }
+      context.setIntendedStartNs(intendedNs);
+    }
+
+    String keyname = CoreWorkload.buildKeyName(request.keynum, zeropadding, orderedinserts);
+    switch (request.operation) {
+    case READ:
+      db.read(table, keyname, null, new HashMap<String, ByteIterator>(), context);
+      break;
+    case INSERT:
+      db.insert(table, keyname, values(request.size), context);
+      break;
+    case UPDATE:
+      db.update(table, keyname, values(request.size), context);
+      break;
+    default:
+      db.delete(table, keyname, context);
+    }
+    return true;
+  }
+
+  /**
+   * @return values for all fields, together of the given size, or of fieldlength each if the size is unknown.
+   */
+  private HashMap<String, ByteIterator> values(int size) {
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    for (int i = 0; i < fieldcount; i++) {
+      long length = size < 0 ? fieldlength : size / fieldcount + (i < size % fieldcount ? 1 : 0);
+      values.put(fieldnameprefix + i, new RandomByteIterator(length));
+    }
+    return values;
+  }
+
+  @Override
+  public void cleanup() throws WorkloadException {
+    if (parser != null) {
+      parser.interrupt();
+    }
+    if (skipped > 0) {
+      System.err.println("Skipped " + skipped + " entries of " + path
+          + " without a timestamp, a known operation and key");
+    }
+    if (failure != null) {
+      throw new WorkloadException("Couldn't parse log " + path, failure);
+    }
+  }
+
+  private static final class Request {
+    private long offsetNs;
+    private final byte operation;
+    private final long keynum;
+    private final int size;
+
+    private Request(long timeNs, byte operation, long keynum, int size) {
+      this.offsetNs = timeNs;
+      this.operation = operation;
+      this.keynum = keynum;
+      this.size = size;
+    }
+  }
+}
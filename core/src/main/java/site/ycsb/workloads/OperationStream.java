@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteArrayByteIterator;
+import site.ycsb.ByteIterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A pre-generated sequence of operations for one client thread, kept in fixed-size records outside the heap.
+ * <p>
+ * Each record holds the operation type, the key number, a length (the value length of a write or the number of
+ * records of a scan) and the indexes of the fields to read and to write, {@link #ALL_FIELDS} for all of them.
+ * The records are either in a direct buffer or in a memory-mapped file, which a later run with the same workload
+ * can replay to issue exactly the same operations. Payloads are sliced from a pool of random printable bytes
+ * filled when the stream is sealed or opened, so no values are generated while the operations run.
+ */
+final class OperationStream {
+  static final byte READ = 0;
+  static final byte UPDATE = 1;
+  static final byte INSERT = 2;
+  static final byte SCAN = 3;
+  static final byte READMODIFYWRITE = 4;
+
+  /** The field index standing for all fields. */
+  static final int ALL_FIELDS = -1;
+
+  private static final int MAGIC = 0x5943534f;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 32;
+  private static final int RECORD_SIZE = 20;
+
+  /** The most operations a stream can hold, as a buffer is indexed by int. */
+  static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+  private static final int PAYLOAD_POOL_SIZE = 64 * 1024;
+  /** Successive payloads start this far apart in the pool, a prime so they do not repeat quickly. */
+  private static final int PAYLOAD_STRIDE = 4099;
+
+  private final ByteBuffer buffer;
+  private final int capacity;
+  private int size;
+  private int position = -1;
+  private int maxLength;
+  private byte[] payloads;
+  private int payloadOffset;
+
+  private OperationStream(ByteBuffer buffer, int capacity, int size) {
+    this.buffer = buffer;
+    this.capacity = capacity;
+    this.size = size;
+  }
+
+  /**
+   * @param capacity the number of operations
+   * @return an empty stream in a direct buffer.
+   */
+  static OperationStream allocate(int capacity) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect((int) bytes(capacity));
+    return new OperationStream(buffer, capacity, 0);
+  }
+
+  /**
+   * @return the size of a stream of the given capacity in bytes.
+   * @throws IllegalArgumentException if the capacity is beyond {@link #MAX_CAPACITY}
+   */
+  private static long bytes(long capacity) {
+    if (capacity < 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("an operation stream holds at most " + MAX_CAPACITY
+          + " operations, not " + capacity);
+    }
+    return HEADER_SIZE + capacity * RECORD_SIZE;
+  }
+
+  /**
+   * @param capacity the number of operations
+   * @return an empty stream mapped to the given file, which is replaced.
+   */
+  static OperationStream create(File file, int capacity) throws IOException {
+    long length = bytes(capacity);
+    File dir = file.getParentFile();
+    if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Couldn't create " + dir);
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(0);
+      MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+      return new OperationStream(buffer, capacity, 0);
+    }
+  }
+
+  /**
+   * Map a stream written by an earlier run.
+   *
+   * @param fingerprint identifies the workload the stream must have been generated for
+   * @return the stream, or null if the file does not exist or holds a stream for another workload.
+   */
+  static OperationStream open(File file, long fingerprint) throws IOException {
+    if (!file.isFile() || file.length() < HEADER_SIZE) {
+      return null;
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+      if (raf.length() > bytes(MAX_CAPACITY)) {
+        return null;
+      }
+      MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != fingerprint) {
+        return null;
+      }
+      int size = buffer.getInt(16);
+      if (size < 0 || HEADER_SIZE + (long) size * RECORD_SIZE > raf.length()) {
+        return null;
+      }
+      OperationStream stream = new OperationStream(buffer, size, size);
+      stream.maxLength = buffer.getInt(20);
+      stream.fillPayloads();
+      return stream;
+    }
+  }
+
+  /**
+   * Append an operation.
+   *
+   * @param op         the operation type
+   * @param keynum     the key number, or the first key number of a scan
+   * @param length     the value length of a write, the number of records of a scan
+   * @param readField  the index of the field to read, or {@link #ALL_FIELDS}
+   * @param writeField the index of the field to write, or {@link #ALL_FIELDS}
+   */
+  void append(byte op, long keynum, int length, int readField, int writeField) {
+    if (size == capacity) {
+      throw new IllegalStateException("the operation stream is full");
+    }
+    int offset = offset(size);
+    buffer.putLong(offset, keynum);
+    buffer.putInt(offset + 8, length);
+    buffer.putShort(offset + 12, (short) readField);
+    buffer.putShort(offset + 14, (short) writeField);
+    buffer.put(offset + 16, op);
+    size++;
+    if (op != SCAN) {
+      maxLength = Math.max(maxLength, length);
+    }
+  }
+
+  /**
+   * Write the header, so the stream can be opened by a later run, and fill the payload pool for the longest value.
+   *
+   * @param fingerprint identifies the workload the stream was generated for
+   */
+  void seal(long fingerprint) {
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    buffer.putLong(8, fingerprint);
+    buffer.putInt(16, size);
+    buffer.putInt(20, maxLength);
+    if (buffer instanceof MappedByteBuffer) {
+      ((MappedByteBuffer) buffer).force();
+    }
+    fillPayloads();
+  }
+
+  private void fillPayloads() {
+    payloads = new byte[PAYLOAD_POOL_SIZE + maxLength];
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < payloads.length; i++) {
+      // printable, like RandomByteIterator, for bindings with text protocols
+      payloads[i] = (byte) (' ' + random.nextInt(95));
+    }
+  }
+
+  /**
+   * Move to the next operation.
+   *
+   * @return false if all operations have been read.
+   */
+  boolean next() {
+    if (position + 1 >= size) {
+      return false;
+    }
+    position++;
+    return true;
+  }
+
+  private int offset() {
+    return offset(position);
+  }
+
+  private static int offset(int index) {
+    // within int range, as the capacity is at most MAX_CAPACITY
+    return (int) (HEADER_SIZE + (long) index * RECORD_SIZE);
+  }
+
+  byte getOperation() {
+    return buffer.get(offset() + 16);
+  }
+
+  long getKeynum() {
+    return buffer.getLong(offset());
+  }
+
+  int getLength() {
+    return buffer.getInt(offset() + 8);
+  }
+
+  int getReadField() {
+    return buffer.getShort(offset() + 12);
+  }
+
+  int getWriteField() {
+    return buffer.getShort(offset() + 14);
+  }
+
+  /**
+   * @return the number of operations of the given type in the stream.
+   */
+  long count(byte op) {
+    long count = 0;
+    for (int i = 0; i < size; i++) {
+      if (buffer.get(offset(i) + 16) == op) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the number of operations the stream can hold.
+   */
+  int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the number of operations in the stream.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * @param length the length of a value in the stream, so at most that of the longest one
+   * @return a random value of the given length, sliced from the stream's payload pool.
+   */
+  ByteIterator payload(int length) {
+    payloadOffset = (payloadOffset + PAYLOAD_STRIDE) % (payloads.length - length + 1);
+    return new ByteArrayByteIterator(payloads, payloadOffset, length);
+  }
+}
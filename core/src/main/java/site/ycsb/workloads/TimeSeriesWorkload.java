@@ -32,6 +32,7 @@ import site.ycsb.ByteIterator;
 import site.ycsb.Client;
 import site.ycsb.DB;
 import site.ycsb.NumericByteIterator;
+import site.ycsb.OperationContext;
 import site.ycsb.Status;
 import site.ycsb.StringByteIterator;
 import site.ycsb.Utils;
@@ -540,10 +541,15 @@ public class TimeSeriesWorkload extends Workload {
   
   /** Measurements to write data integrity results to. */
   protected Measurements measurements = Measurements.getMeasurements();
+
+  /** The prefix of the names of the measurements, e.g. the name of a tenant. */
+  protected String measurementPrefix = Measurements.MEASUREMENT_PREFIX_PROPERTY_DEFAULT;
   
   @Override
   public void init(final Properties p) throws WorkloadException {
     properties = p;
+    measurementPrefix = p.getProperty(Measurements.MEASUREMENT_PREFIX_PROPERTY,
+        Measurements.MEASUREMENT_PREFIX_PROPERTY_DEFAULT);
     recordcount =
         Integer.parseInt(p.getProperty(Client.RECORD_COUNT_PROPERTY, 
             Client.DEFAULT_RECORD_COUNT));
@@ -695,12 +701,17 @@ public class TimeSeriesWorkload extends Workload {
   
   @Override
   public boolean doInsert(DB db, Object threadstate) {
+    return doInsert(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate, OperationContext context) {
     if (threadstate == null) {
       throw new IllegalStateException("Missing thread state.");
     }
     final Map<String, ByteIterator> tags = new TreeMap<String, ByteIterator>();
     final String key = ((ThreadState)threadstate).nextDataPoint(tags, true);
-    if (db.insert(table, key, tags, 0, 0) == Status.OK) {
+    if (db.insert(table, key, tags, context) == Status.OK) {
       return true;
     }
     return false;
@@ -708,24 +719,29 @@ public class TimeSeriesWorkload extends Workload {
 
   @Override
   public boolean doTransaction(DB db, Object threadstate) {
+    return doTransaction(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate, OperationContext context) {
     if (threadstate == null) {
       throw new IllegalStateException("Missing thread state.");
     }
     switch (operationchooser.nextString()) {
     case "READ":
-      doTransactionRead(db, threadstate);
+      doTransactionRead(db, threadstate, context);
       break;
     case "UPDATE":
-      doTransactionUpdate(db, threadstate);
+      doTransactionUpdate(db, threadstate, context);
       break;
     case "INSERT": 
-      doTransactionInsert(db, threadstate);
+      doTransactionInsert(db, threadstate, context);
       break;
     case "SCAN":
-      doTransactionScan(db, threadstate);
+      doTransactionScan(db, threadstate, context);
       break;
     case "DELETE":
-      doTransactionDelete(db, threadstate);
+      doTransactionDelete(db, threadstate, context);
       break;
     default:
       return false;
@@ -733,7 +749,7 @@ public class TimeSeriesWorkload extends Workload {
     return true;
   }
 
-  protected void doTransactionRead(final DB db, Object threadstate) {
+  protected void doTransactionRead(final DB db, Object threadstate, OperationContext context) {
     final ThreadState state = (ThreadState) threadstate;
     final String keyname = keys[keychooser.nextValue().intValue()];
     final Random random = ThreadLocalRandom.current();
@@ -776,27 +792,27 @@ public class TimeSeriesWorkload extends Workload {
     }
     
     final Map<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
-    final Status status = db.read(table, keyname, fields, cells, 0, 0);
+    final Status status = db.read(table, keyname, fields, cells, context);
     
     if (dataintegrity && status == Status.OK) {
       verifyRow(keyname, cells);
     }
   }
   
-  protected void doTransactionUpdate(final DB db, Object threadstate) {
+  protected void doTransactionUpdate(final DB db, Object threadstate, OperationContext context) {
     if (threadstate == null) {
       throw new IllegalStateException("Missing thread state.");
     }
     final Map<String, ByteIterator> tags = new TreeMap<String, ByteIterator>();
     final String key = ((ThreadState)threadstate).nextDataPoint(tags, false);
-    db.update(table, key, tags, 0, 0);
+    db.update(table, key, tags, context);
   }
   
-  protected void doTransactionInsert(final DB db, Object threadstate) {
-    doInsert(db, threadstate);
+  protected void doTransactionInsert(final DB db, Object threadstate, OperationContext context) {
+    doInsert(db, threadstate, context);
   }
   
-  protected void doTransactionScan(final DB db, Object threadstate) {
+  protected void doTransactionScan(final DB db, Object threadstate, OperationContext context) {
     final ThreadState state = (ThreadState) threadstate;
     final Random random = ThreadLocalRandom.current();
     final String keyname = keys[random.nextInt(keys.length)];
@@ -842,10 +858,10 @@ public class TimeSeriesWorkload extends Workload {
     }
     
     final Vector<HashMap<String, ByteIterator>> results = new Vector<HashMap<String, ByteIterator>>();
-    db.scan(table, keyname, len, fields, results, 0, 0);
+    db.scan(table, keyname, len, fields, results, context);
   }
   
-  protected void doTransactionDelete(final DB db, Object threadstate) {
+  protected void doTransactionDelete(final DB db, Object threadstate, OperationContext context) {
     final ThreadState state = (ThreadState) threadstate;
     final Random random = ThreadLocalRandom.current();
     final StringBuilder buf = new StringBuilder().append(keys[random.nextInt(keys.length)]);
@@ -883,7 +899,7 @@ public class TimeSeriesWorkload extends Workload {
          .append(timestampKey + tagPairDelimiter + startTimestamp);  
     }
     
-    db.delete(table, buf.toString(), 0, 0);
+    db.delete(table, buf.toString(), context);
   }
   
   /**
@@ -918,8 +934,8 @@ public class TimeSeriesWorkload extends Workload {
       verifyStatus = Status.OK;
     }
     long endTime = System.nanoTime();
-    measurements.measure("VERIFY", (int) (endTime - startTime) / 1000);
-    measurements.reportStatus("VERIFY", verifyStatus);
+    measurements.measure(measurementPrefix + "VERIFY", (int) (endTime - startTime) / 1000);
+    measurements.reportStatus(measurementPrefix + "VERIFY", verifyStatus);
     return verifyStatus;
   }
   
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary format of an operation trace.
+ * <p>
+ * A trace is a header followed by one record per operation: the intended start time in nanoseconds relative
+ * to the first recorded operation, the operation type, the number of fields, the value size (the number of
+ * records for a scan) and the key. Records are appended in the order they are issued, so times may be slightly
+ * out of order when several threads record.
+ */
+final class TraceFile {
+  static final byte READ = 0;
+  static final byte SCAN = 1;
+  static final byte UPDATE = 2;
+  static final byte INSERT = 3;
+  static final byte DELETE = 4;
+
+  private static final int MAGIC = 0x59435354;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 8;
+  /** The size of a record without its key. */
+  private static final int RECORD_SIZE = 17;
+
+  private TraceFile() {
+    // not used
+  }
+
+  /**
+   * One operation of a trace.
+   */
+  static final class Record {
+    private long offsetNs;
+    private byte operation;
+    private int fields;
+    private int size;
+    private String key;
+
+    long getOffsetNs() {
+      return offsetNs;
+    }
+
+    byte getOperation() {
+      return operation;
+    }
+
+    /**
+     * @return the number of fields read or written, 0 for all fields.
+     */
+    int getFields() {
+      return fields;
+    }
+
+    /**
+     * @return the total size of the values written, or the number of records of a scan.
+     */
+    int getSize() {
+      return size;
+    }
+
+    String getKey() {
+      return key;
+    }
+  }
+
+  /**
+   * Appends records to a trace, shared by all threads.
+   */
+  static final class Writer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long baseNs = Long.MIN_VALUE;
+
+    Writer(File path) throws IOException {
+      file = new RandomAccessFile(path, "rw");
+      file.setLength(0);
+      channel = file.getChannel();
+      buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * Append an operation.
+     *
+     * @param intendedNs the intended start time of the operation
+     */
+    synchronized void append(long intendedNs, byte operation, String key, int fields, int size)
+        throws IOException {
+      if (baseNs == Long.MIN_VALUE) {
+        baseNs = intendedNs;
+      }
+      byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+      if (keyBytes.length > 0xffff) {
+        throw new IOException("key too long for a trace: " + keyBytes.length + " bytes");
+      }
+      if (buffer.remaining() < RECORD_SIZE + keyBytes.length) {
+        flush();
+      }
+      buffer.putLong(intendedNs - baseNs).put(operation).putShort((short) fields).putInt(size)
+          .putShort((short) keyBytes.length).put(keyBytes);
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      flush();
+      file.close();
+    }
+  }
+
+  /**
+   * Reads the records of a trace in order, shared by all threads. The file is mapped a window at a time, so
+   * traces larger than the heap, or than a single mapping, can be replayed.
+   */
+  static final class Reader implements Closeable {
+    private static final int WINDOW_SIZE = 64 << 20;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long length;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] keyBytes = new byte[64];
+
+    Reader(File path) throws IOException {
+      this(path, WINDOW_SIZE);
+    }
+
+    Reader(File path, int windowSize) throws IOException {
+      file = new RandomAccessFile(path, "r");
+      channel = file.getChannel();
+      length = file.length();
+      this.windowSize = windowSize;
+      if (!ensure(HEADER_SIZE) || window.getInt() != MAGIC || window.getInt() != VERSION) {
+        file.close();
+        throw new IOException(path + " is not an operation trace");
+      }
+    }
+
+    /**
+     * Make at least the given number of bytes available in the window, moving it if needed.
+     *
+     * @return false if the file ends before.
+     */
+    private boolean ensure(int bytes) throws IOException {
+      if (window != null && window.remaining() >= bytes) {
+        return true;
+      }
+      long position = window == null ? 0 : windowStart + window.position();
+      if (length - position < bytes) {
+        return false;
+      }
+      windowStart = position;
+      window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+          Math.min(length - position, Math.max(windowSize, bytes)));
+      return true;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @param record the record to fill
+     * @return false at the end of the trace.
+     */
+    synchronized boolean next(Record record) throws IOException {
+      if (!ensure(RECORD_SIZE)) {
+        return false;
+      }
+      int keyLength = window.getShort(window.position() + RECORD_SIZE - 2) & 0xffff;
+      if (!ensure(RECORD_SIZE + keyLength)) {
+        return false;
+      }
+      record.offsetNs = window.getLong();
+      record.operation = window.get();
+      record.fields = window.getShort();
+      record.size = window.getInt();
+      window.getShort();
+      if (keyBytes.length < keyLength) {
+        keyBytes = new byte[keyLength];
+      }
+      window.get(keyBytes, 0, keyLength);
+      record.key = new String(keyBytes, 0, keyLength, StandardCharsets.UTF_8);
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      file.close();
+    }
+  }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.DBException;
+import site.ycsb.OperationContext;
+import site.ycsb.Status;
+import site.ycsb.Workload;
+import site.ycsb.WorkloadException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+
+/**
+ * Runs another workload and records every operation it issues to a binary trace, which
+ * {@link TraceReplayWorkload} can replay with the same timing.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>trace.file</b>: the trace to write (required)
+ * <LI><b>trace.workload</b>: the workload to run and record (default: site.ycsb.workloads.CoreWorkload)
+ * </ul>
+ * <p>
+ * Each operation is recorded with its intended start time, or the time it was issued if it is not throttled,
+ * its type, key, number of fields and the size of the values written.
+ */
+public class TraceRecordingWorkload extends Workload {
+  /**
+   * The name of the property for the trace file.
+   */
+  public static final String TRACE_FILE_PROPERTY = "trace.file";
+
+  /**
+   * The name of the property for the workload to record.
+   */
+  public static final String TRACE_WORKLOAD_PROPERTY = "trace.workload";
+
+  /**
+   * Default value of the trace.workload property.
+   */
+  public static final String TRACE_WORKLOAD_PROPERTY_DEFAULT = CoreWorkload.class.getName();
+
+  private Workload workload;
+  private TraceFile.Writer writer;
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    String path = p.getProperty(TRACE_FILE_PROPERTY);
+    if (path == null) {
+      throw new WorkloadException("Missing property " + TRACE_FILE_PROPERTY);
+    }
+    String name = p.getProperty(TRACE_WORKLOAD_PROPERTY, TRACE_WORKLOAD_PROPERTY_DEFAULT);
+    try {
+      workload = (Workload) TraceRecordingWorkload.class.getClassLoader().loadClass(name)
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new WorkloadException("Couldn't create workload " + name, e);
+    }
+    workload.init(p);
+    try {
+      writer = new TraceFile.Writer(new File(path));
+    } catch (IOException e) {
+      throw new WorkloadException("Couldn't create trace " + path, e);
+    }
+  }
+
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) throws WorkloadException {
+    return new ThreadState(workload.initThread(p, mythreadid, threadcount));
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    return doInsert(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate, OperationContext context) {
+    ThreadState state = (ThreadState) threadstate;
+    return workload.doInsert(state.recorder(db, writer), state.workloadstate, context);
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    return doTransaction(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate, OperationContext context) {
+    ThreadState state = (ThreadState) threadstate;
+    return workload.doTransaction(state.recorder(db, writer), state.workloadstate, context);
+  }
+
+  @Override
+  public void requestStop() {
+    super.requestStop();
+    workload.requestStop();
+  }
+
+  @Override
+  public void cleanup() throws WorkloadException {
+    try {
+      workload.cleanup();
+    } finally {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        throw new WorkloadException("Couldn't write the trace", e);
+      }
+    }
+  }
+
+  private static final class ThreadState {
+    private final Object workloadstate;
+    private Recorder recorder;
+
+    private ThreadState(Object workloadstate) {
+      this.workloadstate = workloadstate;
+    }
+
+    private DB recorder(DB db, TraceFile.Writer writer) {
+      if (recorder == null || recorder.db != db) {
+        recorder = new Recorder(db, writer);
+      }
+      return recorder;
+    }
+  }
+
+  /**
+   * Records each operation before passing it on to the database.
+   */
+  private static final class Recorder extends DB {
+    private final DB db;
+    private final TraceFile.Writer writer;
+
+    private Recorder(DB db, TraceFile.Writer writer) {
+      this.db = db;
+      this.writer = writer;
+      setProperties(db.getProperties());
+    }
+
+    private void record(long intendedNs, byte operation, String key, int fields, int size) {
+      try {
+        writer.append(intendedNs > 0 ? intendedNs : System.nanoTime(), operation, key, fields, size);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private static int size(Map<String, ByteIterator> values) {
+      long size = 0;
+      for (ByteIterator value : values.values()) {
+        size += value.bytesLeft();
+      }
+      return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void init() throws DBException {
+      db.init();
+    }
+
+    @Override
+    public void cleanup() throws DBException {
+      db.cleanup();
+    }
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result,
+                       long ist, long st) {
+      record(ist, TraceFile.READ, key, fields == null ? 0 : fields.size(), 0);
+      return db.read(table, key, fields, result, ist, st);
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result, long ist, long st) {
+      record(ist, TraceFile.SCAN, startkey, fields == null ? 0 : fields.size(), recordcount);
+      return db.scan(table, startkey, recordcount, fields, result, ist, st);
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values, long ist, long st) {
+      record(ist, TraceFile.UPDATE, key, values.size(), size(values));
+      return db.update(table, key, values, ist, st);
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values, long ist, long st) {
+      record(ist, TraceFile.INSERT, key, values.size(), size(values));
+      return db.insert(table, key, values, ist, st);
+    }
+
+    @Override
+    public Status delete(String table, String key, long ist, long st) {
+      record(ist, TraceFile.DELETE, key, 0, 0);
+      return db.delete(table, key, ist, st);
+    }
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result,
+                       OperationContext context) {
+      record(context.getIntendedStartNs(), TraceFile.READ, key, fields == null ? 0 : fields.size(), 0);
+      return db.read(table, key, fields, result, context);
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result, OperationContext context) {
+      record(context.getIntendedStartNs(), TraceFile.SCAN, startkey, fields == null ? 0 : fields.size(),
+          recordcount);
+      return db.scan(table, startkey, recordcount, fields, result, context);
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values, OperationContext context) {
+      record(context.getIntendedStartNs(), TraceFile.UPDATE, key, values.size(), size(values));
+      return db.update(table, key, values, context);
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values, OperationContext context) {
+      record(context.getIntendedStartNs(), TraceFile.INSERT, key, values.size(), size(values));
+      return db.insert(table, key, values, context);
+    }
+
+    @Override
+    public Status delete(String table, String key, OperationContext context) {
+      record(context.getIntendedStartNs(), TraceFile.DELETE, key, 0, 0);
+      return db.delete(table, key, context);
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.workloads;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.OperationContext;
+import site.ycsb.PacingTimer;
+import site.ycsb.RandomByteIterator;
+import site.ycsb.Workload;
+import site.ycsb.WorkloadException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a trace written by {@link TraceRecordingWorkload}, issuing each operation at its recorded time.
+ * <p>
+ * Properties to control the client:
+ * <UL>
+ * <LI><b>trace.file</b>: the trace to replay (required)
+ * <LI><b>trace.speed</b>: "original" to keep the recorded timing, a factor to scale it (2 replays twice as
+ * fast), or "max" to issue the operations as fast as possible (default: original)
+ * <LI><b>table</b>: the table to run against (default: usertable)
+ * <LI><b>fieldnameprefix</b>: the prefix of the field names (default: "field")
+ * </ul>
+ * <p>
+ * The client threads take the operations in the order of the trace, so each thread is one more operation
+ * that can be outstanding. The recorded time becomes the intended start time of the operation, so the
+ * intended latency measures against the timing of the trace. The run ends with the trace, so set
+ * operationcount to 0 and leave target unset.
+ */
+public class TraceReplayWorkload extends Workload {
+  /**
+   * The name of the property for the replay speed.
+   */
+  public static final String TRACE_SPEED_PROPERTY = "trace.speed";
+
+  /**
+   * Default value of the trace.speed property.
+   */
+  public static final String TRACE_SPEED_PROPERTY_DEFAULT = "original";
+
+  private TraceFile.Reader reader;
+  private String table;
+  private String fieldnameprefix;
+  /** The speed-up of the recorded timing, 0 to replay as fast as possible. */
+  private double speed;
+  private final AtomicLong startNs = new AtomicLong(Long.MIN_VALUE);
+
+  @Override
+  public void init(Properties p) throws WorkloadException {
+    String path = p.getProperty(TraceRecordingWorkload.TRACE_FILE_PROPERTY);
+    if (path == null) {
+      throw new WorkloadException("Missing property " + TraceRecordingWorkload.TRACE_FILE_PROPERTY);
+    }
+    speed = parseSpeed(TRACE_SPEED_PROPERTY, p.getProperty(TRACE_SPEED_PROPERTY, TRACE_SPEED_PROPERTY_DEFAULT));
+    table = p.getProperty(CoreWorkload.TABLENAME_PROPERTY, CoreWorkload.TABLENAME_PROPERTY_DEFAULT);
+    fieldnameprefix = p.getProperty(CoreWorkload.FIELD_NAME_PREFIX, CoreWorkload.FIELD_NAME_PREFIX_DEFAULT);
+    try {
+      reader = new TraceFile.Reader(new File(path));
+    } catch (IOException e) {
+      throw new WorkloadException("Couldn't open trace " + path, e);
+    }
+  }
+
+  /**
+   * @return the speed-up factor given by a speed property, 0 to replay as fast as possible.
+   */
+  static double parseSpeed(String property, String value) throws WorkloadException {
+    if (value.equals("original")) {
+      return 1;
+    }
+    if (value.equals("max")) {
+      return 0;
+    }
+    try {
+      double factor = Double.parseDouble(value);
+      if (factor > 0) {
+        return factor;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new WorkloadException("unknown " + property + "=" + value);
+  }
+
+  @Override
+  public Object initThread(Properties p, int mythreadid, int threadcount) {
+    return new TraceFile.Record();
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate) {
+    return doTransaction(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doInsert(DB db, Object threadstate, OperationContext context) {
+    return doTransaction(db, threadstate, context);
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate) {
+    return doTransaction(db, threadstate, new OperationContext());
+  }
+
+  @Override
+  public boolean doTransaction(DB db, Object threadstate, OperationContext context) {
+    TraceFile.Record record = (TraceFile.Record) threadstate;
+    try {
+      if (!reader.next(record)) {
+        return false;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (speed > 0) {
+      // the trace starts when the first operation is replayed
+      startNs.compareAndSet(Long.MIN_VALUE, System.nanoTime());
+      long intendedNs = startNs.get() + (long) (record.getOffsetNs() / speed);
+      PacingTimer.sleepUntil(intendedNs);
+      context.setIntendedStartNs(intendedNs);
+    }
+
+    String key = record.getKey();
+    switch (record.getOperation()) {
+    case TraceFile.READ:
+      db.read(table, key, fields(record.getFields()), new HashMap<String, ByteIterator>(), context);
+      break;
+    case TraceFile.SCAN:
+      db.scan(table, key, record.getSize(), fields(record.getFields()),
+          new Vector<HashMap<String, ByteIterator>>(), context);
+      break;
+    case TraceFile.UPDATE:
+      db.update(table, key, values(record.getFields(), record.getSize()), context);
+      break;
+    case TraceFile.INSERT:
+      db.insert(table, key, values(record.getFields(), record.getSize()), context);
+      break;
+    default:
+      db.delete(table, key, context);
+    }
+    return true;
+  }
+
+  /**
+   * @return the first count fields, or null for all fields.
+   */
+  private Set<String> fields(int count) {
+    if (count == 0) {
+      return null;
+    }
+    Set<String> fields = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      fields.add(fieldnameprefix + i);
+    }
+    return fields;
+  }
+
+  /**
+   * @return values for the first count fields, together of the given size.
+   */
+  private HashMap<String, ByteIterator> values(int count, int size) {
+    count = Math.max(count, 1);
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      // the first fields take the remainder
+      values.put(fieldnameprefix + i, new RandomByteIterator(size / count + (i < size % count ? 1 : 0)));
+    }
+    return values;
+  }
+
+  @Override
+  public void cleanup() throws WorkloadException {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new WorkloadException("Couldn't close the trace", e);
+    }
+  }
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestArrivalProcess {
+
+  private static final int SAMPLES = 100000;
+
+  private static ArrivalProcess create(String distribution, double opsPerSec) {
+    Properties p = new Properties();
+    p.setProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, distribution);
+    return ArrivalProcess.create(p, opsPerSec);
+  }
+
+  @Test
+  public void constantIsPeriodic() {
+    ArrivalProcess arrivals = create("constant", 1000);
+    long t = 0;
+    for (int i = 0; i < 10; i++) {
+      long next = arrivals.nextIntendedStartNs(t);
+      assertEquals(next - t, 1000000);
+      t = next;
+    }
+  }
+
+  @Test
+  public void exponentialKeepsTheRate() {
+    ArrivalProcess arrivals = create("poisson", 1000);
+    long t = 0;
+    long maxGap = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      long next = arrivals.nextIntendedStartNs(t);
+      maxGap = Math.max(maxGap, next - t);
+      t = next;
+    }
+    double meanGapNs = (double) t / SAMPLES;
+    assertTrue(Math.abs(meanGapNs - 1000000) < 20000, "mean gap " + meanGapNs);
+    // a periodic stream would never produce a gap this large
+    assertTrue(maxGap > 5000000);
+  }
+
+  @Test
+  public void uniformStaysWithinTheJitter() {
+    Properties p = new Properties();
+    p.setProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, "uniform");
+    p.setProperty(ArrivalProcess.ARRIVAL_JITTER_PROPERTY, "0.2");
+    ArrivalProcess arrivals = ArrivalProcess.create(p, 1000);
+    long t = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      long next = arrivals.nextIntendedStartNs(t);
+      assertTrue(next - t >= 800000 && next - t <= 1200000);
+      t = next;
+    }
+  }
+
+  private static ArrivalProcess histogram(double opsPerSec, long... buckets) throws IOException {
+    File file = File.createTempFile("arrivals", ".txt");
+    file.deleteOnExit();
+    try (PrintWriter out = new PrintWriter(file)) {
+      out.println("BlockSize\t10");
+      for (int i = 0; i < buckets.length; i++) {
+        out.println(i + "\t" + buckets[i]);
+      }
+    }
+    Properties p = new Properties();
+    p.setProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, "histogram");
+    p.setProperty(ArrivalProcess.ARRIVAL_HISTOGRAM_FILE_PROPERTY, file.getPath());
+    return ArrivalProcess.create(p, opsPerSec);
+  }
+
+  @Test
+  public void histogramKeepsTheRate() throws IOException {
+    // skewed towards short gaps, with all the weight of the first bucket
+    for (long[] buckets : new long[][] {{5, 1, 1, 3}, {7, 0, 0}, {1, 2, 3, 4, 5}}) {
+      ArrivalProcess arrivals = histogram(1000, buckets);
+      long t = 0;
+      for (int i = 0; i < SAMPLES; i++) {
+        t = arrivals.nextIntendedStartNs(t);
+      }
+      double meanGapNs = (double) t / SAMPLES;
+      assertTrue(Math.abs(meanGapNs - 1000000) < 20000, Arrays.toString(buckets) + ": mean gap " + meanGapNs);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void histogramWithoutGapsIsRejected() throws IOException {
+    histogram(1000, 10);
+  }
+
+  @Test
+  public void rateChangeTakesEffect() {
+    ArrivalProcess arrivals = create("constant", 1000);
+    arrivals.setRate(2000);
+    assertEquals(arrivals.nextIntendedStartNs(0), 500000);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void unknownDistribution() {
+    create("bogus", 1000);
+  }
+
+  @Test
+  public void sharedStreamsFollowTheParent() {
+    ArrivalProcess aggregate = create("constant", 1000);
+    ArrivalProcess stream = aggregate.share(0.25);
+    assertEquals(stream.nextIntendedStartNs(0), 4000000);
+    aggregate.setRate(2000);
+    assertEquals(stream.getRate(), 500.0);
+    assertEquals(stream.nextIntendedStartNs(0), 2000000);
+  }
+
+  @Test
+  public void phasesOfFeaturesDoNotOverrideEachOther() {
+    Properties p = new Properties();
+    p.setProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, "mmpp");
+    p.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    p.setProperty(MmppArrivalProcess.LOW_DWELL_PROPERTY, "1000000");
+    Measurements.setProperties(p);
+    Measurements measurements = Measurements.getMeasurements();
+    long origin = System.nanoTime();
+    ArrivalProcess arrivals = ArrivalProcess.create(p, 1000);
+    arrivals.nextIntendedStartNs(origin);
+    Measurements.Phase step = new Measurements.Phase();
+    measurements.addPhaseSource(step);
+    step.set("STEP-1");
+
+    // intended before the step started, completed after it
+    measurements.measure("READ", 100, origin);
+    measurements.measure("READ", 200, System.nanoTime());
+    step.set(null);
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("[READ-MMPP-LOW: Count=2,"), summary);
+    assertTrue(summary.contains("[READ-STEP-1: Count=1, Max=200,"), summary);
+  }
+
+  @Test
+  public void phaseEndWaitsForItsRequests() throws InterruptedException {
+    Properties p = new Properties();
+    p.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    Measurements.setProperties(p);
+    final Measurements measurements = Measurements.getMeasurements();
+    Measurements.Phase step = new Measurements.Phase();
+    measurements.addPhaseSource(step);
+    step.set("STEP-1");
+    final long intended = System.nanoTime();
+    measurements.requestSent(intended);
+    step.set(null);
+    new Thread(() -> {
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        measurements.measure("READ", 100, intended);
+        measurements.requestCompleted(intended);
+      }).start();
+
+    assertEquals(step.awaitPrevious(5000), 0);
+    assertEquals(measurements.getPhaseHistogram("STEP-1", false).getTotalCount(), 1);
+    // taking the phase histogram leaves the interval to the status summary
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("[READ-STEP-1: Count=1,"), summary);
+
+    // a request that does not complete in time is reported as outstanding
+    step.set("STEP-2");
+    measurements.requestSent(System.nanoTime());
+    step.set(null);
+    assertEquals(step.awaitPrevious(20), 1);
+  }
+
+  @Test
+  public void onOffSourceIsSilentWhileOff() {
+    Properties p = new Properties();
+    p.setProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, "mmpp");
+    p.setProperty(MmppArrivalProcess.LOW_FACTOR_PROPERTY, "0");
+    p.setProperty(MmppArrivalProcess.HIGH_FACTOR_PROPERTY, "2");
+    p.setProperty(MmppArrivalProcess.LOW_DWELL_PROPERTY, "10");
+    p.setProperty(MmppArrivalProcess.HIGH_DWELL_PROPERTY, "10");
+    Measurements.setProperties(p);
+    ArrivalProcess arrivals = ArrivalProcess.create(p, 100000);
+    assertTrue(arrivals instanceof MmppArrivalProcess);
+    long t = 0;
+    long count = 0;
+    while (t < 10000000000L) {
+      t = arrivals.nextIntendedStartNs(t);
+      count++;
+    }
+    // half the time off at twice the base rate: about 100k ops/s for 10 s
+    assertTrue(count > 800000 && count < 1200000, "arrivals " + count);
+  }
+
+  @Test
+  public void sharedSlotsHoldTheAggregateRate() throws InterruptedException {
+    ArrivalProcess arrivals = create("constant", 1000);
+    final int threads = 4;
+    final int claims = 1000;
+    final long[] slots = new long[threads * claims];
+    Thread[] claimers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      final int first = t * claims;
+      final ArrivalProcess share = arrivals.share(1.0 / threads);
+      claimers[t] = new Thread(() -> {
+        for (int i = 0; i < claims; i++) {
+          slots[first + i] = share.claimIntendedStartNs();
+        }
+      });
+      claimers[t].start();
+    }
+    for (Thread claimer : claimers) {
+      claimer.join();
+    }
+    Arrays.sort(slots);
+    for (int i = 1; i < slots.length; i++) {
+      assertEquals(slots[i] - slots[i - 1], 1000000);
+    }
+  }
+}
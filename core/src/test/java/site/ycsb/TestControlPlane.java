@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.annotations.Test;
+
+public class TestControlPlane {
+
+  private static Workload workload() {
+    return new Workload() {
+      @Override
+      public boolean doInsert(DB db, Object threadstate) {
+        return false;
+      }
+
+      @Override
+      public boolean doTransaction(DB db, Object threadstate) {
+        return false;
+      }
+    };
+  }
+
+  @Test
+  public void parkedThreadsRunOnceActivated() throws InterruptedException {
+    ThreadGate gate = new ThreadGate(1, 4);
+    ControlPlane control = new ControlPlane(new ArrivalProcess(null, 1000), workload(), gate);
+    assertTrue(gate.isActive(0));
+    assertFalse(gate.isActive(1));
+
+    AtomicBoolean released = new AtomicBoolean();
+    Thread parked = new Thread(() -> released.set(gate.await(3, workload())));
+    parked.start();
+    Thread.sleep(50);
+    assertFalse(released.get());
+    control.setThreads(4);
+    parked.join(5000);
+    assertTrue(released.get());
+    assertEquals(control.getThreads(), 4);
+  }
+
+  @Test
+  public void parkedThreadsStopWithTheWorkload() throws InterruptedException {
+    ThreadGate gate = new ThreadGate(1, 2);
+    Workload workload = workload();
+    AtomicBoolean released = new AtomicBoolean(true);
+    Thread parked = new Thread(() -> released.set(gate.await(1, workload)));
+    parked.start();
+    workload.requestStop();
+    parked.join(5000);
+    assertFalse(parked.isAlive());
+    assertFalse(released.get());
+  }
+
+  @Test
+  public void changesAreChecked() {
+    ControlPlane control = new ControlPlane(new ArrivalProcess(null, 1000), workload(), new ThreadGate(2, 4));
+    control.setTargetThroughput(2500);
+    assertEquals(control.getTargetThroughput(), 2500, 1e-9);
+    for (Runnable change : new Runnable[] {
+        () -> control.setThreads(5),
+        () -> control.setThreads(0),
+        () -> control.setTargetThroughput(0),
+        () -> control.setMix("readproportion=1"),
+        () -> new ControlPlane(null, workload(), null).setTargetThroughput(100),
+        () -> new ControlPlane(null, workload(), null).setThreads(1)}) {
+      try {
+        change.run();
+        throw new AssertionError("change accepted");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+    assertEquals(control.getThreads(), 2);
+  }
+
+  @Test
+  public void changesApplyAllOrNone() {
+    ControlPlane control = new ControlPlane(new ArrivalProcess(null, 1000), workload(), new ThreadGate(2, 4));
+    Properties changes = new Properties();
+    changes.setProperty("target", "2500");
+    changes.setProperty("threads", "5");
+    try {
+      control.apply(changes);
+      throw new AssertionError("change accepted");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertEquals(control.getTargetThroughput(), 1000, 1e-9);
+    assertEquals(control.getThreads(), 2);
+
+    changes.setProperty("threads", "3");
+    control.apply(changes);
+    assertEquals(control.getTargetThroughput(), 2500, 1e-9);
+    assertEquals(control.getThreads(), 3);
+  }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Properties;
+import java.util.Random;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+import site.ycsb.measurements.OneMeasurementHdrHistogram;
+import site.ycsb.workloads.CoreWorkload;
+
+public class TestCoordinator {
+
+  @Test
+  public void agentsPartitionTheKeyRange() {
+    long next = 100;
+    for (int i = 0; i < 3; i++) {
+      Properties props = new Properties();
+      props.setProperty(Client.RECORD_COUNT_PROPERTY, "1100");
+      props.setProperty(Workload.INSERT_START_PROPERTY, "100");
+      Agent.partition(props, i, 3);
+      assertEquals(Long.parseLong(props.getProperty(Workload.INSERT_START_PROPERTY)), next);
+      next += Long.parseLong(props.getProperty(Client.INSERT_COUNT_PROPERTY));
+    }
+    assertEquals(next, 1100);
+  }
+
+  @Test
+  public void agentsShareTheTargetAndOperations() {
+    long operations = 0;
+    long target = 0;
+    for (int i = 0; i < 4; i++) {
+      Properties props = new Properties();
+      props.setProperty(Client.RECORD_COUNT_PROPERTY, "1000");
+      props.setProperty(Client.OPERATION_COUNT_PROPERTY, String.valueOf(3L * Integer.MAX_VALUE));
+      props.setProperty(Client.TARGET_PROPERTY, "10001");
+      Agent.partition(props, i, 4);
+      operations += Long.parseLong(props.getProperty(Client.OPERATION_COUNT_PROPERTY));
+      target += Integer.parseInt(props.getProperty(Client.TARGET_PROPERTY));
+    }
+    assertEquals(operations, 3L * Integer.MAX_VALUE);
+    assertEquals(target, 10001);
+  }
+
+  @Test
+  public void agentsInsertDisjointKeysAndShareTheUsers() {
+    long insertstart = 1000;
+    double reads = 0;
+    long users = 0;
+    for (int i = 0; i < 3; i++) {
+      Properties props = new Properties();
+      props.setProperty(Client.RECORD_COUNT_PROPERTY, "1000");
+      props.setProperty(Client.OPERATION_COUNT_PROPERTY, "100");
+      props.setProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY, "0.5");
+      props.setProperty(OperationRates.TARGET_PROPERTY_PREFIX + "read", "100");
+      props.setProperty(UserModel.USERS_PROPERTY, "10");
+      Agent.partition(props, i, 3);
+      assertEquals(Long.parseLong(props.getProperty(CoreWorkload.TRANSACTION_INSERT_START_PROPERTY)), insertstart);
+      insertstart += Long.parseLong(props.getProperty(Client.OPERATION_COUNT_PROPERTY));
+      reads += Double.parseDouble(props.getProperty(OperationRates.TARGET_PROPERTY_PREFIX + "read"));
+      users += Long.parseLong(props.getProperty(UserModel.USERS_PROPERTY));
+    }
+    assertEquals(insertstart, 1100);
+    assertEquals(reads, 100, 1e-9);
+    assertEquals(users, 10);
+  }
+
+  @Test
+  public void loadThatCannotBeSharedIsRejected() {
+    String[][] rejected = {
+        {RateSchedule.SCHEDULE_PROPERTY, "ramp"},
+        {ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, "mmpp"},
+        {UserModel.USERS_PROPERTY, "2"},
+        {CoreWorkload.INSERT_PROPORTION_PROPERTY, "0.5"}};
+    for (String[] property : rejected) {
+      Properties props = new Properties();
+      props.setProperty(Client.RECORD_COUNT_PROPERTY, "1000");
+      props.setProperty(property[0], property[1]);
+      try {
+        Agent.partition(props, 0, 3);
+        throw new AssertionError(property[0] + " accepted");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void mergedIntervalsGiveTheGlobalPercentiles() throws Exception {
+    Histogram all = new Histogram(3);
+    OneMeasurementHdrHistogram merged = new OneMeasurementHdrHistogram("READ", new Properties());
+    Random random = new Random(42);
+    // agents with very different latencies, whose percentiles cannot be averaged
+    for (int agent = 0; agent < 3; agent++) {
+      for (int interval = 0; interval < 5; interval++) {
+        Histogram values = new Histogram(3);
+        for (int i = 0; i < 1000; i++) {
+          long latency = 1 + (long) (Math.abs(random.nextGaussian()) * 100 * Math.pow(30, agent));
+          values.recordValue(latency);
+          all.recordValue(latency);
+        }
+        merged.add(Coordinator.decode(Coordinator.encode(values)));
+      }
+      merged.getSummary();
+    }
+    Histogram total = merged.getTotalHistogram();
+    assertEquals(total.getTotalCount(), all.getTotalCount());
+    for (double percentile : new double[] {50, 90, 99, 99.9}) {
+      assertEquals(total.getValueAtPercentile(percentile), all.getValueAtPercentile(percentile));
+    }
+    assertEquals(total.getMaxValue(), all.getMaxValue());
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.htrace.core.HTraceConfiguration;
+import org.apache.htrace.core.Tracer;
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestDBWrapper {
+
+  /**
+   * Completes every operation at once, except those on the key "slow", which never complete by themselves, and
+   * those on the key "broken", which throw instead of returning a future.
+   */
+  private static final class StubDB extends AsyncDB {
+    private final CompletableFuture<Status> slow = new CompletableFuture<>();
+
+    private CompletableFuture<Status> op(String key) {
+      if ("broken".equals(key)) {
+        throw new IllegalStateException("connection closed");
+      }
+      return "slow".equals(key) ? slow : CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletableFuture<Status> readAsync(String table, String key, Set<String> fields,
+                                               Map<String, ByteIterator> result) {
+      return op(key);
+    }
+
+    @Override
+    public CompletableFuture<Status> scanAsync(String table, String startkey, int recordcount, Set<String> fields,
+                                               Vector<HashMap<String, ByteIterator>> result) {
+      return op(startkey);
+    }
+
+    @Override
+    public CompletableFuture<Status> updateAsync(String table, String key, Map<String, ByteIterator> values) {
+      return op(key);
+    }
+
+    @Override
+    public CompletableFuture<Status> insertAsync(String table, String key, Map<String, ByteIterator> values) {
+      return op(key);
+    }
+
+    @Override
+    public CompletableFuture<Status> deleteAsync(String table, String key) {
+      return op(key);
+    }
+  }
+
+  private static DBWrapper wrap(StubDB stub, Properties p) throws DBException {
+    p.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    Measurements.setProperties(p);
+    stub.setProperties(p);
+    Tracer tracer = new Tracer.Builder("test")
+        .conf(HTraceConfiguration.fromMap(Collections.<String, String>emptyMap())).build();
+    DBWrapper db = new DBWrapper(stub, tracer);
+    db.init();
+    return db;
+  }
+
+  @Test
+  public void drainRecordsOutstandingOperationsAsTimeouts() throws Exception {
+    Properties p = new Properties();
+    p.setProperty("drain.deadline.ms", "50");
+    StubDB stub = new StubDB();
+    DBWrapper db = wrap(stub, p);
+    Measurements measurements = Measurements.getMeasurements();
+
+    assertEquals(db.read("usertable", "fast", null, new HashMap<>(), new OperationContext()), Status.OK);
+    assertEquals(db.read("usertable", "slow", null, new HashMap<>(), new OperationContext()), Status.BATCHED_OK);
+
+    long start = System.nanoTime();
+    db.cleanup();
+    assertTrue(System.nanoTime() - start >= 50000000L);
+
+    // a response after the deadline is not measured again
+    stub.slow.complete(Status.OK);
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("[READ: Count=1,"), summary);
+    assertTrue(summary.contains("[READ-TIMEOUT: Count=1,"), summary);
+  }
+
+  @Test
+  public void requestsTimeOutAtTheirTimeoutValue() throws Exception {
+    Properties p = new Properties();
+    p.setProperty("request.timeout.ms", "20");
+    StubDB stub = new StubDB();
+    DBWrapper db = wrap(stub, p);
+    Measurements measurements = Measurements.getMeasurements();
+
+    assertEquals(db.update("usertable", "slow", new HashMap<>(), new OperationContext()), Status.BATCHED_OK);
+    Thread.sleep(200);
+    // the response finally arrives
+    stub.slow.complete(Status.OK);
+
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("[UPDATE-TIMEOUT: Count=1, Max=20"), summary);
+    assertTrue(summary.contains("[UPDATE-LATE: Count=1,"), summary);
+    assertTrue(!summary.contains("[UPDATE: Count=1"), summary);
+  }
+
+  @Test
+  public void callsThatThrowAreRecordedAsErrors() throws Exception {
+    DBWrapper db = wrap(new StubDB(), new Properties());
+    Measurements measurements = Measurements.getMeasurements();
+    final int[] requests = new int[2];
+    OperationContext context = new OperationContext();
+    context.setListener(new OperationContext.Listener() {
+      @Override
+      public void sent() {
+        requests[0]++;
+      }
+
+      @Override
+      public void completed() {
+        requests[1]++;
+      }
+    });
+
+    assertEquals(db.read("usertable", "broken", null, new HashMap<>(), context), Status.ERROR);
+    assertEquals(requests[0], 1);
+    assertEquals(requests[1], 1);
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("[READ-FAILED: Count=1,"), summary);
+    assertTrue(summary.contains("[IN-FLIGHT: Total=0,"), summary);
+  }
+}
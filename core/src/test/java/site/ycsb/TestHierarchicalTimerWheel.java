@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class TestHierarchicalTimerWheel {
+
+  private static final class Deadline extends HierarchicalTimerWheel.Timer {
+    private final long deadlineNs;
+    private long expiredAtNs = -1;
+
+    private Deadline(long deadlineNs) {
+      this.deadlineNs = deadlineNs;
+    }
+  }
+
+  @Test
+  public void expiresEachTimerOnTheFirstAdvancePastItsDeadline() {
+    HierarchicalTimerWheel wheel = new HierarchicalTimerWheel(10, 0);
+    Random random = new Random(42);
+    List<Deadline> timers = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      // up to and beyond the span of the four levels
+      long deadline = (long) (Math.pow(random.nextDouble(), 4) * 10 * (1L << 26));
+      Deadline timer = new Deadline(deadline);
+      timers.add(timer);
+      wheel.schedule(timer, deadline);
+    }
+    assertEquals(wheel.size(), timers.size());
+
+    long now = 0;
+    while (wheel.size() > 0) {
+      long step = random.nextInt(4) == 0 ? random.nextInt(1 << 20) : random.nextInt(100);
+      long previous = now;
+      now += step;
+      final long at = now;
+      wheel.advance(now, timer -> ((Deadline) timer).expiredAtNs = at);
+      for (Deadline timer : timers) {
+        if (timer.expiredAtNs == -1) {
+          // a timer whose tick has passed has expired
+          assertTrue(timer.deadlineNs > (now / 10) * 10, "missed " + timer.deadlineNs + " at " + now);
+        }
+      }
+      assertTrue(wheel.nextDeadlineNs() > previous);
+    }
+    for (Deadline timer : timers) {
+      assertTrue(timer.expiredAtNs >= timer.deadlineNs);
+    }
+  }
+
+  @Test
+  public void expiredTimersCanBeScheduledAgain() {
+    HierarchicalTimerWheel wheel = new HierarchicalTimerWheel(1000, 0);
+    Deadline timer = new Deadline(0);
+    int[] expirations = new int[1];
+    wheel.schedule(timer, 5000);
+    for (long now = 0; now <= 100000; now += 1000) {
+      final long at = now;
+      wheel.advance(now, t -> {
+        expirations[0]++;
+        wheel.schedule(t, at + 5000);
+      });
+    }
+    assertEquals(expirations[0], 20);
+    assertTrue(timer.isScheduled());
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestOpenLoopScheduler {
+
+  @BeforeMethod
+  public void setUp() {
+    Measurements.setProperties(new Properties());
+  }
+
+  private static Workload workload() {
+    return new Workload() {
+      @Override
+      public boolean doInsert(DB db, Object threadstate) {
+        return false;
+      }
+
+      @Override
+      public boolean doTransaction(DB db, Object threadstate) {
+        return false;
+      }
+    };
+  }
+
+  private static ArrivalProcess constant(double opsPerSec) {
+    Properties p = new Properties();
+    p.setProperty(ArrivalProcess.ARRIVAL_DISTRIBUTION_PROPERTY, "constant");
+    return ArrivalProcess.create(p, opsPerSec);
+  }
+
+  @Test
+  public void backlogIsBoundedAndKeepsTheSchedule() throws InterruptedException {
+    Workload workload = workload();
+    OpenLoopScheduler scheduler = new OpenLoopScheduler(workload, 100, constant(100000), null, 8);
+    scheduler.start();
+    // nobody takes operations, so the scheduler fills the ring and waits
+    Thread.sleep(200);
+    assertEquals(scheduler.getIssued(), 8);
+    assertEquals(scheduler.getMaxBacklog(), 8);
+
+    long previous = 0;
+    for (int i = 0; i < 100; i++) {
+      OperationContext next = scheduler.nextOperation();
+      long intended = next.getIntendedStartNs();
+      if (i > 0) {
+        // operations issued after waiting for space still follow the schedule
+        assertEquals(intended - previous, 10000);
+      }
+      previous = intended;
+      next.release();
+    }
+    scheduler.join(1000);
+    assertNull(scheduler.nextOperation());
+    assertEquals(scheduler.getMaxBacklog(), 8);
+  }
+
+  @Test
+  public void discardedBacklogIsNotIssued() throws InterruptedException {
+    Workload workload = workload();
+    OpenLoopScheduler scheduler = new OpenLoopScheduler(workload, 0, constant(100000), null, 8);
+    scheduler.start();
+    Thread.sleep(200);
+    OperationContext stale = scheduler.nextOperation();
+    long staleNs = stale.getIntendedStartNs();
+    stale.release();
+    scheduler.discardBacklog();
+    Thread.sleep(50);
+    OperationContext next = scheduler.nextOperation();
+    // the discarded operations were due within 70 us of the one taken before
+    assertTrue(next.getIntendedStartNs() - staleNs >= 80000);
+    next.release();
+    workload.requestStop();
+    scheduler.join(1000);
+  }
+
+  @Test
+  public void skipDropsTheOperationsDueBeforeIt() throws InterruptedException {
+    Workload workload = workload();
+    ArrivalProcess arrivals = constant(100000);
+    OpenLoopScheduler scheduler = new OpenLoopScheduler(workload, 0, arrivals, null, 8);
+    scheduler.start();
+    // the ring is full and the scheduler holds one more operation that was due long ago
+    Thread.sleep(200);
+    long skipNs = System.nanoTime();
+    arrivals.skipTo(skipNs);
+    scheduler.skipTo(skipNs);
+    for (int i = 0; i < 20; i++) {
+      OperationContext next = scheduler.nextOperation();
+      assertTrue(next.getIntendedStartNs() >= skipNs);
+      next.release();
+    }
+    workload.requestStop();
+    scheduler.join(1000);
+  }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestOperationRates {
+
+  private static OperationRates create(String... targets) {
+    Properties p = new Properties();
+    for (int i = 0; i < targets.length; i += 2) {
+      p.setProperty(OperationRates.TARGET_PROPERTY_PREFIX + targets[i], targets[i + 1]);
+    }
+    Measurements.setProperties(p);
+    return OperationRates.create(p);
+  }
+
+  @Test
+  public void noTargetsMeansNoStreams() {
+    assertNull(create());
+  }
+
+  @Test
+  public void zeroTargetsLeaveTheTypeOut() {
+    OperationRates rates = create("read", "1000", "insert", "0");
+    assertEquals(rates.getOperations(), Arrays.asList("READ"));
+    assertNull(create("insert", "0"));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsNegativeTargets() {
+    create("read", "-1");
+  }
+
+  @Test
+  public void streamsKeepTheirOwnRates() {
+    OperationRates rates = create("read", "10000", "update", "1000");
+    assertEquals(rates.getOperations(), Arrays.asList("READ", "UPDATE"));
+    assertEquals(rates.getTotalRate(), 11000.0, 1e-9);
+
+    Map<String, Integer> counts = new HashMap<>();
+    Map<String, Long> last = new HashMap<>();
+    OperationContext context = new OperationContext();
+    long first = rates.claim(context);
+    long previous = first;
+    long slot = first;
+    for (int i = 1; i < 11000; i++) {
+      slot = rates.claim(context);
+      String op = context.getRequestedOperation();
+      // the streams are merged in order of their slots
+      assertTrue(slot >= previous);
+      if (last.containsKey(op)) {
+        assertTrue(slot > last.get(op));
+      }
+      last.put(op, slot);
+      counts.merge(op, 1, Integer::sum);
+      previous = slot;
+    }
+    // one second of both streams
+    assertEquals(counts.get("READ") / (double) counts.get("UPDATE"), 10.0, 0.1);
+    assertEquals((slot - first) / 1e9, 1.0, 0.01);
+  }
+
+  @Test
+  public void streamRatesChangeIndependently() {
+    OperationRates rates = create("read", "10000", "insert", "1000");
+    rates.getStream("READ").setRate(20000);
+    assertEquals(rates.getStream("INSERT").getRate(), 1000.0, 1e-9);
+    assertEquals(rates.getTotalRate(), 21000.0, 1e-9);
+    assertNull(rates.getStream("SCAN"));
+  }
+}
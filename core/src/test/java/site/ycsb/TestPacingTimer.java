@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+import site.ycsb.workloads.CoreWorkload;
+
+public class TestPacingTimer {
+
+  private static void configure(String mode) {
+    Properties p = new Properties();
+    p.setProperty(PacingTimer.PACING_TIMER_PROPERTY, mode);
+    Measurements.setProperties(p);
+    PacingTimer.configure(p);
+  }
+
+  @Test
+  public void calibratedMarginIsBounded() {
+    long margin = PacingTimer.calibrate();
+    assertTrue(margin >= 0 && margin <= TimeUnit.MILLISECONDS.toNanos(1), "margin " + margin);
+  }
+
+  @Test
+  public void neverWakesEarly() {
+    for (String mode : new String[] {"hybrid", "park", "spin"}) {
+      configure(mode);
+      for (int i = 0; i < 20; i++) {
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(200);
+        PacingTimer.sleepUntil(deadline);
+        assertTrue(System.nanoTime() >= deadline, mode);
+      }
+    }
+    configure("park");
+  }
+
+  @Test
+  public void onlyPacingSleepsAreRecorded() {
+    configure("park");
+    Measurements measurements = Measurements.getMeasurements();
+    measurements.getSummary();
+    PacingTimer.sleepUntil(System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(200));
+    // the deadline passed before the thread asked to sleep
+    PacingTimer.sleepUntil(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1));
+    PacingTimer.pause(TimeUnit.MICROSECONDS.toNanos(200), new CoreWorkload());
+    String summary = measurements.getSummary();
+    assertTrue(summary.contains("Wakeups=1, "), summary);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsUnknownModes() {
+    configure("nap");
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestRateController {
+
+  private static RateController controller(String mode, double target, String... properties) {
+    Properties p = new Properties();
+    p.setProperty(RateController.RATE_CONTROL_PROPERTY, mode);
+    p.setProperty(RateController.SLO_PROPERTY, "1000");
+    for (int i = 0; i < properties.length; i += 2) {
+      p.setProperty(properties[i], properties[i + 1]);
+    }
+    Measurements.setProperties(p);
+    return new RateController(p, new ArrivalProcess(null, target));
+  }
+
+  @Test
+  public void aimdIncreasesAdditivelyAndBacksOffMultiplicatively() {
+    RateController controller = controller("aimd", 1000);
+    assertEquals(controller.nextRate(1000, 100, 800), 1050, 1e-9);
+    assertEquals(controller.nextRate(1050, 100, 1200), 840, 1e-9);
+    // an interval without completions misses the SLO
+    assertEquals(controller.nextRate(1000, 0, 0), 800, 1e-9);
+  }
+
+  @Test
+  public void pidConvergesOnTheCapacity() {
+    RateController controller = controller("pid", 1000);
+    // a system whose percentile grows with the load and reaches the SLO at 4000 ops/sec
+    double rate = 1000;
+    for (int i = 0; i < 100; i++) {
+      rate = controller.nextRate(rate, 100, (long) (rate / 4));
+    }
+    assertEquals(rate, 4000, 40);
+  }
+
+  @Test
+  public void ratesStayWithinTheLimits() {
+    RateController controller = controller("aimd", 1000, RateController.MIN_RATE_PROPERTY, "500",
+        RateController.MAX_RATE_PROPERTY, "1020");
+    assertEquals(controller.nextRate(1000, 100, 800), 1020, 1e-9);
+    assertEquals(controller.nextRate(550, 100, 5000), 500, 1e-9);
+    controller = controller("pid", 1000, RateController.MIN_RATE_PROPERTY, "500");
+    for (int i = 0; i < 10; i++) {
+      assertTrue(controller.nextRate(1000, 0, 0) >= 500);
+    }
+  }
+
+  @Test
+  public void intervalsCountOperationsRecordedPerPhaseOnce() {
+    Properties p = new Properties();
+    p.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    Measurements.setProperties(p);
+    Measurements measurements = Measurements.getMeasurements();
+    measurements.addPhaseSource(intendedStartNs -> "HIGH");
+    final long[] count = new long[1];
+    measurements.addIntervalListener(latencies -> count[0] = latencies.getTotalCount());
+    for (int i = 0; i < 10; i++) {
+      measurements.measure("READ", 100, System.nanoTime());
+    }
+    measurements.getSummary();
+    assertEquals(count[0], 10);
+  }
+}
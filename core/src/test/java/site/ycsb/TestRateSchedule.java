@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestRateSchedule {
+
+  private static RateSchedule create(String... properties) {
+    Properties p = new Properties();
+    for (int i = 0; i < properties.length; i += 2) {
+      p.setProperty(properties[i], properties[i + 1]);
+    }
+    return RateSchedule.create(p, 1000);
+  }
+
+  @Test
+  public void noScheduleByDefault() {
+    assertNull(create());
+  }
+
+  @Test
+  public void rampHoldsTheEndRate() {
+    RateSchedule ramp = create(RateSchedule.SCHEDULE_PROPERTY, "ramp",
+        RateSchedule.START_PROPERTY, "100", RateSchedule.DURATION_PROPERTY, "10");
+    assertEquals(ramp.rateAt(0), 100.0, 1e-9);
+    assertEquals(ramp.rateAt(5), 550.0, 1e-9);
+    assertEquals(ramp.rateAt(10), 1000.0, 1e-9);
+    assertEquals(ramp.rateAt(100), 1000.0, 1e-9);
+  }
+
+  @Test
+  public void stepStopsAtTheEnd() {
+    RateSchedule step = create(RateSchedule.SCHEDULE_PROPERTY, "step",
+        RateSchedule.START_PROPERTY, "100", RateSchedule.STEP_SIZE_PROPERTY, "100",
+        RateSchedule.STEP_DURATION_PROPERTY, "10", RateSchedule.END_PROPERTY, "250");
+    assertEquals(step.rateAt(9.9), 100.0, 1e-9);
+    assertEquals(step.rateAt(10), 200.0, 1e-9);
+    assertEquals(step.rateAt(60), 250.0, 1e-9);
+  }
+
+  @Test
+  public void sineOscillatesAroundTheTarget() {
+    RateSchedule sine = create(RateSchedule.SCHEDULE_PROPERTY, "sine",
+        RateSchedule.AMPLITUDE_PROPERTY, "500", RateSchedule.PERIOD_PROPERTY, "4");
+    assertEquals(sine.rateAt(0), 1000.0, 1e-9);
+    assertEquals(sine.rateAt(1), 1500.0, 1e-9);
+    assertEquals(sine.rateAt(3), 500.0, 1e-9);
+  }
+
+  @Test
+  public void piecewiseInterpolates() {
+    RateSchedule linear = create(RateSchedule.SCHEDULE_PROPERTY, "piecewise",
+        RateSchedule.POINTS_PROPERTY, "0:0, 10:1000, 20:1000, 30:0");
+    assertEquals(linear.rateAt(5), 500.0, 1e-9);
+    assertEquals(linear.rateAt(15), 1000.0, 1e-9);
+    assertEquals(linear.rateAt(25), 500.0, 1e-9);
+    assertEquals(linear.rateAt(40), 0.0, 1e-9);
+
+    RateSchedule step = create(RateSchedule.SCHEDULE_PROPERTY, "piecewise",
+        RateSchedule.POINTS_PROPERTY, "0:0,10:1000,20:1000,30:0", RateSchedule.INTERPOLATION_PROPERTY, "step");
+    assertEquals(step.rateAt(5), 0.0, 1e-9);
+    assertEquals(step.rateAt(25), 1000.0, 1e-9);
+  }
+
+  @Test
+  public void fileSkipsTheHeader() throws IOException {
+    File file = File.createTempFile("schedule", ".csv");
+    file.deleteOnExit();
+    try (PrintWriter out = new PrintWriter(file)) {
+      out.println("seconds,opspersec");
+      out.println("0,100");
+      out.println("10,200");
+    }
+    RateSchedule schedule = create(RateSchedule.SCHEDULE_PROPERTY, "file",
+        RateSchedule.FILE_PROPERTY, file.getPath());
+    assertEquals(schedule.rateAt(5), 150.0, 1e-9);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void unknownSchedule() {
+    create(RateSchedule.SCHEDULE_PROPERTY, "zigzag");
+  }
+
+  @Test
+  public void arrivalsFollowTheSchedule() {
+    Properties p = new Properties();
+    Measurements.setProperties(p);
+    p.setProperty(RateSchedule.SCHEDULE_PROPERTY, "piecewise");
+    p.setProperty(RateSchedule.POINTS_PROPERTY, "0:1000,1:2000");
+    p.setProperty(RateSchedule.INTERPOLATION_PROPERTY, "step");
+    ArrivalProcess arrivals = ArrivalProcess.create(p, 0);
+    ArrivalProcess thread = arrivals.share(0.5);
+    long t = 0;
+    assertEquals(thread.nextIntendedStartNs(t), 2000000);
+    t = 1000000000L;
+    assertEquals(thread.nextIntendedStartNs(t) - t, 1000000);
+  }
+
+  private static ArrivalProcess arrivals(String... properties) {
+    Properties p = new Properties();
+    for (int i = 0; i < properties.length; i += 2) {
+      p.setProperty(properties[i], properties[i + 1]);
+    }
+    Measurements.setProperties(p);
+    return ArrivalProcess.create(p, 1000);
+  }
+
+  @Test
+  public void rampFromZeroArrivesOnceAnOperationHasBuiltUp() {
+    ArrivalProcess arrivals = arrivals(RateSchedule.SCHEDULE_PROPERTY, "ramp",
+        RateSchedule.START_PROPERTY, "0", RateSchedule.DURATION_PROPERTY, "10");
+    // the rate rises by 100 ops/s per second, so one operation has built up after sqrt(1/50) s
+    long first = arrivals.nextIntendedStartNs(0);
+    assertTrue(first > 140000000L && first < 144000000L, "first arrival at " + first);
+  }
+
+  @Test
+  public void pausesAreSkipped() {
+    ArrivalProcess step = arrivals(RateSchedule.SCHEDULE_PROPERTY, "piecewise",
+        RateSchedule.POINTS_PROPERTY, "0:0,5:1000", RateSchedule.INTERPOLATION_PROPERTY, "step");
+    assertEquals(step.nextIntendedStartNs(0), 5001000000L);
+
+    ArrivalProcess sine = arrivals(RateSchedule.SCHEDULE_PROPERTY, "sine",
+        RateSchedule.AMPLITUDE_PROPERTY, "2000", RateSchedule.PERIOD_PROPERTY, "4");
+    sine.nextIntendedStartNs(0);
+    // clipped at zero from 7/12 to 11/12 of the period
+    long next = sine.nextIntendedStartNs(3000000000L);
+    assertTrue(next > 3666000000L && next < 3700000000L, "next arrival at " + next);
+  }
+
+  @Test
+  public void rateThatStaysAtZeroHasNoNextArrival() {
+    ArrivalProcess arrivals = arrivals(RateSchedule.SCHEDULE_PROPERTY, "piecewise",
+        RateSchedule.POINTS_PROPERTY, "0:1000,1:0");
+    assertEquals(arrivals.nextIntendedStartNs(0), 1000000);
+    assertEquals(arrivals.nextIntendedStartNs(2000000000L), ArrivalProcess.NEVER);
+    assertEquals(arrivals.share(0.5).nextIntendedStartNs(2000000000L), ArrivalProcess.NEVER);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void negativeRatesAreRejected() {
+    create(RateSchedule.SCHEDULE_PROPERTY, "piecewise", RateSchedule.POINTS_PROPERTY, "0:1000,10:-100");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void stepsBelowZeroAreRejected() {
+    create(RateSchedule.SCHEDULE_PROPERTY, "step", RateSchedule.START_PROPERTY, "1000",
+        RateSchedule.STEP_SIZE_PROPERTY, "-100", RateSchedule.STEP_DURATION_PROPERTY, "1",
+        RateSchedule.END_PROPERTY, "-500");
+  }
+}
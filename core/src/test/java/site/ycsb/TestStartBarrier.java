@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+public class TestStartBarrier {
+
+  @Test
+  public void initializesInBoundedParallelAndReleasesTogether() throws InterruptedException {
+    final StartBarrier barrier = new StartBarrier(8, 3);
+    final AtomicInteger initializing = new AtomicInteger();
+    final AtomicInteger maxInitializing = new AtomicInteger();
+    final AtomicLong lastInitializedNs = new AtomicLong();
+    final AtomicLong firstStartNs = new AtomicLong(Long.MAX_VALUE);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread t = new Thread(() -> {
+        barrier.beginInit();
+        long start = System.nanoTime();
+        int now = initializing.incrementAndGet();
+        maxInitializing.accumulateAndGet(now, Math::max);
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        initializing.decrementAndGet();
+        lastInitializedNs.accumulateAndGet(System.nanoTime(), Math::max);
+        barrier.endInit(System.nanoTime() - start, true);
+        barrier.awaitRelease();
+        firstStartNs.accumulateAndGet(System.nanoTime(), Math::min);
+      });
+      threads.add(t);
+      t.start();
+    }
+    assertTrue(barrier.release() > 0);
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(maxInitializing.get(), 3);
+    // no thread passed the barrier before every thread had initialized
+    assertTrue(firstStartNs.get() >= lastInitializedNs.get());
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestTenant {
+
+  @Test
+  public void withoutTenantsTheRunIsOneUnnamedTenant() {
+    Properties p = new Properties();
+    p.setProperty("threadcount", "4");
+    List<Tenant> tenants = Tenant.create(p);
+    assertEquals(tenants.size(), 1);
+    assertNull(tenants.get(0).getName());
+    assertSame(tenants.get(0).getProperties(), p);
+  }
+
+  @Test
+  public void tenantPropertiesOverrideSharedOnes() {
+    Properties p = new Properties();
+    p.setProperty(Tenant.TENANTS_PROPERTY, "reads, ingest");
+    p.setProperty("threadcount", "4");
+    p.setProperty("recordcount", "1000");
+    p.setProperty("reads.target.read", "5000");
+    p.setProperty("ingest.threadcount", "2");
+    p.setProperty("ingest.measurement.prefix", "writes-");
+    List<Tenant> tenants = Tenant.create(p);
+    assertEquals(tenants.size(), 2);
+
+    Properties reads = tenants.get(0).getProperties();
+    assertEquals(tenants.get(0).getName(), "reads");
+    assertEquals(reads.getProperty("threadcount"), "4");
+    assertEquals(reads.getProperty("target.read"), "5000");
+    assertEquals(reads.getProperty(Measurements.MEASUREMENT_PREFIX_PROPERTY), "reads-");
+    assertNull(reads.getProperty(Tenant.TENANTS_PROPERTY));
+
+    Properties ingest = tenants.get(1).getProperties();
+    assertEquals(ingest.getProperty("threadcount"), "2");
+    assertEquals(ingest.getProperty("recordcount"), "1000");
+    assertNull(ingest.getProperty("target.read"));
+    assertEquals(ingest.getProperty(Measurements.MEASUREMENT_PREFIX_PROPERTY), "writes-");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsRepeatedNames() {
+    Properties p = new Properties();
+    p.setProperty(Tenant.TENANTS_PROPERTY, "a,a");
+    Tenant.create(p);
+  }
+}
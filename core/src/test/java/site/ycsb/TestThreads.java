@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class TestThreads {
+
+  @AfterMethod
+  public void platformThreads() {
+    Threads.setVirtual(false);
+  }
+
+  @Test
+  public void platformThreadsByDefault() throws InterruptedException {
+    AtomicBoolean ran = new AtomicBoolean();
+    Thread t = Threads.newThread(() -> ran.set(true), "worker");
+    assertEquals(t.getName(), "worker");
+    t.start();
+    t.join();
+    assertTrue(ran.get());
+  }
+
+  @Test
+  public void virtualThreadsWhenAvailable() throws InterruptedException {
+    if (!Threads.isVirtualAvailable()) {
+      try {
+        Threads.setVirtual(true);
+      } catch (IllegalStateException e) {
+        assertFalse(Threads.isVirtual());
+        return;
+      }
+    }
+    Threads.setVirtual(true);
+    AtomicBoolean ran = new AtomicBoolean();
+    Thread t = Threads.newThread(() -> ran.set(true), "worker");
+    t.start();
+    t.join();
+    assertTrue(ran.get());
+    assertTrue(t.isDaemon());
+  }
+}
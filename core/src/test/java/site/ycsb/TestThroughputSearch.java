@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestThroughputSearch {
+
+  /**
+   * A search against a system that meets the SLO up to a fixed capacity, without running any steps.
+   */
+  private static ThroughputSearch search(final double capacity, double target) {
+    Properties p = new Properties();
+    p.setProperty(ThroughputSearch.SLO_PROPERTY, "1000");
+    p.setProperty(ThroughputSearch.PRECISION_PROPERTY, "0.01");
+    Measurements.setProperties(p);
+    Workload workload = new Workload() {
+      @Override
+      public boolean doInsert(DB db, Object threadstate) {
+        return false;
+      }
+
+      @Override
+      public boolean doTransaction(DB db, Object threadstate) {
+        return false;
+      }
+    };
+    return new ThroughputSearch(p, new ArrivalProcess(null, target), workload) {
+      @Override
+      Step measure(int index, double rate) {
+        return new Step(rate, rate, rate <= capacity ? 500 : 5000, rate <= capacity, null);
+      }
+    };
+  }
+
+  @Test
+  public void bisectsToTheCapacity() throws InterruptedException {
+    double best = search(3700, 10000).run();
+    assertTrue(best <= 3700, "best " + best);
+    assertTrue(best >= 3700 * 0.99 - 100, "best " + best);
+  }
+
+  @Test
+  public void targetWithinTheSlo() throws InterruptedException {
+    assertEquals(search(20000, 10000).run(), 10000.0, 1e-9);
+  }
+
+  @Test
+  public void nothingMeetsTheSlo() throws InterruptedException {
+    assertEquals(search(50, 10000).run(), 0.0, 1e-9);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void sloIsRequired() {
+    Properties p = new Properties();
+    Measurements.setProperties(p);
+    new ThroughputSearch(p, new ArrivalProcess(null, 1000), null);
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+import site.ycsb.measurements.Measurements;
+
+public class TestThroughputSweep {
+
+  private static Workload workload() {
+    return new Workload() {
+      @Override
+      public boolean doInsert(DB db, Object threadstate) {
+        return false;
+      }
+
+      @Override
+      public boolean doTransaction(DB db, Object threadstate) {
+        return false;
+      }
+    };
+  }
+
+  /**
+   * A sweep that records the points it visits instead of measuring them.
+   */
+  private static ThroughputSweep sweep(File output, final List<String> visited) {
+    Properties p = new Properties();
+    p.setProperty(ThroughputSweep.TARGETS_PROPERTY, "1000,2000");
+    p.setProperty(ThroughputSweep.THREADS_PROPERTY, "2,4");
+    p.setProperty(ThroughputSweep.OUTPUT_PROPERTY, output.getPath());
+    Measurements.setProperties(p);
+    return new ThroughputSweep(p, new ArrivalProcess(null, 1000), new ThreadGate(2, 4), workload()) {
+      @Override
+      Point measure(int index, int threads, double target) {
+        visited.add(threads + "@" + (int) target);
+        Histogram service = new Histogram(3);
+        service.recordValue(100 * threads);
+        return new Point(threads, target, target, service, new Histogram(3));
+      }
+    };
+  }
+
+  @Test
+  public void visitsEveryThreadCountAtEveryRate() throws Exception {
+    File output = File.createTempFile("sweep", ".csv");
+    List<String> visited = new ArrayList<>();
+    sweep(output, visited).run();
+    assertEquals(visited.toString(), "[2@1000, 2@2000, 4@1000, 4@2000]");
+
+    List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+    assertEquals(lines.size(), 5);
+    assertTrue(lines.get(0).startsWith("point,threads,target,throughput"));
+    assertEquals(lines.get(4), "4,4,2000.0,2000.0,1,400.0,400,,");
+    output.delete();
+  }
+
+  @Test
+  public void writesJson() throws Exception {
+    File output = File.createTempFile("sweep", ".json");
+    sweep(output, new ArrayList<String>()).run();
+    String json = new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+    assertTrue(json.trim().startsWith("["));
+    assertTrue(json.contains("\"intended_p99_us\" : null"));
+    assertEquals(json.split("\"point\"").length - 1, 4);
+    output.delete();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void threadsNeedAGate() throws IOException {
+    Properties p = new Properties();
+    p.setProperty(ThroughputSweep.THREADS_PROPERTY, "2,4");
+    new ThroughputSweep(p, null, null, workload());
+  }
+}
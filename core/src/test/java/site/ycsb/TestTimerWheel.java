@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+public class TestTimerWheel {
+
+  private static final class Recording extends TimerWheel.Timeout {
+    private final CountDownLatch expired;
+    private volatile long expiredNs;
+
+    Recording(CountDownLatch expired) {
+      this.expired = expired;
+    }
+
+    @Override
+    protected void expire() {
+      expiredNs = System.nanoTime();
+      expired.countDown();
+    }
+  }
+
+  @Test
+  public void expiresAfterTheDeadlineWithinATick() throws InterruptedException {
+    long tickNs = TimeUnit.MILLISECONDS.toNanos(1);
+    // few slots, so later deadlines wrap around the wheel
+    TimerWheel wheel = new TimerWheel("TestTimerWheel", tickNs, 8);
+    try {
+      CountDownLatch expired = new CountDownLatch(50);
+      List<Recording> timeouts = new ArrayList<>();
+      long now = System.nanoTime();
+      for (int i = 0; i < 50; i++) {
+        Recording timeout = new Recording(expired);
+        timeouts.add(timeout);
+        wheel.schedule(timeout, now + i * TimeUnit.MICROSECONDS.toNanos(700));
+      }
+      assertTrue(expired.await(5, TimeUnit.SECONDS));
+      for (Recording timeout : timeouts) {
+        assertTrue(timeout.expiredNs >= timeout.getDeadlineNs());
+        // generous, the wheel's thread may be descheduled
+        assertTrue(timeout.expiredNs - timeout.getDeadlineNs() < TimeUnit.MILLISECONDS.toNanos(50));
+      }
+    } finally {
+      wheel.stop();
+    }
+  }
+
+  @Test
+  public void cancelledTimeoutsAreDroppedBeforeTheirDeadline() throws InterruptedException {
+    long tickNs = TimeUnit.MILLISECONDS.toNanos(1);
+    TimerWheel wheel = new TimerWheel("TestTimerWheel", tickNs, 8);
+    try {
+      CountDownLatch expired = new CountDownLatch(1);
+      Recording soon = new Recording(expired);
+      Recording late = new Recording(expired);
+      long now = System.nanoTime();
+      wheel.schedule(soon, now + TimeUnit.MILLISECONDS.toNanos(5));
+      wheel.schedule(late, now + TimeUnit.SECONDS.toNanos(60));
+      soon.cancel();
+      late.cancel();
+      WeakReference<Recording> reference = new WeakReference<>(late);
+      late = null;
+      // the wheel lets go of the timeout within one turn, long before its deadline
+      for (int i = 0; i < 100 && reference.get() != null; i++) {
+        Thread.sleep(10);
+        System.gc();
+      }
+      assertNull(reference.get());
+      assertEquals(expired.getCount(), 1);
+    } finally {
+      wheel.stop();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+public class TestUserModel {
+
+  private static UserModel create(String users, String thinktime) {
+    Properties p = new Properties();
+    p.setProperty(UserModel.USERS_PROPERTY, users);
+    p.setProperty(UserModel.THINK_TIME_PROPERTY, thinktime);
+    p.setProperty(UserModel.THINK_TIME_DISTRIBUTION_PROPERTY, "constant");
+    return UserModel.create(p, 1);
+  }
+
+  @Test
+  public void thinksOnlyOnceAllRequestsCompleted() {
+    UserModel model = create("1", "1");
+    UserModel.Carrier carrier = model.getCarrier(0);
+    UserModel.User user = null;
+    while (user == null) {
+      user = carrier.next();
+    }
+    long firstDue = user.getDueNs();
+
+    // an operation of two requests, one of which completes after the operation was issued
+    user.begin();
+    user.sent();
+    user.sent();
+    user.completed();
+    user.issued(true);
+    long deadline = System.nanoTime() + 20000000L;
+    while (System.nanoTime() < deadline) {
+      assertNull(carrier.next());
+    }
+
+    long completed = System.nanoTime();
+    user.completed();
+    UserModel.User next = null;
+    while (next == null) {
+      next = carrier.next();
+    }
+    assertSame(next, user);
+    assertTrue(user.getDueNs() >= completed + 1000000L);
+    assertTrue(user.getDueNs() > firstDue);
+    assertEquals(model.getUserOps()[0], 1);
+  }
+
+  @Test
+  public void thinkingStartsWithTheCarrier() throws Exception {
+    UserModel model = create("1", "20");
+    Thread.sleep(50);
+    long started = System.nanoTime();
+    UserModel.User user = null;
+    while (user == null) {
+      user = model.getCarrier(0).next();
+    }
+    assertTrue(user.getDueNs() >= started + 20000000L);
+
+    // operations of the warmup do not count towards fairness
+    user.begin();
+    user.issued(false);
+    assertEquals(model.getUserOps()[0], 0);
+  }
+
+  @Test
+  public void fairness() {
+    assertEquals(UserModel.fairness(new long[] {5, 5, 5, 5}), 1.0, 1e-9);
+    assertEquals(UserModel.fairness(new long[] {8, 0, 0, 0}), 0.25, 1e-9);
+    assertEquals(UserModel.fairness(new long[] {3, 1}), 16.0 / 20, 1e-9);
+  }
+
+  @Test
+  public void isOffByDefault() {
+    assertNull(UserModel.create(new Properties(), 4));
+  }
+}
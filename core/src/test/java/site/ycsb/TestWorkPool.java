@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+public class TestWorkPool {
+
+  @Test
+  public void budgetsBeyondIntegerRange() {
+    long operations = 3L * Integer.MAX_VALUE;
+    WorkPool pool = new WorkPool(operations, 1L << 40, 1);
+    long claimed = 0;
+    long chunk;
+    while ((chunk = pool.claim()) > 0) {
+      claimed += chunk;
+    }
+    assertEquals(claimed, operations);
+    assertEquals(pool.getRemaining(), 0);
+  }
+
+  @Test
+  public void chunksShrinkTowardsTheEnd() {
+    WorkPool pool = new WorkPool(100000, 1000, 4);
+    assertEquals(pool.claim(), 1000);
+    long last = Long.MAX_VALUE;
+    long chunk;
+    while ((chunk = pool.claim()) > 0) {
+      assertTrue(chunk <= last);
+      last = chunk;
+    }
+    assertEquals(last, 1);
+  }
+
+  @Test
+  public void threadsClaimEveryOperationOnce() throws InterruptedException {
+    final WorkPool pool = new WorkPool(1000003, 100, 8);
+    final AtomicLong claimed = new AtomicLong();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread t = new Thread(() -> {
+        long chunk;
+        while ((chunk = pool.claim()) > 0) {
+          claimed.addAndGet(chunk);
+        }
+      });
+      threads.add(t);
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(claimed.get(), 1000003);
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package site.ycsb.measurements;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class TestClientHealthMeasurements {
+
+  @Test
+  public void flagsLaggingIntervals() {
+    OneMeasurementSchedulerLag lag = new OneMeasurementSchedulerLag("SCHEDULER-LAG", 1000);
+    for (int i = 0; i < 1000; i++) {
+      lag.measure(10);
+    }
+    lag.getSummary();
+    assertFalse(lag.isLagging());
+
+    for (int i = 0; i < 1000; i++) {
+      lag.measure(i < 900 ? 10 : 5000);
+    }
+    lag.getSummary();
+    assertTrue(lag.isLagging());
+
+    // each interval is judged on its own
+    lag.measure(10);
+    lag.getSummary();
+    assertFalse(lag.isLagging());
+  }
+
+  @Test
+  public void inFlightCountsPerInstance() {
+    InFlightGauge gauge = new InFlightGauge("IN-FLIGHT");
+    InFlightGauge.Counter a = gauge.register();
+    InFlightGauge.Counter b = gauge.register();
+    a.start();
+    a.start();
+    b.start();
+    a.end();
+    assertTrue(gauge.getSummary().contains("Total=2, MaxPerInstance=1"), gauge.getSummary());
+  }
+}
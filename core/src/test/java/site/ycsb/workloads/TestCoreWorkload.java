@@ -16,13 +16,29 @@
  */
 package site.ycsb.workloads;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.htrace.core.HTraceConfiguration;
+import org.apache.htrace.core.Tracer;
 import org.testng.annotations.Test;
 
+import site.ycsb.AsyncDB;
+import site.ycsb.ByteIterator;
+import site.ycsb.DBWrapper;
+import site.ycsb.OperationContext;
+import site.ycsb.Status;
+import site.ycsb.WorkloadException;
 import site.ycsb.generator.DiscreteGenerator;
+import site.ycsb.measurements.Measurements;
 
 public class TestCoreWorkload {
 
@@ -67,4 +83,115 @@ public class TestCoreWorkload {
   public void createOperationChooserNullProperties() {
     CoreWorkload.createOperationGenerator(null);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void changeProportionsDuringRun() throws WorkloadException {
+    CoreWorkload workload = new CoreWorkload();
+    workload.init(new Properties());
+    assertEquals(workload.getProportions().getProperty(CoreWorkload.READ_PROPORTION_PROPERTY),
+        CoreWorkload.READ_PROPORTION_PROPERTY_DEFAULT);
+
+    Properties changes = new Properties();
+    changes.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0");
+    changes.setProperty(CoreWorkload.SCAN_PROPORTION_PROPERTY, "0.95");
+    workload.setProportions(changes);
+    for (int i = 0; i < 100; ++i) {
+      String operation = workload.operationchooser.nextString();
+      assertTrue(operation.equals("SCAN") || operation.equals("UPDATE"), operation);
+    }
+    assertEquals(workload.getProportions().getProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY),
+        CoreWorkload.UPDATE_PROPORTION_PROPERTY_DEFAULT);
+  }
+
+  /**
+   * Completes reads on another thread after a delay and updates at once, recording whether an update was sent
+   * before the read it depends on completed.
+   */
+  private static final class SlowReadDB extends AsyncDB {
+    private volatile boolean readDone;
+    private volatile boolean updateBeforeRead;
+
+    @Override
+    public CompletableFuture<Status> readAsync(String table, String key, Set<String> fields,
+                                               Map<String, ByteIterator> result) {
+      readDone = false;
+      return CompletableFuture.supplyAsync(() -> {
+          try {
+            Thread.sleep(50);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          readDone = true;
+          return Status.OK;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Status> scanAsync(String table, String startkey, int recordcount, Set<String> fields,
+                                               Vector<HashMap<String, ByteIterator>> result) {
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletableFuture<Status> updateAsync(String table, String key, Map<String, ByteIterator> values) {
+      updateBeforeRead |= !readDone;
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletableFuture<Status> insertAsync(String table, String key, Map<String, ByteIterator> values) {
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+
+    @Override
+    public CompletableFuture<Status> deleteAsync(String table, String key) {
+      return CompletableFuture.completedFuture(Status.OK);
+    }
+  }
+
+  @Test
+  public void readModifyWriteWaitsForAnAsynchronousRead() throws Exception {
+    Properties p = new Properties();
+    p.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram");
+    Measurements.setProperties(p);
+    CoreWorkload workload = new CoreWorkload();
+    workload.init(p);
+    SlowReadDB stub = new SlowReadDB();
+    stub.setProperties(p);
+    Tracer tracer = new Tracer.Builder("test")
+        .conf(HTraceConfiguration.fromMap(Collections.<String, String>emptyMap())).build();
+    DBWrapper db = new DBWrapper(stub, tracer);
+    db.init();
+    final int[] requests = new int[2];
+    OperationContext context = new OperationContext();
+    context.setListener(new OperationContext.Listener() {
+      @Override
+      public void sent() {
+        requests[0]++;
+      }
+
+      @Override
+      public void completed() {
+        requests[1]++;
+      }
+    });
+
+    workload.doTransactionReadModifyWrite(db, context);
+    assertTrue(!stub.updateBeforeRead);
+    // the listener of the operation is told about both requests
+    assertEquals(requests[0], 2);
+    assertEquals(requests[1], 2);
+    String summary = Measurements.getMeasurements().getSummary();
+    assertTrue(summary.contains("[READ-MODIFY-WRITE: Count=1,"), summary);
+  }
+
+  @Test (expectedExceptions = IllegalArgumentException.class)
+  public void changeProportionsToAnEmptyMix() throws WorkloadException {
+    CoreWorkload workload = new CoreWorkload();
+    workload.init(new Properties());
+    Properties changes = new Properties();
+    changes.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0");
+    changes.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    workload.setProportions(changes);
+  }
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.DB;
+import site.ycsb.OperationContext;
+import site.ycsb.Status;
+
+public class TestLogReplayWorkload {
+
+  @Test
+  public void replaysByKeyPartition() throws Exception {
+    File log = File.createTempFile("requests", ".jsonl");
+    log.deleteOnExit();
+    Files.write(log.toPath(), Arrays.asList(
+        "{\"timestamp\": 1700000000000, \"op\": \"insert\", \"key\": \"alice\", \"size\": 25}",
+        "{\"timestamp\": 1700000000001, \"op\": \"READ\", \"key\": \"bob\", \"client\": {\"id\": 7}}",
+        "{\"timestamp\": \"2023-11-14T22:13:20.002Z\", \"op\": \"update\", \"key\": \"alice\", \"size\": 3}",
+        "{\"timestamp\": 1700000000003, \"op\": \"scan\", \"key\": \"carol\"}",
+        "{\"timestamp\": \"yesterday\", \"op\": \"read\", \"key\": \"bob\"}",
+        "{\"timestamp\": 1700000000004, \"op\": \"update\", \"key\": \"bob\", \"size\": \"large\"}",
+        "{\"timestamp\": 1700000000005, \"op\": \"delete\", \"key\": \"bob\"}"), StandardCharsets.UTF_8);
+    Properties p = new Properties();
+    p.setProperty(LogReplayWorkload.LOG_FILE_PROPERTY, log.getPath());
+    p.setProperty(LogReplayWorkload.LOG_SPEED_PROPERTY, "max");
+    p.setProperty(CoreWorkload.FIELD_COUNT_PROPERTY, "2");
+    LogReplayWorkload workload = new LogReplayWorkload();
+    workload.init(p);
+
+    List<String> ops = new ArrayList<>();
+    Map<String, Object> threads = new HashMap<>();
+    for (int thread = 0; thread < 2; thread++) {
+      Object state = workload.initThread(p, thread, 2);
+      RecordingDB db = new RecordingDB();
+      while (workload.doTransaction(db, state, new OperationContext())) {
+        // drain the partition of this thread
+      }
+      ops.addAll(db.ops);
+      for (String op : db.ops) {
+        // every request for a key is replayed by the same thread
+        String key = op.split(" ")[1];
+        assertTrue(threads.getOrDefault(key, state) == state);
+        threads.put(key, state);
+      }
+    }
+    workload.cleanup();
+
+    String alice = CoreWorkload.buildKeyName(workload.keynum("alice"), 1, false);
+    String bob = CoreWorkload.buildKeyName(workload.keynum("bob"), 1, false);
+    assertEquals(ops.size(), 4);
+    assertTrue(ops.indexOf("INSERT " + alice + " 25") < ops.indexOf("UPDATE " + alice + " 3"));
+    assertTrue(ops.indexOf("READ " + bob) < ops.indexOf("DELETE " + bob));
+  }
+
+  @Test(timeOut = 10000)
+  public void threadBehindDoesNotHoldBackTheOthers() throws Exception {
+    LogReplayWorkload workload = new LogReplayWorkload();
+    Properties p = new Properties();
+    File log = File.createTempFile("requests", ".jsonl");
+    log.deleteOnExit();
+    p.setProperty(LogReplayWorkload.LOG_FILE_PROPERTY, log.getPath());
+    p.setProperty(LogReplayWorkload.LOG_SPEED_PROPERTY, "max");
+    workload.init(p);
+    String busy = "alice";
+    String other = "bob";
+    for (int i = 0; workload.keynum(other) % 2 == workload.keynum(busy) % 2; i++) {
+      other = "bob" + i;
+    }
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      lines.add("{\"timestamp\": " + i + ", \"op\": \"read\", \"key\": \"" + busy + "\"}");
+    }
+    lines.add("{\"op\": \"read\", \"key\": \"" + other + "\"}");
+    lines.add("{\"timestamp\": 5000, \"op\": \"read\", \"key\": \"" + other + "\"}");
+    Files.write(log.toPath(), lines, StandardCharsets.UTF_8);
+
+    Object state = null;
+    for (int thread = 0; thread < 2; thread++) {
+      Object threadstate = workload.initThread(p, thread, 2);
+      if (thread == workload.keynum(other) % 2) {
+        state = threadstate;
+      }
+    }
+    // the thread of the busy key takes nothing, yet the other thread gets its request
+    RecordingDB db = new RecordingDB();
+    assertTrue(workload.doTransaction(db, state, new OperationContext()));
+    assertEquals(db.ops.size(), 1);
+
+    // the entry without a timestamp was skipped, and a stop ends the wait for more
+    workload.requestStop();
+    assertFalse(workload.doTransaction(db, state, new OperationContext()));
+    assertEquals(db.ops.size(), 1);
+    workload.cleanup();
+  }
+
+  private static final class RecordingDB extends DB {
+    private final List<String> ops = new ArrayList<>();
+
+    private static long size(Map<String, ByteIterator> values) {
+      long size = 0;
+      for (ByteIterator value : values.values()) {
+        size += value.bytesLeft();
+      }
+      return size;
+    }
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, Map<String, ByteIterator> result,
+                       long ist, long st) {
+      ops.add("READ " + key);
+      return Status.OK;
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result, long ist, long st) {
+      ops.add("SCAN " + startkey);
+      return Status.OK;
+    }
+
+    @Override
+    public Status update(String table, String key, Map<String, ByteIterator> values, long ist, long st) {
+      ops.add("UPDATE " + key + " " + size(values));
+      return Status.OK;
+    }
+
+    @Override
+    public Status insert(String table, String key, Map<String, ByteIterator> values, long ist, long st) {
+      ops.add("INSERT " + key + " " + size(values));
+      return Status.OK;
+    }
+
+    @Override
+    public Status delete(String table, String key, long ist, long st) {
+      ops.add("DELETE " + key);
+      return Status.OK;
+    }
+  }
+}
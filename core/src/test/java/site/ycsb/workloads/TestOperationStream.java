@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.ByteIterator;
+import site.ycsb.Client;
+
+public class TestOperationStream {
+
+  @Test
+  public void roundTrip() {
+    OperationStream stream = OperationStream.allocate(2);
+    stream.append(OperationStream.UPDATE, 1L << 40, 100, OperationStream.ALL_FIELDS, 3);
+    stream.append(OperationStream.SCAN, 7, 50, 2, OperationStream.ALL_FIELDS);
+    stream.seal(0);
+
+    assertTrue(stream.next());
+    assertEquals(stream.getOperation(), OperationStream.UPDATE);
+    assertEquals(stream.getKeynum(), 1L << 40);
+    assertEquals(stream.getLength(), 100);
+    assertEquals(stream.getReadField(), OperationStream.ALL_FIELDS);
+    assertEquals(stream.getWriteField(), 3);
+    ByteIterator payload = stream.payload(stream.getLength());
+    assertEquals(payload.toArray().length, 100);
+
+    assertTrue(stream.next());
+    assertEquals(stream.getOperation(), OperationStream.SCAN);
+    assertEquals(stream.getKeynum(), 7);
+    assertEquals(stream.getReadField(), 2);
+    assertFalse(stream.next());
+  }
+
+  @Test
+  public void replaysKeptOperations() throws Exception {
+    File dir = Files.createTempDirectory("ops").toFile();
+    Properties p = new Properties();
+    p.setProperty(Client.OPERATION_COUNT_PROPERTY, "200");
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "1000000");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.5");
+    p.setProperty(CoreWorkload.PREGENERATE_PROPERTY, "true");
+    p.setProperty(CoreWorkload.PREGENERATE_DIR_PROPERTY, dir.getPath());
+
+    List<Long> first = keys(p);
+    assertEquals(first.size(), 100);
+    assertTrue(new File(dir, "ops-0.bin").isFile());
+    assertEquals(keys(p), first);
+
+    // a different workload does not replay the kept operations
+    p.setProperty(Client.OPERATION_COUNT_PROPERTY, "100");
+    assertEquals(keys(p).size(), 50);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsStreamsBeyondTheBufferLimit() {
+    OperationStream.allocate(OperationStream.MAX_CAPACITY + 1);
+  }
+
+  @Test
+  public void replayedInsertsAreNotInsertedAgain() throws Exception {
+    File dir = Files.createTempDirectory("ops").toFile();
+    Properties p = new Properties();
+    p.setProperty(Client.OPERATION_COUNT_PROPERTY, "20");
+    p.setProperty(Client.RECORD_COUNT_PROPERTY, "100");
+    p.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0");
+    p.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0");
+    p.setProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY, "1");
+    p.setProperty(CoreWorkload.PREGENERATE_PROPERTY, "true");
+    p.setProperty(CoreWorkload.PREGENERATE_DIR_PROPERTY, dir.getPath());
+
+    for (int run = 0; run < 2; run++) {
+      CoreWorkload workload = new CoreWorkload();
+      workload.init(p);
+      workload.initThread(p, 0, 1);
+      assertEquals(workload.transactioninsertkeysequence.nextValue().longValue(), 120L);
+    }
+  }
+
+  private static List<Long> keys(Properties p) throws Exception {
+    CoreWorkload workload = new CoreWorkload();
+    workload.init(p);
+    OperationStream stream = (OperationStream) workload.initThread(p, 0, 2);
+    List<Long> keys = new ArrayList<>();
+    while (stream.next()) {
+      keys.add(stream.getKeynum());
+    }
+    return keys;
+  }
+}
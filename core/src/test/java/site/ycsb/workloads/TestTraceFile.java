@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026 YCSB contributors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+
+package site.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+
+import org.testng.annotations.Test;
+
+import site.ycsb.WorkloadException;
+
+public class TestTraceFile {
+
+  @Test
+  public void roundTripAcrossWindows() throws Exception {
+    File file = File.createTempFile("trace", ".bin");
+    file.deleteOnExit();
+    try (TraceFile.Writer writer = new TraceFile.Writer(file)) {
+      for (int i = 0; i < 1000; i++) {
+        writer.append(5000 + i * 1000L, (byte) (i % 5), "user" + i, i % 3, i * 10);
+      }
+    }
+
+    // a window that holds only a few records is moved many times
+    TraceFile.Record record = new TraceFile.Record();
+    try (TraceFile.Reader reader = new TraceFile.Reader(file, 64)) {
+      for (int i = 0; i < 1000; i++) {
+        assertTrue(reader.next(record));
+        assertEquals(record.getOffsetNs(), i * 1000L);
+        assertEquals(record.getOperation(), (byte) (i % 5));
+        assertEquals(record.getKey(), "user" + i);
+        assertEquals(record.getFields(), i % 3);
+        assertEquals(record.getSize(), i * 10);
+      }
+      assertFalse(reader.next(record));
+    }
+  }
+
+  @Test
+  public void parsesSpeed() throws Exception {
+    assertEquals(TraceReplayWorkload.parseSpeed(TraceReplayWorkload.TRACE_SPEED_PROPERTY, "original"), 1.0);
+    assertEquals(TraceReplayWorkload.parseSpeed(TraceReplayWorkload.TRACE_SPEED_PROPERTY, "max"), 0.0);
+    assertEquals(TraceReplayWorkload.parseSpeed(TraceReplayWorkload.TRACE_SPEED_PROPERTY, "2.5"), 2.5);
+  }
+
+  @Test(expectedExceptions = WorkloadException.class)
+  public void rejectsNonPositiveSpeed() throws Exception {
+    TraceReplayWorkload.parseSpeed(TraceReplayWorkload.TRACE_SPEED_PROPERTY, "0");
+  }
+}
@@ -1,8 +1,7 @@
 package site.ycsb.db;
 
 import java.net.SocketTimeoutException;
-import java.util.AbstractMap.SimpleEntry;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import org.codehaus.jackson.map.ObjectMapper;
 import site.ycsb.*;
@@ -10,12 +9,11 @@ import site.ycsb.*;
 import java.io.*;
 import java.net.Socket;
 import java.util.*;
-import site.ycsb.measurements.Measurements;
 
 /**
  *
  */
-public class MultipaxosClient extends DB {
+public class MultipaxosClient extends AsyncDB {
   private Socket socket;
   private Config config;
   private PrintWriter writer;
@@ -24,29 +22,37 @@ public class MultipaxosClient extends DB {
   private List<Socket> sockets;
   private List<PrintWriter> writers;
   private List<BufferedReader> readers;
-  private Measurements measurements;
-  private Queue<Entry<Long, Long>> queue;
+  private Queue<CompletableFuture<Status>> queue;
   private Thread thread;
 
+  // the client threads initialize in parallel and share one reading of config.json
+  private static Config sharedConfig;
+
+  private static synchronized Config loadConfig() {
+    if (sharedConfig == null) {
+      ObjectMapper objectMapper = new ObjectMapper();
+      try {
+        sharedConfig = objectMapper.readValue(
+            new File("config.json"),
+            Config.class);
+      } catch (IOException e) {
+        System.err.println("Couldn't load config.json");
+        System.exit(1);
+      }
+    }
+    return sharedConfig;
+  }
+
   @Override
   public void init() throws DBException {
-    ObjectMapper objectMapper = new ObjectMapper();
-    try {
-      config = objectMapper.readValue(
-          new File("config.json"),
-          Config.class);
-    } catch (IOException e) {
-      System.err.println("Couldn't load config.json");
-      System.exit(1);
-    }
+    config = loadConfig();
     leaderId = config.getLeaderId();
     sockets = new ArrayList<>();
     writers = new ArrayList<>();
     readers = new ArrayList<>();
-    measurements = Measurements.getMeasurements();
     queue = new ConcurrentLinkedQueue<>();
     connect();
-    thread = new Thread(this::onReceive);
+    thread = Threads.newThread(this::onReceive, "MultipaxosReceiver");
     thread.start();
   }
 
@@ -80,60 +86,50 @@ public class MultipaxosClient extends DB {
 
   //Read a single record
   @Override
-  public Status read(final String table, final String key, final Set<String> fields,
-                     final Map<String, ByteIterator> result, long ist, long st) {
+  public CompletableFuture<Status> readAsync(final String table, final String key, final Set<String> fields,
+                                             final Map<String, ByteIterator> result) {
     String request = "get " + key + "\n";
-    try {
-      sendRequest(request, ist, st);
-      return Status.OK;
-    } catch (Exception e) {
-      return Status.ERROR;
-    }
+    return sendRequest(request);
   }
 
   //Perform a range scan
   @Override
-  public Status scan(final String table, final String startkey, final int recordcount, final Set<String> fields,
-                     final Vector<HashMap<String, ByteIterator>> result, long ist, long st) {
-    return Status.NOT_IMPLEMENTED;
+  public CompletableFuture<Status> scanAsync(final String table, final String startkey, final int recordcount,
+                                             final Set<String> fields,
+                                             final Vector<HashMap<String, ByteIterator>> result) {
+    return CompletableFuture.completedFuture(Status.NOT_IMPLEMENTED);
   }
 
   //Update a single record
   @Override
-  public Status update(final String table, final String key, final Map<String, ByteIterator> values,
-      long ist, long st) {
-    return insert(table, key, values, ist, st);
+  public CompletableFuture<Status> updateAsync(final String table, final String key,
+                                               final Map<String, ByteIterator> values) {
+    return insertAsync(table, key, values);
   }
 
   //Insert a single record
   @Override
-  public Status insert(final String table, final String key, final Map<String, ByteIterator> values,
-      long ist, long st) {
+  public CompletableFuture<Status> insertAsync(final String table, final String key,
+                                               final Map<String, ByteIterator> values) {
     StringBuilder value = new StringBuilder();
     for (Map.Entry<String, ByteIterator> entry : values.entrySet()) {
       value.append(entry.getValue().toString());
     }
     String request = "put " + key + " " + value + "\n";
-    try {
-      sendRequest(request, ist, st);
-      return Status.OK;
-    } catch (Exception e) {
-      return Status.ERROR;
-    }
+    return sendRequest(request);
   }
 
   //Delete a single record
   @Override
-  public Status delete(final String table, final String key, long ist, long st) {
-    return Status.NOT_IMPLEMENTED;
+  public CompletableFuture<Status> deleteAsync(final String table, final String key) {
+    return CompletableFuture.completedFuture(Status.NOT_IMPLEMENTED);
   }
 
   @Override
   public void cleanup() {
+    // the client has already waited for outstanding requests until the drain deadline and recorded the rest
+    // as timed out; closing the sockets fails whatever is still queued
     try {
-      while (!queue.isEmpty()) {
-        Thread.sleep(1000);
-      }
       for (int i = 0; i < sockets.size(); i++) {
         sockets.get(i).close();
         readers.get(i).close();
@@ -145,28 +141,44 @@ public class MultipaxosClient extends DB {
     }
   }
 
-  private void sendRequest(String request, long ist, long st) throws Exception {
-    queue.add(new SimpleEntry<>(ist, st));
-    writer.write(request);
-    writer.flush();
+  /**
+   * Responses arrive in request order, so the pending futures are kept in a FIFO queue and completed
+   * by the receiver thread.
+   */
+  private CompletableFuture<Status> sendRequest(String request) {
+    CompletableFuture<Status> future = new CompletableFuture<>();
+    queue.add(future);
+    try {
+      writer.write(request);
+      writer.flush();
+    } catch (Exception e) {
+      queue.remove(future);
+      future.complete(Status.ERROR);
+    }
+    return future;
   }
 
   private void onReceive() {
-    String result = "";
+    String result;
     boolean isOk;
     while (true) {
       try {
         result = reader.readLine();
+        if (result == null) {
+          break;
+        }
       } catch (SocketTimeoutException e) {
+        // the oldest outstanding request is reported as failed
         leaderId = (leaderId + 1) % config.getServerCounts();
         switchServer();
+        result = null;
       } catch (IOException e) {
         break;
       }
-      long endTimeNanos = System.nanoTime();
 
       isOk = true;
-      if (Objects.equals(result, "retry") ||
+      if (result == null ||
+          Objects.equals(result, "retry") ||
           Objects.equals(result, "bad command")) {
         isOk = false;
       } else if (result.startsWith("leader is")) {
@@ -175,23 +187,20 @@ public class MultipaxosClient extends DB {
         switchServer();
         isOk = false;
       }
-      measure(result, isOk, endTimeNanos);
+      complete(isOk);
+    }
+    // the connection is gone, nothing outstanding will be answered
+    while (!queue.isEmpty()) {
+      complete(false);
     }
   }
 
-  private void measure(String result, boolean isOk, long endTimeNanos) {
-    String measurementName = "OVERALL";
-    if (result == null || !isOk) {
-      measurementName += "-FAILED";
-    }
-    Entry<Long, Long> entry = queue.poll();
-    if (entry == null) {
+  private void complete(boolean isOk) {
+    CompletableFuture<Status> future = queue.poll();
+    if (future == null) {
 //      System.err.println("no elements in the queue");
       return;
     }
-    measurements.measure(measurementName,
-        (int) ((endTimeNanos - entry.getValue()) / 1000));
-    measurements.measureIntended(measurementName,
-        (int) ((endTimeNanos - entry.getKey()) / 1000));
+    future.complete(isOk ? Status.OK : Status.ERROR);
   }
 }
@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Compares platform and virtual client threads at a fixed aggregate target.
+# Client-side overhead is the CPU time and peak memory of the client process;
+# scheduling jitter is the scheduler lag reported under [SCHEDULER-LAG].
+# Virtual threads require Java 21 or later. Platform threads may fail to start
+# at the largest client counts, which is recorded as an empty row.
+
+readonly DB=$1
+readonly TEST_SETTING=$2
+readonly OUTPUT_PATH=scripts/virtual-threads/${TEST_SETTING}
+readonly TMP_OUTPUT_PATH=${OUTPUT_PATH}/tmp
+mkdir -p $TMP_OUTPUT_PATH
+
+readonly RUN_DURATION=60
+readonly RECORD_COUNT=1000000
+readonly TARGET=20000
+readonly CLIENTS=(1000 10000 50000)
+readonly MODES=(platform virtual)
+
+./bin/ycsb load $DB -P workloads/workloada \
+  -p recordcount=$RECORD_COUNT \
+  -p fieldcount=5 \
+  -threads 32 -s
+
+dat_file=${OUTPUT_PATH}/result.dat
+echo "Mode Clients Throughput Lag-Average Lag-99th Lag-99.9th Intended-Read-99th Max-OS-Threads User-CPU(s) Sys-CPU(s) Max-RSS(KB)" >$dat_file
+
+for mode in ${MODES[@]}; do
+  virtual=false
+  if [ "$mode" = "virtual" ]; then
+    virtual=true
+  fi
+  for client in ${CLIENTS[@]}; do
+    sleep 10
+    log_path=${TMP_OUTPUT_PATH}/${mode}_${client}_client_wa.dat
+    time_path=${TMP_OUTPUT_PATH}/${mode}_${client}_client_wa.time
+    /usr/bin/time -o $time_path -f "%U %S %M" \
+      ./bin/ycsb run $DB -P workloads/workloada \
+      -p recordcount=$RECORD_COUNT \
+      -p operationcount=0 \
+      -p maxexecutiontime=$RUN_DURATION \
+      -p fieldcount=5 \
+      -p measurement.interval=both \
+      -p measurementtype=hdrhistogram \
+      -p measurement.trackjvm=true \
+      -p virtualthreads=$virtual \
+      -p warmup=10 \
+      -target $TARGET \
+      -threads $client -s | tee $log_path
+
+    ops=`grep "\[OVERALL\], Throughput" ${log_path} | awk -F", " '{print $3}'`
+    lag_avg=`grep "\[SCHEDULER-LAG\], AverageLag" ${log_path} | awk -F", " '{print $3}'`
+    lag_tail=`grep "\[SCHEDULER-LAG\], 99thPercentileLag" ${log_path} | awk -F", " '{print $3}'`
+    lag_max_tail=`grep "\[SCHEDULER-LAG\], 99.9PercentileLag" ${log_path} | awk -F", " '{print $3}'`
+    intended_tail=`grep "\[Intended-READ\], 99thPercentileLatency" ${log_path} | awk -F", " '{print $3}'`
+    threads=`grep "\[THREAD_COUNT\], MaxLatency" ${log_path} | awk -F", " '{print $3}'`
+    cpu=`tail -1 $time_path`
+    echo "${mode} ${client} ${ops} ${lag_avg} ${lag_tail} ${lag_max_tail} ${intended_tail} ${threads} ${cpu}" >>$dat_file
+  done
+done